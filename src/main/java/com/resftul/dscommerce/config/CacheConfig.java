@@ -0,0 +1,14 @@
+package com.resftul.dscommerce.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+import static org.springframework.core.Ordered.LOWEST_PRECEDENCE;
+
+// Runs the cache advice outside @Transactional so hits skip the transaction and evictions happen after commit
+@Configuration
+@EnableCaching(order = LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String PRODUCTS_CACHE = "products";
+}
@@ -0,0 +1,35 @@
+package com.resftul.dscommerce.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Replaces spring.jpa.open-in-view so order placement can be left out. With group commit that request waits for the
+// committer thread, and an open-in-view EntityManager would hold its JDBC connection for the whole wait: a few
+// concurrent orders then take every pooled connection and the committer can no longer write them.
+// Path patterns ignore the method, so GET /orders goes without it too; its service builds the DTOs in its transaction.
+@Configuration
+public class OpenInViewConfig implements WebMvcConfigurer {
+
+    private static final String PLACE_ORDER_PATH = "/orders";
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public OpenInViewConfig(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    // Web slice tests have no EntityManagerFactory and simply run without the interceptor
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        if (factory == null) return;
+
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(factory);
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns(PLACE_ORDER_PATH);
+    }
+}
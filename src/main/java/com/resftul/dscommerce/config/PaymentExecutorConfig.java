@@ -0,0 +1,22 @@
+package com.resftul.dscommerce.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// One virtual thread per payment: a slow acquirer parks a virtual thread instead of holding a Tomcat worker.
+// The caller's security context travels with each task so ownership checks still see the authenticated user.
+@Configuration
+public class PaymentExecutorConfig {
+
+    public static final String PAYMENT_EXECUTOR = "paymentExecutor";
+
+    @Bean(name = PAYMENT_EXECUTOR)
+    public ExecutorService paymentExecutor() {
+        return new DelegatingSecurityContextExecutorService(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("payment-", 0).factory()));
+    }
+}
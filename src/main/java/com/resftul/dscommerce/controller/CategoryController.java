@@ -1,16 +1,23 @@
 package com.resftul.dscommerce.controller;
 
-import java.util.List;
-
-import com.resftul.dscommerce.dto.CategoryDTO;
 import com.resftul.dscommerce.service.CategoryService;
+import com.resftul.dscommerce.snapshot.CategorySnapshot;
 import jakarta.annotation.security.PermitAll;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import static org.springframework.http.CacheControl.noCache;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.http.ResponseEntity.ok;
+import static org.springframework.http.ResponseEntity.status;
 
 @RestController
 @RequestMapping({"/categories"})
@@ -22,10 +29,37 @@ public class CategoryController {
         this.categoryService = categoryService;
     }
 
+    // Writes the snapshot's pre-rendered bytes; each encoding is its own representation with its own strong ETag
     @PermitAll
-    @GetMapping
-    public ResponseEntity<List<CategoryDTO>> findAll() {
-        List<CategoryDTO> list = categoryService.findAll();
-        return ok(list);
+    @GetMapping(produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> findAll(
+            @RequestHeader(name = ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request
+    ) {
+        CategorySnapshot snapshot = categoryService.snapshot();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        CategorySnapshot.Representation representation = gzip ? snapshot.gzip() : snapshot.identity();
+
+        if (request.checkNotModified(representation.eTag()))
+            return status(NOT_MODIFIED).eTag(representation.eTag()).cacheControl(noCache()).varyBy(ACCEPT_ENCODING).build();
+
+        ResponseEntity.BodyBuilder response = ok()
+                .eTag(representation.eTag())
+                .cacheControl(noCache())
+                .varyBy(ACCEPT_ENCODING)
+                .contentType(APPLICATION_JSON);
+        if (gzip) response.header(CONTENT_ENCODING, "gzip");
+        return response.body(representation.body());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].strip();
+            if (!"gzip".equalsIgnoreCase(name) && !"*".equals(name)) continue;
+            return parts.length < 2 || !parts[1].replace(" ", "").matches("(?i)q=0(\\.0{0,3})?");
+        }
+        return false;
     }
-}
\ No newline at end of file
+}
@@ -1,21 +1,45 @@
 package com.resftul.dscommerce.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resftul.dscommerce.dto.order.OrderBulkStatusDTO;
+import com.resftul.dscommerce.dto.order.OrderBulkStatusReport;
 import com.resftul.dscommerce.dto.order.OrderDTO;
+import com.resftul.dscommerce.dto.order.OrderFilter;
+import com.resftul.dscommerce.dto.order.OrderRevenueDTO;
+import com.resftul.dscommerce.dto.order.OrderStatusDTO;
+import com.resftul.dscommerce.entity.OrderStatus;
+import com.resftul.dscommerce.idempotency.IdempotencyStore;
+import com.resftul.dscommerce.ingest.OrderGroupCommitter;
+import com.resftul.dscommerce.pagination.CursorPage;
 import com.resftul.dscommerce.service.OrderService;
+import com.resftul.dscommerce.service.OrderStatusService;
+import com.resftul.dscommerce.service.PaymentService;
+import com.resftul.dscommerce.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.UncheckedIOException;
 import java.net.URI;
-import java.util.List;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static org.springframework.http.ResponseEntity.ok;
 import static org.springframework.http.ResponseEntity.created;
 
@@ -24,9 +48,29 @@ import static org.springframework.http.ResponseEntity.created;
 public class OrderController {
 
     private final OrderService orderService;
+    private final UserService userService;
+    private final IdempotencyStore idempotencyStore;
+    private final OrderGroupCommitter orderGroupCommitter;
+    private final OrderStatusService orderStatusService;
+    private final PaymentService paymentService;
+    private final ObjectMapper objectMapper;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(
+            OrderService orderService,
+            UserService userService,
+            IdempotencyStore idempotencyStore,
+            OrderGroupCommitter orderGroupCommitter,
+            OrderStatusService orderStatusService,
+            PaymentService paymentService,
+            ObjectMapper objectMapper
+    ) {
         this.orderService = orderService;
+        this.userService = userService;
+        this.idempotencyStore = idempotencyStore;
+        this.orderGroupCommitter = orderGroupCommitter;
+        this.orderStatusService = orderStatusService;
+        this.paymentService = paymentService;
+        this.objectMapper = objectMapper;
     }
 
     @PreAuthorize("hasAnyRole('ADMIN','CLIENT')")
@@ -38,15 +82,70 @@ public class OrderController {
 
     @PreAuthorize("hasAnyRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<List<OrderDTO>> listAll() {
-        List<OrderDTO> dtos = orderService.listAll();
-        return ok(dtos);
+    public ResponseEntity<CursorPage<OrderDTO>> findAll(
+            @RequestParam(name = "status", required = false) OrderStatus status,
+            @RequestParam(name = "clientId", required = false) Long clientId,
+            @RequestParam(name = "from", required = false) Instant from,
+            @RequestParam(name = "to", required = false) Instant to,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        OrderFilter filter = new OrderFilter(status, clientId, from, to);
+        CursorPage<OrderDTO> cursorPage = orderService.findAll(filter, after, size);
+        return ok(cursorPage);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','CLIENT')")
+    @GetMapping(value = "/mine")
+    public ResponseEntity<CursorPage<OrderDTO>> findMine(
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        CursorPage<OrderDTO> cursorPage = orderService.findMine(after, size);
+        return ok(cursorPage);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @GetMapping(value = "/revenue")
+    public ResponseEntity<OrderRevenueDTO> revenue(
+            @RequestParam(name = "status", required = false) OrderStatus status,
+            @RequestParam(name = "clientId", required = false) Long clientId,
+            @RequestParam(name = "from", required = false) Instant from,
+            @RequestParam(name = "to", required = false) Instant to
+    ) {
+        OrderFilter filter = new OrderFilter(status, clientId, from, to);
+        OrderRevenueDTO revenue = orderService.revenue(filter);
+        return ok(revenue);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(name = "status", required = false) OrderStatus status,
+            @RequestParam(name = "clientId", required = false) Long clientId,
+            @RequestParam(name = "from", required = false) Instant from,
+            @RequestParam(name = "to", required = false) Instant to
+    ) {
+        OrderFilter filter = new OrderFilter(status, clientId, from, to);
+        StreamingResponseBody body = out -> orderService.exportNdjson(filter, out);
+        return ok().contentType(APPLICATION_NDJSON).body(body);
     }
 
     @PreAuthorize("hasRole('CLIENT')")
     @PostMapping
-    public ResponseEntity<OrderDTO> insert(@Valid @RequestBody OrderDTO orderDTO) {
-        OrderDTO saved = orderService.insert(orderDTO);
+    public ResponseEntity<OrderDTO> insert(
+            @Valid @RequestBody OrderDTO orderDTO,
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            HttpServletRequest request
+    ) {
+        // Outside the service transaction so a replay never touches the order tables
+        OrderDTO saved = (idempotencyKey == null)
+                ? place(orderDTO)
+                : idempotencyStore.execute(
+                        userService.authenticatedUsername(),
+                        idempotencyKey,
+                        fingerprint(request, orderDTO),
+                        () -> place(orderDTO));
         URI uri = ServletUriComponentsBuilder
                 .fromCurrentRequest()
                 .path("/{id}")
@@ -54,4 +153,52 @@ public class OrderController {
                 .toUri();
         return created(uri).body(saved);
     }
+
+    // Async: the request thread is released while the gateway answers on a virtual thread
+    @PreAuthorize("hasAnyRole('ADMIN','CLIENT')")
+    @PostMapping(value = "/{id}/payment")
+    public CompletableFuture<ResponseEntity<OrderDTO>> pay(@PathVariable Long id) {
+        return paymentService.pay(id).thenApply(ResponseEntity::ok);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping(value = "/{id}/status")
+    public ResponseEntity<OrderDTO> updateStatus(
+            @PathVariable Long id,
+            @Valid @RequestBody OrderStatusDTO orderStatusDTO
+    ) {
+        OrderDTO dto = orderStatusService.transition(id, orderStatusDTO);
+        return ok(dto);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping(value = "/status")
+    public ResponseEntity<OrderBulkStatusReport> updateStatusInBulk(
+            @Valid @RequestBody OrderBulkStatusDTO orderBulkStatusDTO
+    ) {
+        OrderBulkStatusReport report = orderStatusService.transitionAll(orderBulkStatusDTO);
+        return ok(report);
+    }
+
+    // With group commit the wait happens here, after the service's read-only transaction has released its connection;
+    // OpenInViewConfig keeps this path out of open-in-view so no EntityManager holds on to it
+    private OrderDTO place(OrderDTO orderDTO) {
+        if (!orderGroupCommitter.isEnabled()) return orderService.insert(orderDTO);
+        try {
+            return orderService.submit(orderDTO).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    // The parsed body is re-serialized, so formatting and field order in the request do not change the fingerprint
+    private String fingerprint(HttpServletRequest request, OrderDTO orderDTO) {
+        try {
+            return IdempotencyStore.fingerprint(
+                    request.getMethod(), request.getRequestURI(), objectMapper.writeValueAsBytes(orderDTO));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
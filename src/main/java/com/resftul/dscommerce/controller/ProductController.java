@@ -1,8 +1,18 @@
 package com.resftul.dscommerce.controller;
 
 import com.resftul.dscommerce.dto.product.ProductDTO;
+import com.resftul.dscommerce.dto.product.ProductImportReport;
 import com.resftul.dscommerce.dto.product.ProductMinDTO;
+import com.resftul.dscommerce.dto.product.ProductStockDTO;
+import com.resftul.dscommerce.dto.product.ProductSuggestionDTO;
+import com.resftul.dscommerce.importer.ImportFormat;
+import com.resftul.dscommerce.pagination.CursorPage;
+import com.resftul.dscommerce.pagination.FacetedPage;
+import com.resftul.dscommerce.service.ProductExportService;
+import com.resftul.dscommerce.service.ProductImportService;
 import com.resftul.dscommerce.service.ProductService;
+import com.resftul.dscommerce.service.StockService;
+import com.resftul.dscommerce.versioning.CatalogVersions;
 import jakarta.annotation.security.PermitAll;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
@@ -10,39 +20,120 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
 
+import static org.springframework.http.CacheControl.noCache;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static org.springframework.http.ResponseEntity.*;
 
 @RestController
 @RequestMapping({ "/products"})
 public class ProductController {
 
+    private static final List<String> LISTING_MODES = List.of("ids", "categoryId", "after");
+
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
+    private final CatalogVersions catalogVersions;
+    private final StockService stockService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(
+            ProductService productService,
+            ProductImportService productImportService,
+            ProductExportService productExportService,
+            CatalogVersions catalogVersions,
+            StockService stockService
+    ) {
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.productExportService = productExportService;
+        this.catalogVersions = catalogVersions;
+        this.stockService = stockService;
     }
 
     @PermitAll
     @GetMapping(value = "/{id}")
-    public ResponseEntity<ProductDTO> findById(@PathVariable Long id) {
+    public ResponseEntity<ProductDTO> findById(@PathVariable Long id, WebRequest request) {
+        String eTag = catalogVersions.productETag(id);
+        if (request.checkNotModified(eTag))
+            return status(NOT_MODIFIED).eTag(eTag).cacheControl(noCache()).build();
+
         ProductDTO productDTO = productService.findById(id);
-        return ok(productDTO);
+        return ok().eTag(eTag).cacheControl(noCache()).body(productDTO);
     }
 
+    // ids, categoryId and after select mutually exclusive listing modes; a request combining them
+    // matches none of those mappings and lands here, where it is rejected instead of silently ignored
     @PermitAll
     @GetMapping
     public ResponseEntity<Page<ProductMinDTO>> findAll(
             @RequestParam(name = "name", defaultValue = "") String name,
-            Pageable pageable
+            Pageable pageable,
+            WebRequest request
     ) {
+        if (LISTING_MODES.stream().anyMatch(request.getParameterMap()::containsKey))
+            throw new IllegalArgumentException("Use apenas um dos parâmetros: " + String.join(", ", LISTING_MODES));
         Page<ProductMinDTO> productMinDTOPage = productService.findAll(name, pageable);
         return ok(productMinDTOPage);
     }
 
+    @PermitAll
+    @GetMapping(params = {"ids", "!categoryId", "!after"})
+    public ResponseEntity<List<ProductDTO>> findAllById(@RequestParam(name = "ids") List<Long> ids) {
+        List<ProductDTO> productDTOs = productService.findAllById(ids);
+        return ok(productDTOs);
+    }
+
+    @PermitAll
+    @PostMapping(value = "/batch")
+    public ResponseEntity<List<ProductDTO>> findAllByIdBatch(@RequestBody List<Long> ids) {
+        List<ProductDTO> productDTOs = productService.findAllById(ids);
+        return ok(productDTOs);
+    }
+
+    @PermitAll
+    @GetMapping(params = {"categoryId", "!ids", "!after"})
+    public ResponseEntity<FacetedPage<ProductMinDTO>> findAllByCategories(
+            @RequestParam(name = "name", defaultValue = "") String name,
+            @RequestParam(name = "categoryId") Set<Long> categoryIds,
+            Pageable pageable
+    ) {
+        FacetedPage<ProductMinDTO> facetedPage = productService.findAll(name, categoryIds, pageable);
+        return ok(facetedPage);
+    }
+
+    @PermitAll
+    @GetMapping(params = {"after", "!ids", "!categoryId"})
+    public ResponseEntity<CursorPage<ProductMinDTO>> findAllByCursor(
+            @RequestParam(name = "name", defaultValue = "") String name,
+            @RequestParam(name = "after") String after,
+            @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        CursorPage<ProductMinDTO> cursorPage = productService.findAll(name, after, size);
+        return ok(cursorPage);
+    }
+
+    @PermitAll
+    @GetMapping(value = "/suggest")
+    public ResponseEntity<List<ProductSuggestionDTO>> suggest(
+            @RequestParam(name = "prefix", defaultValue = "") String prefix,
+            @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        List<ProductSuggestionDTO> suggestions = productService.suggest(prefix, limit);
+        return ok(suggestions);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
     public ResponseEntity<ProductDTO> insert(@Valid @RequestBody ProductDTO productDTO) {
@@ -55,6 +146,29 @@ public class ProductController {
         return created(uri).body(createdDto);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ProductImportReport> importNdjson(InputStream body) {
+        return ok(productImportService.importProducts(body, ImportFormat.NDJSON));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ProductImportReport> importCsv(InputStream body) {
+        return ok(productImportService.importProducts(body, ImportFormat.CSV));
+    }
+
+    // since limits the file to products created or updated at or after it; deletions are hard deletes and are never
+    // reported, so a consumer syncing incrementally must run a full export from time to time to prune removed products
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(name = "since", required = false) Instant since
+    ) {
+        StreamingResponseBody body = out -> productExportService.exportNdjson(since, out);
+        return ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping(value = "/{id}")
     public ResponseEntity<ProductDTO> update(
@@ -65,6 +179,16 @@ public class ProductController {
         return ok(updatedDto);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping(value = "/{id}/stock")
+    public ResponseEntity<ProductStockDTO> updateStock(
+            @PathVariable Long id,
+            @Valid @RequestBody ProductStockDTO productStockDTO
+    ) {
+        ProductStockDTO updatedDto = stockService.updateStock(id, productStockDTO);
+        return ok(updatedDto);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping(value = "/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
@@ -0,0 +1,72 @@
+package com.resftul.dscommerce.controller;
+
+import com.resftul.dscommerce.dto.sales.SalesBucketDTO;
+import com.resftul.dscommerce.entity.SalesGranularity;
+import com.resftul.dscommerce.service.SalesService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+import static com.resftul.dscommerce.entity.SalesDimension.CATEGORY;
+import static com.resftul.dscommerce.entity.SalesDimension.PRODUCT;
+import static org.springframework.http.ResponseEntity.ok;
+
+@RestController
+@RequestMapping(value = {"/sales"})
+public class SalesController {
+
+    private final SalesService salesService;
+
+    public SalesController(SalesService salesService) {
+        this.salesService = salesService;
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @GetMapping(value = "/products/top")
+    public ResponseEntity<List<SalesBucketDTO>> topProducts(
+            @RequestParam(name = "granularity", defaultValue = "DAY") SalesGranularity granularity,
+            @RequestParam(name = "at", required = false) Instant at,
+            @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        return ok(salesService.top(PRODUCT, granularity, at, limit));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @GetMapping(value = "/products/{id}")
+    public ResponseEntity<List<SalesBucketDTO>> productSeries(
+            @PathVariable Long id,
+            @RequestParam(name = "granularity", defaultValue = "DAY") SalesGranularity granularity,
+            @RequestParam(name = "from", required = false) Instant from,
+            @RequestParam(name = "to", required = false) Instant to
+    ) {
+        return ok(salesService.series(PRODUCT, id, granularity, from, to));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @GetMapping(value = "/categories/top")
+    public ResponseEntity<List<SalesBucketDTO>> topCategories(
+            @RequestParam(name = "granularity", defaultValue = "DAY") SalesGranularity granularity,
+            @RequestParam(name = "at", required = false) Instant at,
+            @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        return ok(salesService.top(CATEGORY, granularity, at, limit));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @GetMapping(value = "/categories/{id}")
+    public ResponseEntity<List<SalesBucketDTO>> categorySeries(
+            @PathVariable Long id,
+            @RequestParam(name = "granularity", defaultValue = "DAY") SalesGranularity granularity,
+            @RequestParam(name = "from", required = false) Instant from,
+            @RequestParam(name = "to", required = false) Instant to
+    ) {
+        return ok(salesService.series(CATEGORY, id, granularity, from, to));
+    }
+}
@@ -0,0 +1,15 @@
+package com.resftul.dscommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@EqualsAndHashCode
+@NoArgsConstructor
+@Getter
+public class CategoryFacetDTO {
+    private Long categoryId;
+    private Long count;
+}
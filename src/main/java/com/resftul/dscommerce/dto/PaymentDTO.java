@@ -13,9 +13,11 @@ import java.time.Instant;
 public class PaymentDTO {
     private Long id;
     private Instant moment;
+    private String transactionId;
 
     public PaymentDTO(Payment payment) {
         id = payment.getId();
         moment = payment.getMoment();
+        transactionId = payment.getTransactionId();
     }
 }
@@ -0,0 +1,31 @@
+package com.resftul.dscommerce.dto.order;
+
+import com.resftul.dscommerce.entity.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class OrderBulkStatusDTO {
+
+    public static final int MAX_ORDERS = 100_000;
+
+    @NotNull(message = "Status é obrigatório")
+    private OrderStatus status;
+
+    @NotEmpty(message = "Deve ter pelo menos um pedido")
+    @Size(max = MAX_ORDERS, message = "No máximo " + MAX_ORDERS + " pedidos por requisição")
+    private List<Long> orderIds = new ArrayList<>();
+}
@@ -0,0 +1,43 @@
+package com.resftul.dscommerce.dto.order;
+
+import com.resftul.dscommerce.entity.OrderStatus;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Getter
+public class OrderBulkStatusReport {
+
+    public static final int MAX_REPORTED_REJECTIONS = 1000;
+
+    private final OrderStatus status;
+    private final long requested;
+    private long updated;
+    private long rejected;
+    private boolean rejectionsTruncated;
+    private final List<Long> rejectedIds = new ArrayList<>();
+
+    public OrderBulkStatusReport(OrderStatus status, long requested) {
+        this.status = status;
+        this.requested = requested;
+    }
+
+    public void updated(int count) {
+        updated += count;
+    }
+
+    // Ids that do not exist or whose current status cannot move to the requested one
+    public void rejected(Collection<Long> ids) {
+        rejected += ids.size();
+        for (Long id : ids) {
+            if (rejectedIds.size() < MAX_REPORTED_REJECTIONS) {
+                rejectedIds.add(id);
+            } else {
+                rejectionsTruncated = true;
+                return;
+            }
+        }
+    }
+}
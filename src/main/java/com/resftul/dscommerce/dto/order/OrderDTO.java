@@ -5,9 +5,11 @@ import com.resftul.dscommerce.dto.PaymentDTO;
 import com.resftul.dscommerce.entity.Order;
 import com.resftul.dscommerce.entity.OrderItem;
 import com.resftul.dscommerce.entity.OrderStatus;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.*;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -27,6 +29,15 @@ public class OrderDTO {
     private ClientDTO client;
     private PaymentDTO payment;
 
+    // Echo it back in a status change to reject the change if the order moved on meanwhile
+    @Setter(NONE)
+    private Long version;
+
+    // Read from the persisted order total; ignored on input
+    @Setter(NONE)
+    private BigDecimal total;
+
+    @Valid
     @NotEmpty(message = "Deve ter pelo menos um item")
     @Setter(NONE)
     private List<OrderItemDTO> items = new ArrayList<>();
@@ -39,6 +50,8 @@ public class OrderDTO {
         this.payment = (order.getPayment() == null)
                 ? null
                 : new PaymentDTO(order.getPayment());
+        this.version = order.getVersion();
+        this.total = BigDecimal.valueOf(order.getTotalCents(), 2);
         for (OrderItem item : order.getItems()) {
             OrderItemDTO itemDto = new OrderItemDTO(item);
             items.add(itemDto);
@@ -50,11 +63,4 @@ public class OrderDTO {
         this.status = orderStatus;
         this.moment = moment;
     }
-
-    public Double getTotal() {
-        return items
-                .stream()
-                .mapToDouble(OrderItemDTO::getSubTotal)
-                .sum();
-    }
 }
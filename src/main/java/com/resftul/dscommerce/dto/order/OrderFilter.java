@@ -0,0 +1,13 @@
+package com.resftul.dscommerce.dto.order;
+
+import com.resftul.dscommerce.entity.OrderStatus;
+
+import java.time.Instant;
+
+// Every field is optional; "to" is exclusive
+public record OrderFilter(OrderStatus status, Long clientId, Instant from, Instant to) {
+
+    public static OrderFilter none() {
+        return new OrderFilter(null, null, null, null);
+    }
+}
@@ -1,6 +1,8 @@
 package com.resftul.dscommerce.dto.order;
 
 import com.resftul.dscommerce.entity.OrderItem;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -14,9 +16,13 @@ import static java.math.BigDecimal.ZERO;
 @Setter
 public class OrderItemDTO {
 
+    @NotNull(message = "Produto é obrigatório")
     private Long productId;
     private String name;
     private BigDecimal price;
+
+    @NotNull(message = "Quantidade é obrigatória")
+    @Positive(message = "Quantidade deve ser positiva")
     private Integer quantity;
     private String imgUrl;
 
@@ -28,9 +34,9 @@ public class OrderItemDTO {
         imgUrl = orderItem.getProduct().getImgUrl();
     }
 
-    public double getSubTotal() {
-        final double p = (price != null ? price : ZERO).doubleValue();
+    public BigDecimal getSubTotal() {
+        final BigDecimal p = (price != null ? price : ZERO);
         final int q = (quantity != null ? quantity : 0);
-        return p * q;
+        return p.multiply(BigDecimal.valueOf(q));
     }
 }
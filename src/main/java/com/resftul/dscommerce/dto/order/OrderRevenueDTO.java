@@ -0,0 +1,18 @@
+package com.resftul.dscommerce.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class OrderRevenueDTO {
+
+    private long orders;
+    private BigDecimal total;
+}
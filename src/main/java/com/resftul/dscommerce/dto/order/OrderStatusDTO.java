@@ -0,0 +1,23 @@
+package com.resftul.dscommerce.dto.order;
+
+import com.resftul.dscommerce.entity.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// version, when sent, must match the order's current version or the change is rejected
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class OrderStatusDTO {
+
+    @NotNull(message = "Status é obrigatório")
+    private OrderStatus status;
+
+    private Long version;
+}
@@ -0,0 +1,25 @@
+package com.resftul.dscommerce.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class ProductExportDTO {
+    private long id;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private String imgUrl;
+    private Instant updatedAt;
+    private List<Long> categoryIds = new ArrayList<>();
+}
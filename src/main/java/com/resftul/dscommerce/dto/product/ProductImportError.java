@@ -0,0 +1,16 @@
+package com.resftul.dscommerce.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class ProductImportError {
+    private long line;
+    private String name;
+    private String message;
+}
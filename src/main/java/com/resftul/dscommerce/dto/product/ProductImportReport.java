@@ -0,0 +1,37 @@
+package com.resftul.dscommerce.dto.product;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor
+@Getter
+public class ProductImportReport {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long received;
+    private long imported;
+    private long failed;
+    private boolean errorsTruncated;
+    private final List<ProductImportError> errors = new ArrayList<>();
+
+    public void received() {
+        received++;
+    }
+
+    public void imported(int count) {
+        imported += count;
+    }
+
+    public void failed(long line, String name, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ProductImportError(line, name, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.resftul.dscommerce.dto.product;
 
 
 import com.resftul.dscommerce.entity.Product;
+import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -9,6 +10,7 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 
 @EqualsAndHashCode
+@AllArgsConstructor
 @NoArgsConstructor
 @Getter
 public class ProductMinDTO {
@@ -0,0 +1,22 @@
+package com.resftul.dscommerce.dto.product;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// A null stock turns stock tracking off for the product
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class ProductStockDTO {
+
+    private Long productId;
+
+    @PositiveOrZero(message = "Stock deve ser >= 0")
+    private Integer stock;
+}
@@ -0,0 +1,15 @@
+package com.resftul.dscommerce.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@EqualsAndHashCode
+@NoArgsConstructor
+@Getter
+public class ProductSuggestionDTO {
+    private Long id;
+    private String name;
+}
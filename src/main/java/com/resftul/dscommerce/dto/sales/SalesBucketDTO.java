@@ -0,0 +1,35 @@
+package com.resftul.dscommerce.dto.sales;
+
+import com.resftul.dscommerce.entity.SalesGranularity;
+import com.resftul.dscommerce.entity.SalesRollup;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class SalesBucketDTO {
+
+    // Product or category id
+    private Long id;
+    private SalesGranularity granularity;
+    private Instant bucketStart;
+    private long units;
+    private BigDecimal revenue;
+    private long orders;
+
+    public SalesBucketDTO(SalesRollup rollup) {
+        this.id = rollup.getId().getDimensionId();
+        this.granularity = rollup.getId().getGranularity();
+        this.bucketStart = rollup.getId().getBucketStart();
+        this.units = rollup.getUnits();
+        this.revenue = BigDecimal.valueOf(rollup.getRevenueCents(), 2);
+        this.orders = rollup.getOrders();
+    }
+}
@@ -2,6 +2,7 @@ package com.resftul.dscommerce.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
 import org.hibernate.proxy.HibernateProxy;
 
 import java.util.HashSet;
@@ -10,11 +11,13 @@ import java.util.Set;
 
 import static jakarta.persistence.GenerationType.IDENTITY;
 import static lombok.AccessLevel.NONE;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 @NoArgsConstructor
 @Getter
 @Setter
 @Entity(name = "Category")
+@Cache(usage = READ_WRITE, region = "category")
 @Table(
         name = "tb_category",
         uniqueConstraints = {
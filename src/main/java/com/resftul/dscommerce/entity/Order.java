@@ -1,5 +1,6 @@
 package com.resftul.dscommerce.entity;
 
+import com.resftul.dscommerce.exception.InvalidStatusTransitionException;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -10,27 +11,51 @@ import org.hibernate.proxy.HibernateProxy;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
 import static jakarta.persistence.CascadeType.ALL;
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.CascadeType.PERSIST;
+import static jakarta.persistence.GenerationType.SEQUENCE;
+import static java.util.stream.Collectors.toUnmodifiableMap;
+import static java.util.stream.Collectors.toUnmodifiableSet;
 
 @NoArgsConstructor
 @Getter
 @Setter
 @Entity(name = "Order")
-@Table(name = "tb_order")
+@Table(
+        name = "tb_order",
+        indexes = {
+                @Index(name = "idx_tb_order_client_moment", columnList = "client_id, moment"),
+                // Keyset order of the admin listing and export, with and without a status filter
+                @Index(name = "idx_tb_order_moment_id", columnList = "moment, id"),
+                @Index(name = "idx_tb_order_status_moment_id", columnList = "order_status, moment, id")
+        }
+)
 public class Order {
 
+    public static final String ID_SEQUENCE = "tb_order_seq";
+
+    // Pooled sequence instead of IDENTITY so the order and its items can go out in JDBC batches
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
     private Long id;
 
     // @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
     private Instant moment;
     private OrderStatus orderStatus;
 
+    // Bumped on every status change, bulk updates included, so concurrent edits of the same order conflict
+    @Version
+    private long version;
+
+    // Sum of the item subtotals in cents, fixed when the items are added so reads and revenue queries never recompute it
+    @Column(name = "total", nullable = false)
+    private long totalCents;
+
     @ManyToOne
     @JoinColumn(name = "client_id")
     private User client;
@@ -38,7 +63,7 @@ public class Order {
     @OneToOne(mappedBy = "order", cascade = ALL)
     private Payment payment;
 
-    @OneToMany(mappedBy = "id.order")
+    @OneToMany(mappedBy = "id.order", cascade = PERSIST)
     private Set<OrderItem> items = new HashSet<>();
 
     public Order(Long id, Instant moment, OrderStatus orderStatus, User client) {
@@ -59,6 +84,8 @@ public class Order {
         this.client = order.client;
         this.payment = order.payment;
         this.items = order.items;
+        this.totalCents = order.totalCents;
+        this.version = order.version;
     }
 
     public Order(User client, Instant moment, OrderStatus orderStatus) {
@@ -68,7 +95,44 @@ public class Order {
     }
 
     public void addItem(OrderItem item) {
-        this.items.add(item);
+        if (this.items.add(item)) this.totalCents = Math.addExact(this.totalCents, item.getSubTotalCents());
+    }
+
+    public void transitionTo(OrderStatus target) {
+        if (!orderStatus.canTransitionTo(target)) throw new InvalidStatusTransitionException(orderStatus, target);
+        this.orderStatus = target;
+    }
+
+    public Map<Long, Integer> quantitiesByProduct() {
+        return items.stream().collect(toUnmodifiableMap(
+                item -> item.getProduct().getId(),
+                OrderItem::getQuantity,
+                Integer::sum));
+    }
+
+    // Only stock-tracked products: the others sell without limit, so reserving them would just lock their rows
+    public Map<Long, Integer> trackedQuantitiesByProduct() {
+        return items.stream()
+                .filter(item -> item.getProduct().getStock() != null)
+                .collect(toUnmodifiableMap(
+                        item -> item.getProduct().getId(),
+                        OrderItem::getQuantity,
+                        Integer::sum));
+    }
+
+    public Map<Long, Long> subTotalCentsByProduct() {
+        return items.stream().collect(toUnmodifiableMap(
+                item -> item.getProduct().getId(),
+                OrderItem::getSubTotalCents,
+                Math::addExact));
+    }
+
+    // Needs the products' categories loaded: the group committer calls this outside the session that read them
+    public Map<Long, Set<Long>> categoryIdsByProduct() {
+        return items.stream().collect(toUnmodifiableMap(
+                item -> item.getProduct().getId(),
+                item -> item.getProduct().getCategories().stream().map(Category::getId).collect(toUnmodifiableSet()),
+                (a, b) -> a));
     }
 
     @Override
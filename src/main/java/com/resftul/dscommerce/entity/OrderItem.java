@@ -11,6 +11,8 @@ import org.hibernate.proxy.HibernateProxy;
 import java.math.BigDecimal;
 import java.util.Objects;
 
+import static java.math.RoundingMode.HALF_EVEN;
+
 @NoArgsConstructor
 @Getter
 @Setter
@@ -44,6 +46,16 @@ public class OrderItem {
         this.price = price;
     }
 
+    public long getSubTotalCents() {
+        if (price == null || quantity == null) return 0L;
+        return subTotalCents(price, quantity);
+    }
+
+    public static long subTotalCents(BigDecimal price, int quantity) {
+        long unitCents = price.setScale(2, HALF_EVEN).unscaledValue().longValueExact();
+        return Math.multiplyExact(unitCents, quantity);
+    }
+
     @Override
     public final boolean equals(Object obj) {
         if (this == obj) return true;
@@ -1,5 +1,11 @@
 package com.resftul.dscommerce.entity;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 
 public enum OrderStatus {
     WAITING_PAYMENT,
@@ -7,4 +13,35 @@ public enum OrderStatus {
     SHIPPED,
     DELIVERED,
     CANCELED;
-}
\ No newline at end of file
+
+    private static final Map<OrderStatus, Set<OrderStatus>> NEXT = new EnumMap<>(OrderStatus.class);
+    private static final Map<OrderStatus, Set<OrderStatus>> SOURCES = new EnumMap<>(OrderStatus.class);
+
+    static {
+        NEXT.put(WAITING_PAYMENT, EnumSet.of(PAID, CANCELED));
+        NEXT.put(PAID, EnumSet.of(SHIPPED, CANCELED));
+        NEXT.put(SHIPPED, EnumSet.of(DELIVERED));
+        NEXT.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        NEXT.put(CANCELED, EnumSet.noneOf(OrderStatus.class));
+
+        for (OrderStatus target : values()) {
+            EnumSet<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+            Arrays.stream(values()).filter(source -> NEXT.get(source).contains(target)).forEach(sources::add);
+            SOURCES.put(target, Collections.unmodifiableSet(sources));
+        }
+        NEXT.replaceAll((status, next) -> Collections.unmodifiableSet(next));
+    }
+
+    public Set<OrderStatus> next() {
+        return NEXT.get(this);
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return NEXT.get(this).contains(target);
+    }
+
+    // Statuses an order may be in to move to the given one; bulk updates use it as their WHERE guard
+    public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+        return SOURCES.get(target);
+    }
+}
@@ -10,8 +10,6 @@ import org.hibernate.proxy.HibernateProxy;
 import java.time.Instant;
 import java.util.Objects;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
-
 @NoArgsConstructor
 @Getter
 @Setter
@@ -20,12 +18,14 @@ import static jakarta.persistence.GenerationType.IDENTITY;
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = IDENTITY)
     private Long id;
 
     // @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
     private Instant moment;
 
+    // Acquirer reference returned by the PaymentGateway
+    private String transactionId;
+
     @OneToOne
     @MapsId
     private Order order;
@@ -4,37 +4,54 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
 import org.hibernate.proxy.HibernateProxy;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 import static lombok.AccessLevel.NONE;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 @NoArgsConstructor
 @Getter
 @Setter
 @Entity(name = "Product")
+@NamedEntityGraph(name = Product.WITH_CATEGORIES, attributeNodes = @NamedAttributeNode("categories"))
 @Table(
         name = "tb_product",
         uniqueConstraints = @UniqueConstraint(
-                name = "uk_tb_product_name",
+                name = Product.UK_NAME,
                 columnNames = "name"
+        ),
+        indexes = @Index(
+                name = "idx_tb_product_updated_at",
+                columnList = "updated_at"
         )
 )
 public class Product {
 
+    public static final String WITH_CATEGORIES = "Product.withCategories";
+    public static final String UK_NAME = "uk_tb_product_name";
+    public static final String ID_SEQUENCE = "tb_product_seq";
+
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
     private Long id;
     private String name;
     private BigDecimal price;
     @Column(columnDefinition = "TEXT")
     private String description;
     private String imgUrl;
+    private Instant updatedAt;
+
+    // Null means the product is not stock-tracked and sells without limit
+    private Integer stock;
 
     @ManyToMany
     @JoinTable(
@@ -43,6 +60,7 @@ public class Product {
             inverseJoinColumns = @JoinColumn(name = "category_id")
     )
     @Setter(NONE)
+    @Cache(usage = READ_WRITE, region = "product-categories")
     private Set<Category> categories = new HashSet<>();
 
     @OneToMany(mappedBy = "id.product")
@@ -97,12 +115,18 @@ public class Product {
         this.description = description;
         this.price = price;
         this.imgUrl = imageUrl;
+        this.updatedAt = Instant.now();
         this.categories.clear();
         if (categories != null && !categories.isEmpty()) {
             this.categories.addAll(categories);
         }
     }
 
+    @PrePersist
+    void prePersist() {
+        if (updatedAt == null) updatedAt = Instant.now();
+    }
+
     @Override
     public final boolean equals(Object obj) {
         if (this == obj) return true;
@@ -5,18 +5,24 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.proxy.HibernateProxy;
 import org.springframework.security.core.GrantedAuthority;
 
 import java.util.Objects;
 
 import static jakarta.persistence.GenerationType.IDENTITY;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
 @Entity
+@Cache(usage = READ_WRITE, region = "role")
+@NaturalIdCache(region = "role-authority")
 @Table(
         name = "tb_role",
         uniqueConstraints = @UniqueConstraint(
@@ -29,6 +35,7 @@ public class Role implements GrantedAuthority {
     @Id
     @GeneratedValue(strategy = IDENTITY)
     private Long id;
+    @NaturalId
     private String authority;
 
     public Role(String authority) {
@@ -0,0 +1,6 @@
+package com.resftul.dscommerce.entity;
+
+public enum SalesDimension {
+    PRODUCT,
+    CATEGORY
+}
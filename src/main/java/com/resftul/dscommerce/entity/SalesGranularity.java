@@ -0,0 +1,31 @@
+package com.resftul.dscommerce.entity;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// Buckets are aligned to UTC; maxBuckets caps how many of them one query may span
+public enum SalesGranularity {
+    HOUR(ChronoUnit.HOURS, 24 * 31),
+    DAY(ChronoUnit.DAYS, 366);
+
+    private final ChronoUnit unit;
+    private final int maxBuckets;
+
+    SalesGranularity(ChronoUnit unit, int maxBuckets) {
+        this.unit = unit;
+        this.maxBuckets = maxBuckets;
+    }
+
+    public Instant bucketOf(Instant moment) {
+        return moment.truncatedTo(unit);
+    }
+
+    public Duration length() {
+        return unit.getDuration();
+    }
+
+    public int maxBuckets() {
+        return maxBuckets;
+    }
+}
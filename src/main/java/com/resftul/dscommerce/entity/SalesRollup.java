@@ -0,0 +1,31 @@
+package com.resftul.dscommerce.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Sales counters of one product or category in one hourly or daily bucket; written only by additive upserts
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Entity(name = "SalesRollup")
+@Table(
+        name = "tb_sales_rollup",
+        indexes = @Index(
+                name = "idx_tb_sales_rollup_bucket",
+                columnList = "dimension, granularity, bucket_start"
+        )
+)
+public class SalesRollup {
+
+    @EmbeddedId
+    private SalesRollupPK id;
+
+    @Column(name = "units", nullable = false)
+    private long units;
+
+    @Column(name = "revenue_cents", nullable = false)
+    private long revenueCents;
+
+    @Column(name = "order_count", nullable = false)
+    private long orders;
+}
@@ -0,0 +1,23 @@
+package com.resftul.dscommerce.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Single marker row: the instance whose insert wins replays orders up to throughOrderId, every listener counts only later ones.
+// Rebuilding the rollups means emptying both tb_sales_rollup and this table before the next start.
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Entity(name = "SalesRollupBackfill")
+@Table(name = "tb_sales_rollup_backfill")
+public class SalesRollupBackfill {
+
+    public static final int MARKER_ID = 1;
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "through_order_id", nullable = false)
+    private long throughOrderId;
+}
@@ -0,0 +1,33 @@
+package com.resftul.dscommerce.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import static jakarta.persistence.EnumType.STRING;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Getter
+@Setter
+@Embeddable
+public class SalesRollupPK implements Serializable {
+
+    @Enumerated(STRING)
+    @Column(name = "dimension", length = 16)
+    private SalesDimension dimension;
+
+    // Product or category id, depending on the dimension
+    @Column(name = "dimension_id")
+    private Long dimensionId;
+
+    @Enumerated(STRING)
+    @Column(name = "granularity", length = 8)
+    private SalesGranularity granularity;
+
+    @Column(name = "bucket_start")
+    private Instant bucketStart;
+}
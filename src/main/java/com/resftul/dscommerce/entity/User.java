@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
 import org.hibernate.proxy.HibernateProxy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +15,7 @@ import java.util.*;
 
 import static jakarta.persistence.FetchType.LAZY;
 import static jakarta.persistence.GenerationType.IDENTITY;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 import static lombok.AccessLevel.NONE;
 
 @NoArgsConstructor
@@ -50,6 +52,7 @@ public class User implements UserDetails {
     )
     @Setter(NONE)
     @BatchSize(size = 50)
+    @Cache(usage = READ_WRITE, region = "user-roles")
     private Set<Role> roles = new HashSet<>();
 
     public User(String email, String encodedPassword) {
@@ -0,0 +1,26 @@
+package com.resftul.dscommerce.event;
+
+import com.resftul.dscommerce.entity.Order;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+public record OrderPlacedEvent(
+        Long orderId,
+        Instant moment,
+        Map<Long, Integer> quantitiesByProduct,
+        Map<Long, Long> subTotalCentsByProduct,
+        // Taken when the order is placed, so listeners after the commit need no query to find them
+        Map<Long, Set<Long>> categoryIdsByProduct
+) {
+
+    public static OrderPlacedEvent of(Order order) {
+        return new OrderPlacedEvent(
+                order.getId(),
+                order.getMoment(),
+                order.quantitiesByProduct(),
+                order.subTotalCentsByProduct(),
+                order.categoryIdsByProduct());
+    }
+}
@@ -0,0 +1,26 @@
+package com.resftul.dscommerce.event;
+
+import com.resftul.dscommerce.entity.Category;
+import com.resftul.dscommerce.entity.Product;
+
+import java.util.Set;
+
+import static java.util.stream.Collectors.toUnmodifiableSet;
+
+public record ProductChangedEvent(Long productId, String name, Set<Long> categoryIds, boolean deleted) {
+
+    public static ProductChangedEvent saved(Product product) {
+        return saved(product.getId(), product.getName(), product.getCategories()
+                .stream()
+                .map(Category::getId)
+                .collect(toUnmodifiableSet()));
+    }
+
+    public static ProductChangedEvent saved(Long productId, String name, Set<Long> categoryIds) {
+        return new ProductChangedEvent(productId, name, categoryIds, false);
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(productId, null, Set.of(), true);
+    }
+}
@@ -0,0 +1,4 @@
+package com.resftul.dscommerce.event;
+
+public record StockChangedEvent(Long productId, Integer stock) {
+}
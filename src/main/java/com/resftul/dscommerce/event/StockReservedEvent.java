@@ -0,0 +1,7 @@
+package com.resftul.dscommerce.event;
+
+import java.util.Map;
+
+// Quantities taken from the in-memory stock gate, handed back if the reserving transaction rolls back
+public record StockReservedEvent(Map<Long, Integer> gatedQuantities) {
+}
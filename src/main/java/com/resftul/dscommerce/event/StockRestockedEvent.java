@@ -0,0 +1,7 @@
+package com.resftul.dscommerce.event;
+
+import java.util.List;
+
+// Gated products whose units came back from cancelled orders; their gate counters are reloaded after the commit
+public record StockRestockedEvent(List<Long> productIds) {
+}
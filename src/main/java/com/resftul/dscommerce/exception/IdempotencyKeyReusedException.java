@@ -0,0 +1,18 @@
+package com.resftul.dscommerce.exception;
+
+import lombok.Getter;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+@Getter
+@ResponseStatus(UNPROCESSABLE_ENTITY)
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    private final String key;
+
+    public IdempotencyKeyReusedException(String key) {
+        super("A chave de idempotência " + key + " já foi usada com outra requisição");
+        this.key = key;
+    }
+}
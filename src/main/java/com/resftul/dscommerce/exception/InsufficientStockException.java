@@ -0,0 +1,18 @@
+package com.resftul.dscommerce.exception;
+
+import lombok.Getter;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import static org.springframework.http.HttpStatus.CONFLICT;
+
+@Getter
+@ResponseStatus(CONFLICT)
+public class InsufficientStockException extends RuntimeException {
+
+    private final Long productId;
+
+    public InsufficientStockException(Long productId) {
+        super("Estoque insuficiente para o produto " + productId);
+        this.productId = productId;
+    }
+}
@@ -0,0 +1,21 @@
+package com.resftul.dscommerce.exception;
+
+import com.resftul.dscommerce.entity.OrderStatus;
+import lombok.Getter;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import static org.springframework.http.HttpStatus.CONFLICT;
+
+@Getter
+@ResponseStatus(CONFLICT)
+public class InvalidStatusTransitionException extends RuntimeException {
+
+    private final OrderStatus from;
+    private final OrderStatus to;
+
+    public InvalidStatusTransitionException(OrderStatus from, OrderStatus to) {
+        super("Transição de status inválida: " + from + " -> " + to);
+        this.from = from;
+        this.to = to;
+    }
+}
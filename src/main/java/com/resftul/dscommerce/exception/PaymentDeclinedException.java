@@ -0,0 +1,18 @@
+package com.resftul.dscommerce.exception;
+
+import lombok.Getter;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import static org.springframework.http.HttpStatus.PAYMENT_REQUIRED;
+
+@Getter
+@ResponseStatus(PAYMENT_REQUIRED)
+public class PaymentDeclinedException extends RuntimeException {
+
+    private final Long orderId;
+
+    public PaymentDeclinedException(Long orderId) {
+        super("Pagamento recusado para o pedido " + orderId);
+        this.orderId = orderId;
+    }
+}
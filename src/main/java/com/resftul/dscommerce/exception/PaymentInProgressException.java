@@ -0,0 +1,18 @@
+package com.resftul.dscommerce.exception;
+
+import lombok.Getter;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import static org.springframework.http.HttpStatus.CONFLICT;
+
+@Getter
+@ResponseStatus(CONFLICT)
+public class PaymentInProgressException extends RuntimeException {
+
+    private final Long orderId;
+
+    public PaymentInProgressException(Long orderId) {
+        super("Já existe um pagamento em andamento para o pedido " + orderId);
+        this.orderId = orderId;
+    }
+}
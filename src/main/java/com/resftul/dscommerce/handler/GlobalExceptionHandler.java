@@ -1,10 +1,16 @@
 package com.resftul.dscommerce.handler;
 
+import com.resftul.dscommerce.exception.IdempotencyKeyReusedException;
+import com.resftul.dscommerce.exception.InsufficientStockException;
+import com.resftul.dscommerce.exception.InvalidStatusTransitionException;
+import com.resftul.dscommerce.exception.PaymentDeclinedException;
+import com.resftul.dscommerce.exception.PaymentInProgressException;
 import com.resftul.dscommerce.exception.ProductAlreadyExistsException;
 import com.resftul.dscommerce.exception.ResourceNotFoundException;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.EntityNotFoundException;
 import org.apache.coyote.BadRequestException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
@@ -18,6 +24,7 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import static java.time.LocalDateTime.now;
 import static org.springframework.http.HttpStatus.*;
@@ -159,6 +166,96 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(List.of(errorDetails), CONFLICT);
     }
 
+    @ExceptionHandler(InsufficientStockException.class)
+    @Schema(description = "Manipula a exceção InsufficientStockException, lançada quando um item do pedido excede o estoque.")
+    public ResponseEntity<List<ErrorDetails>> handleInsufficientStockException(
+            InsufficientStockException insufficientStockException,
+            WebRequest webRequest
+    ) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                now(),
+                insufficientStockException.getMessage(),
+                webRequest.getDescription(false),
+                "INSUFFICIENT_STOCK"
+        );
+        return new ResponseEntity<>(List.of(errorDetails), CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidStatusTransitionException.class)
+    @Schema(description = "Manipula a exceção InvalidStatusTransitionException, lançada quando o status atual do pedido não permite a mudança.")
+    public ResponseEntity<List<ErrorDetails>> handleInvalidStatusTransitionException(
+            InvalidStatusTransitionException invalidStatusTransitionException,
+            WebRequest webRequest
+    ) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                now(),
+                invalidStatusTransitionException.getMessage(),
+                webRequest.getDescription(false),
+                "INVALID_STATUS_TRANSITION"
+        );
+        return new ResponseEntity<>(List.of(errorDetails), CONFLICT);
+    }
+
+    @ExceptionHandler(PaymentDeclinedException.class)
+    @Schema(description = "Manipula a exceção PaymentDeclinedException, lançada quando o gateway recusa o pagamento.")
+    public ResponseEntity<List<ErrorDetails>> handlePaymentDeclinedException(
+            PaymentDeclinedException paymentDeclinedException,
+            WebRequest webRequest
+    ) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                now(),
+                paymentDeclinedException.getMessage(),
+                webRequest.getDescription(false),
+                "PAYMENT_DECLINED"
+        );
+        return new ResponseEntity<>(List.of(errorDetails), PAYMENT_REQUIRED);
+    }
+
+    @ExceptionHandler(PaymentInProgressException.class)
+    @Schema(description = "Manipula a exceção PaymentInProgressException, lançada quando o pedido já tem um pagamento em andamento.")
+    public ResponseEntity<List<ErrorDetails>> handlePaymentInProgressException(
+            PaymentInProgressException paymentInProgressException,
+            WebRequest webRequest
+    ) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                now(),
+                paymentInProgressException.getMessage(),
+                webRequest.getDescription(false),
+                "PAYMENT_IN_PROGRESS"
+        );
+        return new ResponseEntity<>(List.of(errorDetails), CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    @Schema(description = "Manipula a exceção IdempotencyKeyReusedException, lançada quando a chave de idempotência já foi usada com outra requisição.")
+    public ResponseEntity<List<ErrorDetails>> handleIdempotencyKeyReusedException(
+            IdempotencyKeyReusedException idempotencyKeyReusedException,
+            WebRequest webRequest
+    ) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                now(),
+                idempotencyKeyReusedException.getMessage(),
+                webRequest.getDescription(false),
+                "IDEMPOTENCY_KEY_REUSED"
+        );
+        return new ResponseEntity<>(List.of(errorDetails), UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @Schema(description = "Manipula conflitos de versão, quando o recurso foi alterado por outra requisição.")
+    public ResponseEntity<List<ErrorDetails>> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException optimisticLockingFailureException,
+            WebRequest webRequest
+    ) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                now(),
+                optimisticLockingFailureException.getMessage(),
+                webRequest.getDescription(false),
+                "VERSION_CONFLICT"
+        );
+        return new ResponseEntity<>(List.of(errorDetails), CONFLICT);
+    }
+
     @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
     @Schema(description = "Manipula exceções que indicam que o tipo de mídia da requisição não é suportado.")
     public ResponseEntity<List<ErrorDetails>> handleUnsupportedMediaTypeException(
@@ -175,6 +272,22 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(List.of(errorDetails), UNSUPPORTED_MEDIA_TYPE);
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    @Schema(description = "Manipula a exceção RejectedExecutionException, lançada quando a fila de pedidos está cheia.")
+    public ResponseEntity<List<ErrorDetails>> handleRejectedExecutionException(
+            RejectedExecutionException rejectedExecutionException,
+            WebRequest webRequest
+    ) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                now(),
+                rejectedExecutionException.getMessage(),
+                webRequest.getDescription(false),
+                "SERVICE_UNAVAILABLE"
+        );
+
+        return new ResponseEntity<>(List.of(errorDetails), SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(InternalServerError.class)
     @Schema(description = "Manipula exceções genéricas, representando erros inesperados durante o processamento da requisição.")
     public ResponseEntity<List<ErrorDetails>> handleGlobalException(
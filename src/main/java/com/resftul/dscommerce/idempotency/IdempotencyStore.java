@@ -0,0 +1,89 @@
+package com.resftul.dscommerce.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.resftul.dscommerce.exception.IdempotencyKeyReusedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// Results of idempotent requests per (owner, key); a retry joins the in-flight future instead of running the action again.
+// Each key remembers the fingerprint of the request that claimed it, so reusing it for a different request is refused.
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private record Key(String owner, String key) {
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<Object> result) {
+    }
+
+    private final Cache<Key, Entry> results;
+
+    public IdempotencyStore(
+            @Value("${orders.idempotency.max-keys:100000}") long maxKeys,
+            @Value("${orders.idempotency.ttl:24h}") Duration ttl
+    ) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // Method, path and a SHA-256 of the body; callers pass the body in a canonical form, e.g. re-serialized JSON
+    public static String fingerprint(String method, String path, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((method + ' ' + path + '\n').getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String owner, String key, String fingerprint, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH)
+            throw new IllegalArgumentException(HEADER + " must have between 1 and " + MAX_KEY_LENGTH + " characters");
+
+        final Key id = new Key(owner, key);
+        final Entry mine = new Entry(fingerprint, new CompletableFuture<>());
+        final Entry existing = results.asMap().putIfAbsent(id, mine);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) throw new IdempotencyKeyReusedException(key);
+            return (T) join(existing.result());
+        }
+
+        try {
+            T result = action.get();
+            mine.result().complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            // Failures are not remembered: waiting retries see this error, later ones run the action again
+            results.asMap().remove(id, mine);
+            mine.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.resftul.dscommerce.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// RFC 4180 subset: header row required, quoted fields with "" escapes, no line breaks inside quotes
+public class CsvProductRowReader implements ProductRowReader {
+
+    private static final String CATEGORY_SEPARATOR = "\\|";
+
+    private final BufferedReader reader;
+    private long line;
+    private int name = -1;
+    private int description = -1;
+    private int price = -1;
+    private int imgUrl = -1;
+    private int categories = -1;
+    private int columns;
+
+    public CsvProductRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) return null;
+            line++;
+        } while (text.isBlank());
+
+        if (columns == 0) {
+            readHeader(split(text));
+            return next();
+        }
+
+        List<String> fields = split(text);
+        if (fields.size() != columns)
+            throw new RowFormatException("Esperado " + columns + " colunas, encontrado " + fields.size());
+
+        return new ProductImportRow(
+                field(fields, name),
+                field(fields, description),
+                decimal(field(fields, price)),
+                field(fields, imgUrl),
+                categories(field(fields, categories))
+        );
+    }
+
+    private void readHeader(List<String> header) {
+        for (int i = 0; i < header.size(); i++) {
+            switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "name" -> name = i;
+                case "description" -> description = i;
+                case "price" -> price = i;
+                case "imgurl", "img_url" -> imgUrl = i;
+                case "categories" -> categories = i;
+                default -> throw new IllegalArgumentException("Unknown CSV column: " + header.get(i));
+            }
+        }
+        if (name < 0 || price < 0 || categories < 0)
+            throw new IllegalArgumentException("CSV header must contain name, price and categories");
+        columns = header.size();
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0) return null;
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static BigDecimal decimal(String value) {
+        if (value == null) return null;
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RowFormatException("Preço inválido: " + value);
+        }
+    }
+
+    private static List<String> categories(String value) {
+        if (value == null) return List.of();
+        return Arrays.stream(value.split(CATEGORY_SEPARATOR))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    static List<String> split(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"' && current.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) throw new RowFormatException("Aspas não fechadas");
+        fields.add(current.toString());
+        return fields;
+    }
+
+    @Override
+    public long line() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
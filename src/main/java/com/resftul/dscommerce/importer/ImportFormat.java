@@ -0,0 +1,22 @@
+package com.resftul.dscommerce.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public enum ImportFormat {
+    NDJSON,
+    CSV;
+
+    public ProductRowReader open(InputStream in, ObjectMapper objectMapper) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, UTF_8));
+        return switch (this) {
+            case NDJSON -> new NdjsonProductRowReader(reader, objectMapper.reader());
+            case CSV -> new CsvProductRowReader(reader);
+        };
+    }
+}
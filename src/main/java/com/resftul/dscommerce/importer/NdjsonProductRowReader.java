@@ -0,0 +1,45 @@
+package com.resftul.dscommerce.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+public class NdjsonProductRowReader implements ProductRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader rowReader;
+    private long line;
+
+    public NdjsonProductRowReader(BufferedReader reader, ObjectReader rowReader) {
+        this.reader = reader;
+        this.rowReader = rowReader.forType(ProductImportRow.class);
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) return null;
+            line++;
+        } while (text.isBlank());
+
+        try {
+            return rowReader.readValue(text);
+        } catch (JsonProcessingException e) {
+            throw new RowFormatException("JSON inválido: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    @Override
+    public long line() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,13 @@
+package com.resftul.dscommerce.importer;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ProductImportRow(
+        String name,
+        String description,
+        BigDecimal price,
+        String imgUrl,
+        List<String> categories
+) {
+}
@@ -0,0 +1,12 @@
+package com.resftul.dscommerce.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface ProductRowReader extends Closeable {
+
+    // Returns null at end of input; a malformed row throws RowFormatException and the next call moves on
+    ProductImportRow next() throws IOException;
+
+    long line();
+}
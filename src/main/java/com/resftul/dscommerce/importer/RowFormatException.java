@@ -0,0 +1,11 @@
+package com.resftul.dscommerce.importer;
+
+public class RowFormatException extends RuntimeException {
+    public RowFormatException(String message) {
+        super(message);
+    }
+
+    public RowFormatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
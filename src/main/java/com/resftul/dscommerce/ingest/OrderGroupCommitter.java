@@ -0,0 +1,186 @@
+package com.resftul.dscommerce.ingest;
+
+import com.resftul.dscommerce.entity.Order;
+import com.resftul.dscommerce.event.OrderPlacedEvent;
+import com.resftul.dscommerce.service.StockService;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+// One writer thread drains queued orders and commits up to batchSize of them per transaction, so a burst pays one commit instead of one per request
+@Component
+public class OrderGroupCommitter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderGroupCommitter.class);
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private record Pending(Order order, CompletableFuture<Order> committed) {
+    }
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long enqueueTimeoutMillis;
+    private final BlockingQueue<Pending> queue;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockService stockService;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public OrderGroupCommitter(
+            @Value("${orders.group-commit.enabled:false}") boolean enabled,
+            @Value("${orders.group-commit.batch-size:100}") int batchSize,
+            @Value("${orders.group-commit.linger:5ms}") Duration linger,
+            @Value("${orders.group-commit.queue-capacity:10000}") int queueCapacity,
+            @Value("${orders.group-commit.enqueue-timeout:1s}") Duration enqueueTimeout,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            StockService stockService
+    ) {
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        this.enqueueTimeoutMillis = enqueueTimeout.toMillis();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.stockService = stockService;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // The future completes on the writer thread once the group holding this order has committed
+    public CompletableFuture<Order> submit(Order order) {
+        if (!running) throw new IllegalStateException("Order group commit is not running");
+        Pending pending = new Pending(order, new CompletableFuture<>());
+        try {
+            if (!queue.offer(pending, enqueueTimeoutMillis, MILLISECONDS))
+                throw new RejectedExecutionException("Fila de pedidos cheia, tente novamente");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrompido aguardando a fila de pedidos", e);
+        }
+        return pending.committed();
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return enabled;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("order-group-commit").daemon().start(this::drainLoop);
+    }
+
+    // Stops accepting orders, then lets the writer commit what is already queued
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        List<Pending> group = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(IDLE_POLL_MILLIS, MILLISECONDS);
+                if (first == null) continue;
+                group.add(first);
+                fill(group);
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Order group commit failed", e);
+                group.forEach(p -> p.committed().completeExceptionally(e));
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    // Waits at most the linger time for the group to fill up
+    private void fill(List<Pending> group) throws InterruptedException {
+        final long deadline = System.nanoTime() + lingerNanos;
+        queue.drainTo(group, batchSize - group.size());
+        while (group.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) break;
+            Pending next = queue.poll(remaining, NANOSECONDS);
+            if (next == null) break;
+            group.add(next);
+            queue.drainTo(group, batchSize - group.size());
+        }
+    }
+
+    private void commit(List<Pending> group) {
+        try {
+            persist(group);
+            group.forEach(p -> p.committed().complete(p.order()));
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                group.getFirst().committed().completeExceptionally(e);
+                return;
+            }
+            // One bad order must not fail its neighbours: retry each on its own
+            for (Pending pending : group) {
+                pending.order().setId(null);
+                commit(List.of(pending));
+            }
+        }
+    }
+
+    private void persist(List<Pending> group) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // One decrement per product for the whole group; a shortfall fails the group and the retry isolates the order
+            Map<Long, Integer> quantities = new HashMap<>();
+            for (Pending pending : group) {
+                pending.order().trackedQuantitiesByProduct().forEach((id, q) -> quantities.merge(id, q, Integer::sum));
+            }
+            stockService.reserve(quantities);
+
+            for (Pending pending : group) {
+                entityManager.persist(pending.order());
+                eventPublisher.publishEvent(OrderPlacedEvent.of(pending.order()));
+            }
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package com.resftul.dscommerce.inventory;
+
+import com.resftul.dscommerce.event.StockChangedEvent;
+import com.resftul.dscommerce.event.StockReservedEvent;
+import com.resftul.dscommerce.event.StockRestockedEvent;
+import com.resftul.dscommerce.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.transaction.event.TransactionPhase.AFTER_COMMIT;
+import static org.springframework.transaction.event.TransactionPhase.AFTER_ROLLBACK;
+
+// In-memory admission for flash-sale SKUs: once a hot SKU is sold out here, buyers are turned away without queueing on its row.
+// The conditional UPDATE stays authoritative, so a gate that is too generous (another instance, a stale load) cannot oversell.
+// A gate that is too strict (a restock on another instance) is corrected on reject, once its load is older than reload-after.
+@Component
+public class StockGate {
+
+    // Counter is null for a SKU without a product row, so it is not looked up again on every order
+    private record Loaded(StripedCounter counter, long loadedAtNanos) {
+
+        private boolean isOlderThan(Duration age) {
+            return System.nanoTime() - loadedAtNanos >= age.toNanos();
+        }
+    }
+
+    private final Set<Long> hotProducts;
+    private final int stripeCount;
+    private final Duration reloadAfter;
+    private final ProductRepository productRepository;
+    private final Map<Long, Loaded> counters = new ConcurrentHashMap<>();
+
+    // Units taken from the gate whose transaction has not finished; a load subtracts them since the row does not show them yet
+    private final Map<Long, AtomicInteger> uncommitted = new ConcurrentHashMap<>();
+
+    public StockGate(
+            @Value("${inventory.hot-products:}") Set<Long> hotProducts,
+            @Value("${inventory.stripes:16}") int stripeCount,
+            @Value("${inventory.reload-after:1s}") Duration reloadAfter,
+            ProductRepository productRepository
+    ) {
+        this.hotProducts = Set.copyOf(hotProducts);
+        this.stripeCount = stripeCount;
+        this.reloadAfter = reloadAfter;
+        this.productRepository = productRepository;
+    }
+
+    public boolean isGated(Long productId) {
+        return hotProducts.contains(productId);
+    }
+
+    public boolean hasGatedProducts() {
+        return !hotProducts.isEmpty();
+    }
+
+    public boolean tryAcquire(Long productId, int quantity) {
+        Loaded loaded = counters.computeIfAbsent(productId, this::load);
+        if (loaded.counter() == null) return true;
+        if (!acquire(loaded, productId, quantity)) {
+            if (!loaded.isOlderThan(reloadAfter)) return false;
+            // Only the first rejected buyer reads the row again; the others retry against its load
+            Loaded reloaded = counters.compute(productId, (id, current) -> (current == loaded) ? load(id) : current);
+            return reloaded.counter() == null || acquire(reloaded, productId, quantity);
+        }
+        return true;
+    }
+
+    public void release(Long productId, int quantity) {
+        settle(productId, quantity);
+        Loaded loaded = counters.get(productId);
+        if (loaded != null && loaded.counter() != null) loaded.counter().release(quantity);
+    }
+
+    // Null when the product is untracked or has not been loaded yet
+    public Integer available(Long productId) {
+        Loaded loaded = counters.get(productId);
+        return (loaded == null || loaded.counter() == null) ? null : loaded.counter().available();
+    }
+
+    @TransactionalEventListener(phase = AFTER_COMMIT)
+    public void onReservationCommitted(StockReservedEvent event) {
+        event.gatedQuantities().forEach(this::settle);
+    }
+
+    @TransactionalEventListener(phase = AFTER_ROLLBACK)
+    public void onReservationRolledBack(StockReservedEvent event) {
+        event.gatedQuantities().forEach(this::release);
+    }
+
+    // Reloaded lazily from the committed row on the next reservation
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        counters.remove(event.productId());
+    }
+
+    @TransactionalEventListener
+    public void onRestocked(StockRestockedEvent event) {
+        event.productIds().forEach(counters::remove);
+    }
+
+    private boolean acquire(Loaded loaded, Long productId, int quantity) {
+        if (!loaded.counter().tryAcquire(quantity)) return false;
+        uncommitted.computeIfAbsent(productId, id -> new AtomicInteger()).addAndGet(quantity);
+        return true;
+    }
+
+    private void settle(Long productId, int quantity) {
+        AtomicInteger units = uncommitted.get(productId);
+        if (units != null) units.addAndGet(-quantity);
+    }
+
+    private Loaded load(Long productId) {
+        Integer stock = productRepository.findStockById(productId);
+        if (stock == null) return new Loaded(null, System.nanoTime());
+        AtomicInteger units = uncommitted.get(productId);
+        int free = Math.max(0, stock - ((units == null) ? 0 : units.get()));
+        return new Loaded(new StripedCounter(free, stripeCount), System.nanoTime());
+    }
+}
@@ -0,0 +1,66 @@
+package com.resftul.dscommerce.inventory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Units split across stripes so concurrent buyers of one SKU mostly CAS different slots instead of one hot word
+final class StripedCounter {
+
+    private final AtomicIntegerArray stripes;
+
+    StripedCounter(int total, int stripeCount) {
+        this.stripes = new AtomicIntegerArray(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.set(i, total / stripeCount + (i < total % stripeCount ? 1 : 0));
+        }
+    }
+
+    boolean tryAcquire(int quantity) {
+        final int n = stripes.length();
+        final int start = ThreadLocalRandom.current().nextInt(n);
+        for (int i = 0; i < n; i++) {
+            if (tryTake((start + i) % n, quantity)) return true;
+        }
+        return tryAcquireAcross(quantity);
+    }
+
+    void release(int quantity) {
+        stripes.addAndGet(ThreadLocalRandom.current().nextInt(stripes.length()), quantity);
+    }
+
+    int available() {
+        int sum = 0;
+        for (int i = 0; i < stripes.length(); i++) sum += stripes.get(i);
+        return sum;
+    }
+
+    private boolean tryTake(int stripe, int quantity) {
+        int current;
+        do {
+            current = stripes.get(stripe);
+            if (current < quantity) return false;
+        } while (!stripes.compareAndSet(stripe, current, current - quantity));
+        return true;
+    }
+
+    // Slow path for a quantity no single stripe holds; units taken here go back if the total falls short
+    private synchronized boolean tryAcquireAcross(int quantity) {
+        final int[] taken = new int[stripes.length()];
+        int remaining = quantity;
+        for (int i = 0; i < stripes.length() && remaining > 0; i++) {
+            int current;
+            int take;
+            do {
+                current = stripes.get(i);
+                take = Math.min(current, remaining);
+            } while (take > 0 && !stripes.compareAndSet(i, current, current - take));
+            taken[i] = take;
+            remaining -= take;
+        }
+        if (remaining == 0) return true;
+        for (int i = 0; i < taken.length; i++) {
+            if (taken[i] > 0) stripes.addAndGet(i, taken[i]);
+        }
+        return false;
+    }
+}
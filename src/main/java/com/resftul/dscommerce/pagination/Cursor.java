@@ -0,0 +1,30 @@
+package com.resftul.dscommerce.pagination;
+
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public record Cursor(String key, long id) {
+
+    private static final char SEPARATOR = '|';
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        return ENCODER.encodeToString((id + String.valueOf(SEPARATOR) + key).getBytes(UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        final String raw;
+        final long id;
+        int separator;
+        try {
+            raw = new String(DECODER.decode(token), UTF_8);
+            separator = raw.indexOf(SEPARATOR);
+            id = Long.parseLong(raw.substring(0, Math.max(separator, 0)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+        return new Cursor(raw.substring(separator + 1), id);
+    }
+}
@@ -0,0 +1,6 @@
+package com.resftul.dscommerce.pagination;
+
+import java.util.List;
+
+public record CursorPage<T>(List<T> content, int size, String nextCursor) {
+}
@@ -0,0 +1,26 @@
+package com.resftul.dscommerce.pagination;
+
+import com.resftul.dscommerce.dto.CategoryFacetDTO;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+public record FacetedPage<T>(
+        List<T> content,
+        int number,
+        int size,
+        long totalElements,
+        int totalPages,
+        List<CategoryFacetDTO> facets
+) {
+    public static <T> FacetedPage<T> of(Page<T> page, List<CategoryFacetDTO> facets) {
+        return new FacetedPage<>(
+                page.getContent(),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                facets
+        );
+    }
+}
@@ -0,0 +1,51 @@
+package com.resftul.dscommerce.payment;
+
+import com.resftul.dscommerce.exception.PaymentDeclinedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+// Local stand-in for an acquirer: waits the configured latency and approves, unless the amount is above decline-above
+@Component
+@ConditionalOnProperty(name = "payments.gateway", havingValue = "fake", matchIfMissing = true)
+public class FakePaymentGateway implements PaymentGateway {
+
+    private final Duration latency;
+    private final BigDecimal declineAbove;
+
+    public FakePaymentGateway(
+            @Value("${payments.fake-gateway.latency:200ms}") Duration latency,
+            @Value("${payments.fake-gateway.decline-above:#{null}}") BigDecimal declineAbove
+    ) {
+        this.latency = latency;
+        this.declineAbove = declineAbove;
+    }
+
+    @Override
+    public PaymentAuthorization authorize(Long orderId, BigDecimal amount) {
+        pause();
+        if (declineAbove != null && amount.compareTo(declineAbove) > 0) {
+            throw new PaymentDeclinedException(orderId);
+        }
+        return new PaymentAuthorization("fake-" + UUID.randomUUID(), Instant.now());
+    }
+
+    @Override
+    public void cancel(PaymentAuthorization authorization) {
+        pause();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Payment gateway call interrupted", e);
+        }
+    }
+}
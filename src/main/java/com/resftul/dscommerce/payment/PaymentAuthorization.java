@@ -0,0 +1,6 @@
+package com.resftul.dscommerce.payment;
+
+import java.time.Instant;
+
+public record PaymentAuthorization(String transactionId, Instant authorizedAt) {
+}
@@ -0,0 +1,13 @@
+package com.resftul.dscommerce.payment;
+
+import java.math.BigDecimal;
+
+// Blocking on purpose: callers run it on a virtual thread, outside any transaction
+public interface PaymentGateway {
+
+    // Throws PaymentDeclinedException when the acquirer refuses the charge
+    PaymentAuthorization authorize(Long orderId, BigDecimal amount);
+
+    // Voids an authorization whose payment could not be recorded
+    void cancel(PaymentAuthorization authorization);
+}
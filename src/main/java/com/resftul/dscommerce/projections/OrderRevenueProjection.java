@@ -0,0 +1,6 @@
+package com.resftul.dscommerce.projections;
+
+public interface OrderRevenueProjection {
+    Long getOrders();
+    Long getTotalCents();
+}
@@ -0,0 +1,6 @@
+package com.resftul.dscommerce.projections;
+
+public interface ProductNameProjection {
+    Long getId();
+    String getName();
+}
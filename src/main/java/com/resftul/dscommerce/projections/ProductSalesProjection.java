@@ -0,0 +1,6 @@
+package com.resftul.dscommerce.projections;
+
+public interface ProductSalesProjection {
+    Long getProductId();
+    Long getQuantity();
+}
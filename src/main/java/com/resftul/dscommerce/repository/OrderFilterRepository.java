@@ -0,0 +1,28 @@
+package com.resftul.dscommerce.repository;
+
+import com.resftul.dscommerce.entity.OrderStatus;
+import com.resftul.dscommerce.projections.OrderRevenueProjection;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+
+// Null filter arguments are left out of the SQL instead of being matched by "IS NULL OR" catch-alls
+public interface OrderFilterRepository {
+
+    // Keyset pages select ids first: a collection fetch join cannot be limited in SQL
+    List<Long> findIdsFirst(OrderStatus status, Long clientId, Instant from, Instant to, Limit limit);
+
+    List<Long> findIdsAfter(
+            OrderStatus status,
+            Long clientId,
+            Instant from,
+            Instant to,
+            Instant afterMoment,
+            Long afterId,
+            Limit limit
+    );
+
+    // Revenue sums the persisted order totals; no join to tb_order_item
+    OrderRevenueProjection sumRevenue(OrderStatus status, Long clientId, Instant from, Instant to);
+}
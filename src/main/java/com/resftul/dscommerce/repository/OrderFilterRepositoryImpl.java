@@ -0,0 +1,110 @@
+package com.resftul.dscommerce.repository;
+
+import com.resftul.dscommerce.entity.Order;
+import com.resftul.dscommerce.entity.OrderStatus;
+import com.resftul.dscommerce.projections.OrderRevenueProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Each filter combination gets its own statement, so the planner can pick idx_tb_order_status_moment_id,
+// idx_tb_order_client_moment or idx_tb_order_moment_id instead of one plan shaped around the optional arguments
+class OrderFilterRepositoryImpl implements OrderFilterRepository {
+
+    private final EntityManager entityManager;
+
+    OrderFilterRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Long> findIdsFirst(OrderStatus status, Long clientId, Instant from, Instant to, Limit limit) {
+        return findIds(status, clientId, from, to, null, null, limit);
+    }
+
+    @Override
+    public List<Long> findIdsAfter(
+            OrderStatus status,
+            Long clientId,
+            Instant from,
+            Instant to,
+            Instant afterMoment,
+            Long afterId,
+            Limit limit
+    ) {
+        return findIds(status, clientId, from, to, afterMoment, afterId, limit);
+    }
+
+    @Override
+    public OrderRevenueProjection sumRevenue(OrderStatus status, Long clientId, Instant from, Instant to) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Order> order = query.from(Order.class);
+        query.multiselect(cb.count(order), cb.coalesce(cb.sum(order.<Long>get("totalCents")), 0L))
+                .where(filters(cb, order, status, clientId, from, to).toArray(Predicate[]::new));
+
+        Tuple row = entityManager.createQuery(query).getSingleResult();
+        long orders = row.get(0, Long.class);
+        long totalCents = row.get(1, Number.class).longValue();
+        return new OrderRevenueProjection() {
+            @Override public Long getOrders() { return orders; }
+            @Override public Long getTotalCents() { return totalCents; }
+        };
+    }
+
+    private List<Long> findIds(
+            OrderStatus status,
+            Long clientId,
+            Instant from,
+            Instant to,
+            Instant afterMoment,
+            Long afterId,
+            Limit limit
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> order = query.from(Order.class);
+        Path<Instant> moment = order.get("moment");
+        Path<Long> id = order.get("id");
+
+        List<Predicate> where = filters(cb, order, status, clientId, from, to);
+        if (afterMoment != null) {
+            where.add(cb.or(
+                    cb.greaterThan(moment, afterMoment),
+                    cb.and(cb.equal(moment, afterMoment), cb.greaterThan(id, afterId))));
+        }
+        query.select(id)
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(moment), cb.asc(id));
+
+        TypedQuery<Long> typed = entityManager.createQuery(query);
+        if (limit.isLimited()) typed.setMaxResults(limit.max());
+        return typed.getResultList();
+    }
+
+    private static List<Predicate> filters(
+            CriteriaBuilder cb,
+            Root<Order> order,
+            OrderStatus status,
+            Long clientId,
+            Instant from,
+            Instant to
+    ) {
+        List<Predicate> where = new ArrayList<>(5);
+        if (status != null) where.add(cb.equal(order.get("orderStatus"), status));
+        if (clientId != null) where.add(cb.equal(order.get("client").get("id"), clientId));
+        if (from != null) where.add(cb.greaterThanOrEqualTo(order.get("moment"), from));
+        if (to != null) where.add(cb.lessThan(order.get("moment"), to));
+        return where;
+    }
+}
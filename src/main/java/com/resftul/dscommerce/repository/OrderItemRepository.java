@@ -3,9 +3,20 @@ package com.resftul.dscommerce.repository;
 
 import com.resftul.dscommerce.entity.OrderItem;
 import com.resftul.dscommerce.entity.OrderItemPK;
+import com.resftul.dscommerce.projections.ProductSalesProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository("orderItemRepository")
 public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItemPK> {
+
+    @Query("""
+            SELECT i.id.product.id AS productId, SUM(i.quantity) AS quantity
+            FROM OrderItem i
+            GROUP BY i.id.product.id
+            """)
+    List<ProductSalesProjection> sumQuantityByProduct();
 }
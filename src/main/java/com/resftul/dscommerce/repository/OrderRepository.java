@@ -1,9 +1,59 @@
 package com.resftul.dscommerce.repository;
 
 import com.resftul.dscommerce.entity.Order;
+import com.resftul.dscommerce.entity.OrderStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static jakarta.persistence.LockModeType.PESSIMISTIC_WRITE;
+
 @Repository("orderRepository")
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderFilterRepository {
+
+    @Query("SELECT o FROM Order o " +
+           "JOIN FETCH o.client " +
+           "LEFT JOIN FETCH o.payment " +
+           "LEFT JOIN FETCH o.items i " +
+           "LEFT JOIN FETCH i.id.product " +
+           "WHERE o.id = :id")
+    Optional<Order> findWithDetailsById(Long id);
+
+    // Newest first, served by idx_tb_order_client_moment
+    @Query("SELECT o.id FROM Order o " +
+           "WHERE o.client.id = :clientId " +
+           "ORDER BY o.moment DESC, o.id DESC")
+    List<Long> findIdsByClientFirst(Long clientId, Limit limit);
+
+    @Query("SELECT o.id FROM Order o " +
+           "WHERE o.client.id = :clientId " +
+           "AND (o.moment < :beforeMoment OR (o.moment = :beforeMoment AND o.id < :beforeId)) " +
+           "ORDER BY o.moment DESC, o.id DESC")
+    List<Long> findIdsByClientBefore(Long clientId, Instant beforeMoment, Long beforeId, Limit limit);
+
+    @Query("SELECT o FROM Order o " +
+           "JOIN FETCH o.client " +
+           "LEFT JOIN FETCH o.payment " +
+           "LEFT JOIN FETCH o.items i " +
+           "LEFT JOIN FETCH i.id.product " +
+           "WHERE o.id IN :ids")
+    List<Order> findAllWithDetailsByIdIn(Collection<Long> ids);
+
+    // Locks the rows a bulk transition is about to change, so the UPDATE below touches exactly these ids
+    @Lock(PESSIMISTIC_WRITE)
+    @Query("SELECT o.id FROM Order o WHERE o.id IN :ids AND o.orderStatus IN :sources")
+    List<Long> lockIdsInStatus(Collection<Long> ids, Collection<OrderStatus> sources);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = :target, o.version = o.version + 1 " +
+           "WHERE o.id IN :ids AND o.orderStatus IN :sources")
+    int updateStatus(Collection<Long> ids, OrderStatus target, Collection<OrderStatus> sources);
 }
@@ -0,0 +1,125 @@
+package com.resftul.dscommerce.repository;
+
+import com.resftul.dscommerce.dto.product.ProductDTO;
+import com.resftul.dscommerce.dto.product.ProductExportDTO;
+import com.resftul.dscommerce.entity.Product;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.sql.ResultSet.CONCUR_READ_ONLY;
+import static java.sql.ResultSet.TYPE_FORWARD_ONLY;
+
+@Repository("productBatchRepository")
+public class ProductBatchRepository {
+
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO tb_product (id, name, description, price, img_url, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PRODUCT_CATEGORY =
+            "INSERT INTO tb_product_category (product_id, category_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final EntityManager entityManager;
+
+    public ProductBatchRepository(
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedJdbcTemplate,
+            EntityManager entityManager
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    // Plain IN on the column so uk_tb_product_name answers it; the database's collation decides what counts as equal
+    public Set<String> findExistingNames(Collection<String> names) {
+        if (names.isEmpty()) return Set.of();
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT name FROM tb_product WHERE name IN (:names)",
+                Map.of("names", names),
+                String.class));
+    }
+
+    // Ids come from the same pooled generator as Product entities, so JDBC and JPA inserts never collide.
+    // Must run inside a transaction; returns the ids in the order of the given products.
+    public List<Long> insertAll(List<ProductDTO> products, int batchSize) {
+        final SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        final IdentifierGenerator generator = (IdentifierGenerator) session.getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(Product.class)
+                .getGenerator();
+        final List<Long> ids = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) ids.add((Long) generator.generate(session, null));
+
+        final Timestamp now = Timestamp.from(Instant.now());
+        final Iterator<Long> nextId = ids.iterator();
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, products, batchSize, (ps, product) -> {
+            ps.setLong(1, nextId.next());
+            ps.setString(2, product.getName());
+            ps.setString(3, product.getDescription());
+            ps.setBigDecimal(4, product.getPrice());
+            ps.setString(5, product.getImgUrl());
+            ps.setTimestamp(6, now);
+        });
+        return ids;
+    }
+
+    // Forward-only read of products joined with their category ids, ordered by id; rows of one product are consecutive
+    // The since filter only sees rows that still exist, so deleted products never appear in an incremental export
+    public void forEachForExport(Instant since, int fetchSize, Consumer<ProductExportDTO> action) {
+        final String sql = "SELECT p.id, p.name, p.description, p.price, p.img_url, p.updated_at, pc.category_id " +
+                           "FROM tb_product p " +
+                           "LEFT JOIN tb_product_category pc ON pc.product_id = p.id " +
+                           (since == null ? "" : "WHERE p.updated_at >= ? ") +
+                           "ORDER BY p.id, pc.category_id";
+
+        final ProductExportDTO[] current = new ProductExportDTO[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            if (since != null) ps.setTimestamp(1, Timestamp.from(since));
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            long id = rs.getLong("id");
+            if (current[0] == null || current[0].getId() != id) {
+                if (current[0] != null) action.accept(current[0]);
+                Timestamp updatedAt = rs.getTimestamp("updated_at");
+                current[0] = new ProductExportDTO(
+                        id,
+                        rs.getString("name"),
+                        rs.getString("description"),
+                        rs.getBigDecimal("price"),
+                        rs.getString("img_url"),
+                        updatedAt == null ? null : updatedAt.toInstant(),
+                        new ArrayList<>(2));
+            }
+            long categoryId = rs.getLong("category_id");
+            if (!rs.wasNull()) current[0].getCategoryIds().add(categoryId);
+        });
+        if (current[0] != null) action.accept(current[0]);
+    }
+
+    public void insertCategoryLinks(List<Map.Entry<Long, Long>> productCategoryIds, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT_CATEGORY, productCategoryIds, batchSize, (ps, link) -> {
+            ps.setLong(1, link.getKey());
+            ps.setLong(2, link.getValue());
+        });
+    }
+}
@@ -1,20 +1,112 @@
 package com.resftul.dscommerce.repository;
 
+import com.resftul.dscommerce.dto.CategoryFacetDTO;
+import com.resftul.dscommerce.dto.product.ProductMinDTO;
+import com.resftul.dscommerce.dto.product.ProductSuggestionDTO;
 import com.resftul.dscommerce.entity.Product;
+import com.resftul.dscommerce.projections.ProductCategoryProjection;
+import com.resftul.dscommerce.projections.ProductNameProjection;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository("productRepository")
 public interface ProductRepository extends JpaRepository<Product, Long> {
-    boolean existsByName(String name);
+    // Conditional decrement, no SELECT ... FOR UPDATE needed; the row stays locked until the order's transaction ends.
+    // Callers skip untracked products so they take no lock; the NULL branch only covers one untracked since it was read.
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity " +
+           "WHERE p.id = :id AND (p.stock IS NULL OR p.stock >= :quantity)")
+    int decrementStock(Long id, int quantity);
+
+    // Gives back what the cancelled orders took, one statement for all their tracked products
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + " +
+           "(SELECT SUM(i.quantity) FROM OrderItem i WHERE i.id.product = p AND i.id.order.id IN :orderIds) " +
+           "WHERE p.stock IS NOT NULL " +
+           "AND p.id IN (SELECT i.id.product.id FROM OrderItem i WHERE i.id.order.id IN :orderIds)")
+    int restockOrders(Collection<Long> orderIds);
+
+    @Query("SELECT DISTINCT i.id.product.id FROM OrderItem i WHERE i.id.order.id IN :orderIds")
+    List<Long> findProductIdsByOrderIds(Collection<Long> orderIds);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = :stock WHERE p.id = :id")
+    int updateStock(Long id, Integer stock);
+
+    @Query("SELECT p.stock FROM Product p WHERE p.id = :id")
+    Integer findStockById(Long id);
+
+    @EntityGraph(Product.WITH_CATEGORIES)
+    Optional<Product> findWithCategoriesById(Long id);
+
+    @EntityGraph(Product.WITH_CATEGORIES)
+    List<Product> findAllWithCategoriesByIdIn(Collection<Long> ids);
+
+    @Query(value = "SELECT new com.resftul.dscommerce.dto.product.ProductMinDTO(p.id, p.name, p.price, p.imgUrl) " +
+                   "FROM Product p " +
+                   "WHERE UPPER(p.name) LIKE UPPER(CONCAT('%', :name, '%'))",
+           countQuery = "SELECT COUNT(p) " +
+                        "FROM Product p " +
+                        "WHERE UPPER(p.name) LIKE UPPER(CONCAT('%', :name, '%'))")
+    Page<ProductMinDTO> searchMinByName(String name, Pageable pageable);
+
+    @Query("SELECT new com.resftul.dscommerce.dto.product.ProductSuggestionDTO(p.id, p.name) " +
+           "FROM Product p " +
+           "WHERE UPPER(p.name) LIKE UPPER(CONCAT(:prefix, '%')) " +
+           "ORDER BY p.name, p.id")
+    List<ProductSuggestionDTO> suggestByNamePrefix(String prefix, Limit limit);
+
+    @Query(value = "SELECT new com.resftul.dscommerce.dto.product.ProductMinDTO(p.id, p.name, p.price, p.imgUrl) " +
+                   "FROM Product p " +
+                   "WHERE UPPER(p.name) LIKE UPPER(CONCAT('%', :name, '%')) " +
+                   "AND p.id IN (SELECT p2.id FROM Product p2 JOIN p2.categories c WHERE c.id IN :categoryIds)",
+           countQuery = "SELECT COUNT(p) " +
+                        "FROM Product p " +
+                        "WHERE UPPER(p.name) LIKE UPPER(CONCAT('%', :name, '%')) " +
+                        "AND p.id IN (SELECT p2.id FROM Product p2 JOIN p2.categories c WHERE c.id IN :categoryIds)")
+    Page<ProductMinDTO> searchMinByNameAndCategories(String name, Collection<Long> categoryIds, Pageable pageable);
+
+    @Query("SELECT new com.resftul.dscommerce.dto.CategoryFacetDTO(c.id, COUNT(p)) " +
+           "FROM Product p JOIN p.categories c " +
+           "WHERE UPPER(p.name) LIKE UPPER(CONCAT('%', :name, '%')) " +
+           "AND p.id IN (SELECT p2.id FROM Product p2 JOIN p2.categories c2 WHERE c2.id IN :categoryIds) " +
+           "GROUP BY c.id " +
+           "ORDER BY c.id")
+    List<CategoryFacetDTO> countByCategory(String name, Collection<Long> categoryIds);
+
+    @Query("SELECT new com.resftul.dscommerce.dto.product.ProductMinDTO(p.id, p.name, p.price, p.imgUrl) " +
+           "FROM Product p " +
+           "WHERE p.id IN :ids")
+    List<ProductMinDTO> findMinByIdIn(Collection<Long> ids);
 
-    @Query("SELECT p " +
+    @Query("SELECT new com.resftul.dscommerce.dto.product.ProductMinDTO(p.id, p.name, p.price, p.imgUrl) " +
            "FROM Product p " +
-           "WHERE UPPER(p.name) " +
-           "LIKE UPPER(CONCAT('%', :name, '%'))")
-    Page<Product> searchByName(String name, Pageable pageable);
+           "WHERE UPPER(p.name) LIKE UPPER(CONCAT('%', :name, '%')) " +
+           "ORDER BY p.name ASC, p.id ASC")
+    List<ProductMinDTO> searchByNameFirst(String name, Limit limit);
+
+    @Query("SELECT new com.resftul.dscommerce.dto.product.ProductMinDTO(p.id, p.name, p.price, p.imgUrl) " +
+           "FROM Product p " +
+           "WHERE UPPER(p.name) LIKE UPPER(CONCAT('%', :name, '%')) " +
+           "AND (p.name > :afterName OR (p.name = :afterName AND p.id > :afterId)) " +
+           "ORDER BY p.name ASC, p.id ASC")
+    List<ProductMinDTO> searchByNameAfter(String name, String afterName, Long afterId, Limit limit);
+
+    @Query("SELECT p.id AS id, p.name AS name FROM Product p")
+    Stream<ProductNameProjection> streamAllNames();
+
+    @Query("SELECT p.id AS productId, c.id AS categoryId FROM Product p JOIN p.categories c")
+    Stream<ProductCategoryProjection> streamAllCategoryLinks();
 }
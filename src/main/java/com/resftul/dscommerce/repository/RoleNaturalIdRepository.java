@@ -0,0 +1,9 @@
+package com.resftul.dscommerce.repository;
+
+import com.resftul.dscommerce.entity.Role;
+
+import java.util.Optional;
+
+public interface RoleNaturalIdRepository {
+    Optional<Role> findByAuthority(String authority);
+}
@@ -0,0 +1,26 @@
+package com.resftul.dscommerce.repository;
+
+import com.resftul.dscommerce.entity.Role;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Loads through the natural-id API so the lookup is answered by the role-authority region instead of a query
+class RoleNaturalIdRepositoryImpl implements RoleNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    RoleNaturalIdRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Role> findByAuthority(String authority) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Role.class)
+                .loadOptional(authority);
+    }
+}
@@ -4,9 +4,6 @@ import com.resftul.dscommerce.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 @Repository("roleRepository")
-public interface RoleRepository extends JpaRepository<Role, Long> {
-    Optional<Role> findByAuthority(String authority);
+public interface RoleRepository extends JpaRepository<Role, Long>, RoleNaturalIdRepository {
 }
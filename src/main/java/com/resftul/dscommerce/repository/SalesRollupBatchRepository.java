@@ -0,0 +1,147 @@
+package com.resftul.dscommerce.repository;
+
+import com.resftul.dscommerce.entity.OrderItem;
+import com.resftul.dscommerce.entity.SalesRollup;
+import com.resftul.dscommerce.entity.SalesRollupBackfill;
+import com.resftul.dscommerce.entity.SalesRollupPK;
+import com.resftul.dscommerce.event.OrderPlacedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.sql.ResultSet.CONCUR_READ_ONLY;
+import static java.sql.ResultSet.TYPE_FORWARD_ONLY;
+
+@Repository("salesRollupBatchRepository")
+public class SalesRollupBatchRepository {
+
+    private static final String ADD_TO_ROLLUP =
+            "UPDATE tb_sales_rollup " +
+            "SET units = units + ?, revenue_cents = revenue_cents + ?, order_count = order_count + ? " +
+            "WHERE dimension = ? AND dimension_id = ? AND granularity = ? AND bucket_start = ?";
+    private static final String INSERT_ROLLUP =
+            "INSERT INTO tb_sales_rollup (units, revenue_cents, order_count, dimension, dimension_id, granularity, bucket_start) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SalesRollupBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isEmpty() {
+        Boolean found = jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("SELECT dimension_id FROM tb_sales_rollup");
+            ps.setMaxRows(1);
+            return ps;
+        }, ResultSet::next);
+        return !Boolean.TRUE.equals(found);
+    }
+
+    public long maxOrderId() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tb_order", Long.class);
+    }
+
+    // Fails with a duplicate key when another instance already inserted the marker
+    public void insertBackfillMarker(long throughOrderId) {
+        jdbcTemplate.update("INSERT INTO tb_sales_rollup_backfill (id, through_order_id) VALUES (?, ?)",
+                SalesRollupBackfill.MARKER_ID, throughOrderId);
+    }
+
+    public long findBackfillMark() {
+        return jdbcTemplate.queryForObject("SELECT through_order_id FROM tb_sales_rollup_backfill WHERE id = ?",
+                Long.class, SalesRollupBackfill.MARKER_ID);
+    }
+
+    // Adds the deltas to the stored counters: one batched UPDATE, then one batched INSERT for the buckets it did not find.
+    // Must run inside a transaction; two instances inserting the same new bucket make one of them fail with a duplicate key.
+    public void addAll(List<SalesRollup> deltas, int batchSize) {
+        int[][] updated = jdbcTemplate.batchUpdate(ADD_TO_ROLLUP, deltas, batchSize, SalesRollupBatchRepository::bind);
+
+        List<SalesRollup> missing = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updated) {
+            for (int count : batch) {
+                if (count == 0) missing.add(deltas.get(index));
+                index++;
+            }
+        }
+        if (!missing.isEmpty()) jdbcTemplate.batchUpdate(INSERT_ROLLUP, missing, batchSize, SalesRollupBatchRepository::bind);
+    }
+
+    // Replays the stored orders up to throughOrderId as the events they would have published, in id order; used to backfill empty rollups.
+    // Categories are the products' current ones, one row per category, so the quantities are put rather than summed.
+    public void forEachPlacedOrder(long throughOrderId, int fetchSize, Consumer<OrderPlacedEvent> action) {
+        final String sql = "SELECT o.id, o.moment, i.product_id, i.quantity, i.price, pc.category_id " +
+                           "FROM tb_order o " +
+                           "JOIN tb_order_item i ON i.order_id = o.id " +
+                           "LEFT JOIN tb_product_category pc ON pc.product_id = i.product_id " +
+                           "WHERE o.id <= ? " +
+                           "ORDER BY o.id";
+
+        final OrderLines[] current = new OrderLines[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
+            ps.setLong(1, throughOrderId);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            long orderId = rs.getLong("id");
+            if (current[0] == null || current[0].orderId != orderId) {
+                if (current[0] != null) action.accept(current[0].toEvent());
+                current[0] = new OrderLines(orderId, rs.getTimestamp("moment"));
+            }
+            long productId = rs.getLong("product_id");
+            int quantity = rs.getInt("quantity");
+            current[0].quantities.put(productId, quantity);
+            current[0].subTotals.put(productId, OrderItem.subTotalCents(rs.getBigDecimal("price"), quantity));
+            Set<Long> categories = current[0].categories.computeIfAbsent(productId, id -> new HashSet<>());
+            long categoryId = rs.getLong("category_id");
+            if (!rs.wasNull()) categories.add(categoryId);
+        });
+        if (current[0] != null) action.accept(current[0].toEvent());
+    }
+
+    private static void bind(PreparedStatement ps, SalesRollup delta) throws SQLException {
+        SalesRollupPK id = delta.getId();
+        ps.setLong(1, delta.getUnits());
+        ps.setLong(2, delta.getRevenueCents());
+        ps.setLong(3, delta.getOrders());
+        ps.setString(4, id.getDimension().name());
+        ps.setLong(5, id.getDimensionId());
+        ps.setString(6, id.getGranularity().name());
+        ps.setTimestamp(7, Timestamp.from(id.getBucketStart()));
+    }
+
+    private static final class OrderLines {
+        private final long orderId;
+        private final Timestamp moment;
+        private final Map<Long, Integer> quantities = new HashMap<>();
+        private final Map<Long, Long> subTotals = new HashMap<>();
+        private final Map<Long, Set<Long>> categories = new HashMap<>();
+
+        private OrderLines(long orderId, Timestamp moment) {
+            this.orderId = orderId;
+            this.moment = moment;
+        }
+
+        private OrderPlacedEvent toEvent() {
+            Map<Long, Set<Long>> categoryIds = new HashMap<>();
+            categories.forEach((productId, ids) -> categoryIds.put(productId, Set.copyOf(ids)));
+            return new OrderPlacedEvent(orderId, moment.toInstant(), Map.copyOf(quantities), Map.copyOf(subTotals),
+                    Map.copyOf(categoryIds));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.resftul.dscommerce.repository;
+
+import com.resftul.dscommerce.entity.SalesDimension;
+import com.resftul.dscommerce.entity.SalesGranularity;
+import com.resftul.dscommerce.entity.SalesRollup;
+import com.resftul.dscommerce.entity.SalesRollupPK;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository("salesRollupRepository")
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, SalesRollupPK> {
+
+    // Primary-key range scan: at most one row per bucket in [from, to)
+    @Query("SELECT r FROM SalesRollup r " +
+           "WHERE r.id.dimension = :dimension " +
+           "AND r.id.dimensionId = :dimensionId " +
+           "AND r.id.granularity = :granularity " +
+           "AND r.id.bucketStart >= :from AND r.id.bucketStart < :to " +
+           "ORDER BY r.id.bucketStart")
+    List<SalesRollup> findSeries(
+            SalesDimension dimension,
+            Long dimensionId,
+            SalesGranularity granularity,
+            Instant from,
+            Instant to
+    );
+
+    // Reads one bucket through idx_tb_sales_rollup_bucket: at most one row per product or category sold in it
+    @Query("SELECT r FROM SalesRollup r " +
+           "WHERE r.id.dimension = :dimension " +
+           "AND r.id.granularity = :granularity " +
+           "AND r.id.bucketStart = :bucketStart " +
+           "ORDER BY r.units DESC, r.revenueCents DESC, r.id.dimensionId")
+    List<SalesRollup> findTop(SalesDimension dimension, SalesGranularity granularity, Instant bucketStart, Limit limit);
+}
@@ -0,0 +1,237 @@
+package com.resftul.dscommerce.rollup;
+
+import com.resftul.dscommerce.entity.SalesDimension;
+import com.resftul.dscommerce.entity.SalesGranularity;
+import com.resftul.dscommerce.entity.SalesRollup;
+import com.resftul.dscommerce.entity.SalesRollupPK;
+import com.resftul.dscommerce.event.OrderPlacedEvent;
+import com.resftul.dscommerce.repository.SalesRollupBatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.resftul.dscommerce.entity.SalesDimension.CATEGORY;
+import static com.resftul.dscommerce.entity.SalesDimension.PRODUCT;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+// Placed orders only bump in-memory counters; a background thread folds them into tb_sales_rollup on a short interval.
+// The upserts add to the stored values, so several instances can flush into the same table.
+// Orders up to the backfill mark are left to the one instance that claimed the backfill; listeners count only later ones.
+@Component
+public class SalesRollupAggregator implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupAggregator.class);
+    private static final int BATCH_SIZE = 500;
+    private static final int BACKFILL_FETCH_SIZE = 1_000;
+    private static final int BACKFILL_FLUSH_EVERY = 10_000;
+
+    private record Key(SalesDimension dimension, long dimensionId, SalesGranularity granularity, Instant bucketStart) {
+    }
+
+    private static final class Counter {
+        private final LongAdder units = new LongAdder();
+        private final LongAdder revenueCents = new LongAdder();
+        private final LongAdder orders = new LongAdder();
+
+        private void add(long units, long revenueCents, long orders) {
+            this.units.add(units);
+            this.revenueCents.add(revenueCents);
+            this.orders.add(orders);
+        }
+    }
+
+    private final boolean enabled;
+    private final Duration flushInterval;
+    private final SalesRollupBatchRepository batchRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Recorders share the read lock; the flush takes the write lock only to swap the map out
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Key, Counter> pending = new ConcurrentHashMap<>();
+
+    private volatile long backfilledThrough;
+    private volatile boolean running;
+    private ScheduledExecutorService flusher;
+
+    public SalesRollupAggregator(
+            @Value("${sales.rollup.enabled:false}") boolean enabled,
+            @Value("${sales.rollup.flush-interval:1s}") Duration flushInterval,
+            SalesRollupBatchRepository batchRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.batchRepository = batchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        if (!enabled || event.orderId() <= backfilledThrough) return;
+        record(event);
+    }
+
+    public void record(OrderPlacedEvent event) {
+        // An order counts once per category even when several of its products share it
+        Map<Long, long[]> byCategory = new HashMap<>();
+        event.quantitiesByProduct().forEach((productId, quantity) -> {
+            long cents = event.subTotalCentsByProduct().getOrDefault(productId, 0L);
+            for (Long categoryId : event.categoryIdsByProduct().getOrDefault(productId, Set.of())) {
+                long[] totals = byCategory.computeIfAbsent(categoryId, id -> new long[2]);
+                totals[0] += quantity;
+                totals[1] += cents;
+            }
+        });
+
+        lock.readLock().lock();
+        try {
+            event.quantitiesByProduct().forEach((productId, quantity) -> add(PRODUCT, productId, event.moment(),
+                    quantity, event.subTotalCentsByProduct().getOrDefault(productId, 0L), 1));
+            byCategory.forEach((categoryId, totals) -> add(CATEGORY, categoryId, event.moment(), totals[0], totals[1], 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Writes what has accumulated so far and returns the number of buckets touched.
+    // On failure the deltas go back into the pending counters and the next flush retries them.
+    public synchronized int flush() {
+        Map<Key, Counter> drained;
+        lock.writeLock().lock();
+        try {
+            if (pending.isEmpty()) return 0;
+            drained = pending;
+            pending = new ConcurrentHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<SalesRollup> deltas = new ArrayList<>(drained.size());
+        drained.forEach((key, counter) -> deltas.add(new SalesRollup(
+                new SalesRollupPK(key.dimension(), key.dimensionId(), key.granularity(), key.bucketStart()),
+                counter.units.sum(),
+                counter.revenueCents.sum(),
+                counter.orders.sum())));
+        try {
+            transactionTemplate.executeWithoutResult(status -> batchRepository.addAll(deltas, BATCH_SIZE));
+        } catch (RuntimeException e) {
+            restore(drained);
+            throw e;
+        }
+        return deltas.size();
+    }
+
+    // Rebuilds the counters from the stored orders up to the mark; only meant for an empty tb_sales_rollup
+    public void backfill(long throughOrderId) {
+        long[] replayed = {0};
+        batchRepository.forEachPlacedOrder(throughOrderId, BACKFILL_FETCH_SIZE, event -> {
+            record(event);
+            if (++replayed[0] % BACKFILL_FLUSH_EVERY == 0) flush();
+        });
+        flush();
+        log.info("Sales rollups backfilled from {} orders", replayed[0]);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return enabled;
+    }
+
+    // Starts before the web server, so the backfill is done before the first order arrives
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    @Override
+    public void start() {
+        Long claimed = claimBackfill();
+        backfilledThrough = (claimed != null) ? claimed : batchRepository.findBackfillMark();
+        if (claimed != null && claimed > 0) backfill(claimed);
+        flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("sales-rollup-flush").daemon().factory());
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, MILLISECONDS);
+        running = true;
+    }
+
+    // Stops after the web server, then writes what the last orders left in memory
+    @Override
+    public void stop() {
+        running = false;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Inserts the marker with the last stored order id, or 0 when rollups already exist; null when another instance got there first
+    private Long claimBackfill() {
+        try {
+            return transactionTemplate.execute(status -> {
+                long throughOrderId = batchRepository.isEmpty() ? batchRepository.maxOrderId() : 0;
+                batchRepository.insertBackfillMarker(throughOrderId);
+                return throughOrderId;
+            });
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Sales rollup flush failed; counters kept for the next attempt", e);
+        }
+    }
+
+    private void add(SalesDimension dimension, long id, Instant moment, long units, long revenueCents, long orders) {
+        for (SalesGranularity granularity : SalesGranularity.values()) {
+            Key key = new Key(dimension, id, granularity, granularity.bucketOf(moment));
+            pending.computeIfAbsent(key, k -> new Counter()).add(units, revenueCents, orders);
+        }
+    }
+
+    private void restore(Map<Key, Counter> drained) {
+        lock.readLock().lock();
+        try {
+            drained.forEach((key, counter) -> pending.computeIfAbsent(key, k -> new Counter())
+                    .add(counter.units.sum(), counter.revenueCents.sum(), counter.orders.sum()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.resftul.dscommerce.search;
+
+import com.resftul.dscommerce.dto.CategoryFacetDTO;
+import com.resftul.dscommerce.event.ProductChangedEvent;
+import com.resftul.dscommerce.projections.ProductCategoryProjection;
+import com.resftul.dscommerce.repository.ProductRepository;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Product ids per category, mirroring tb_product_category
+@Component
+public class CategoryBitmapIndex {
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, RoaringBitmap> productsByCategory = new TreeMap<>();
+    private final Map<Integer, Set<Long>> categoriesByProduct = new HashMap<>();
+    private volatile boolean ready;
+
+    public CategoryBitmapIndex(
+            ProductRepository productRepository,
+            @Value("${catalog.index.enabled:false}") boolean enabled
+    ) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) return;
+
+        lock.writeLock().lock();
+        try {
+            productsByCategory.clear();
+            categoriesByProduct.clear();
+            try (Stream<ProductCategoryProjection> rows = productRepository.streamAllCategoryLinks()) {
+                rows.forEach(row -> add(Math.toIntExact(row.getProductId()), Set.of(row.getCategoryId())));
+            }
+            productsByCategory.values().forEach(RoaringBitmap::runOptimize);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) return;
+
+        final int id = Math.toIntExact(event.productId());
+        lock.writeLock().lock();
+        try {
+            remove(id);
+            if (!event.deleted()) add(id, event.categoryIds());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public RoaringBitmap anyOf(Collection<Long> categoryIds) {
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> selected = new ArrayList<>(categoryIds.size());
+            for (Long categoryId : categoryIds) {
+                RoaringBitmap products = productsByCategory.get(categoryId);
+                if (products != null) selected.add(products);
+            }
+            return FastAggregation.or(selected.iterator());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<CategoryFacetDTO> facets(RoaringBitmap products) {
+        lock.readLock().lock();
+        try {
+            List<CategoryFacetDTO> facets = new ArrayList<>();
+            productsByCategory.forEach((categoryId, members) -> {
+                long count = RoaringBitmap.andCardinality(members, products);
+                if (count > 0) facets.add(new CategoryFacetDTO(categoryId, count));
+            });
+            return facets;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(int productId, Set<Long> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) return;
+        Set<Long> current = categoriesByProduct.computeIfAbsent(productId, id -> new HashSet<>(2));
+        for (Long categoryId : categoryIds) {
+            current.add(categoryId);
+            productsByCategory.computeIfAbsent(categoryId, c -> new RoaringBitmap()).add(productId);
+        }
+    }
+
+    private void remove(int productId) {
+        Set<Long> previous = categoriesByProduct.remove(productId);
+        if (previous == null) return;
+        for (Long categoryId : previous) {
+            RoaringBitmap members = productsByCategory.get(categoryId);
+            if (members == null) continue;
+            members.remove(productId);
+            if (members.isEmpty()) productsByCategory.remove(categoryId);
+        }
+    }
+}
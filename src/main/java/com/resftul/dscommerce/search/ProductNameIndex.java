@@ -0,0 +1,256 @@
+package com.resftul.dscommerce.search;
+
+import com.resftul.dscommerce.event.ProductChangedEvent;
+import com.resftul.dscommerce.projections.ProductNameProjection;
+import com.resftul.dscommerce.repository.ProductRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import static java.util.Comparator.comparing;
+import static java.util.Locale.ROOT;
+
+@Component
+public class ProductNameIndex {
+
+    private static final int GRAM = 3;
+    // Below this share of the catalog the matches are sorted directly instead of walking the name order
+    private static final int SPARSE_RATIO = 16;
+    private static final Set<String> SORTABLE = Set.of("id", "name");
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, RoaringBitmap> postings = new HashMap<>();
+    private final Map<Integer, String> names = new HashMap<>();
+    private final Map<Integer, String> normalizedNames = new HashMap<>();
+    private final RoaringBitmap allIds = new RoaringBitmap();
+    private final Comparator<Integer> nameOrder = Comparator.<Integer, String>comparing(names::get).thenComparing(Integer::compare);
+    private final NavigableSet<Integer> byName = new TreeSet<>(nameOrder);
+    private volatile boolean ready;
+
+    public ProductNameIndex(
+            ProductRepository productRepository,
+            @Value("${catalog.index.enabled:false}") boolean enabled
+    ) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) return;
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            names.clear();
+            normalizedNames.clear();
+            allIds.clear();
+            byName.clear();
+            try (Stream<ProductNameProjection> rows = productRepository.streamAllNames()) {
+                rows.forEach(row -> add(toIntId(row.getId()), row.getName()));
+            }
+            postings.values().forEach(RoaringBitmap::runOptimize);
+            allIds.runOptimize();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) return;
+
+        final int id = toIntId(event.productId());
+        lock.writeLock().lock();
+        try {
+            remove(id);
+            if (!event.deleted()) add(id, event.name());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean canServe(String term, Sort sort) {
+        return ready && term != null && !term.isBlank() && supports(sort);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean supports(Sort sort) {
+        if (sort.isUnsorted()) return true;
+        List<Sort.Order> orders = sort.toList();
+        return orders.size() == 1 && SORTABLE.contains(orders.getFirst().getProperty());
+    }
+
+    public Page<Long> search(String term, Pageable pageable) {
+        return page(match(term), pageable);
+    }
+
+    public RoaringBitmap match(String term) {
+        final String needle = normalize(term);
+        lock.readLock().lock();
+        try {
+            if (needle.isEmpty()) return allIds.clone();
+            if (needle.length() < GRAM) {
+                // Every 1- and 2-character substring has its own posting, so short terms need no confirmation
+                RoaringBitmap posting = postings.get(key(needle, 0, needle.length()));
+                return (posting == null) ? new RoaringBitmap() : posting.clone();
+            }
+            return lookup(needle);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Only the requested slice is materialized: id order reads it by rank from the bitmap and name order walks the
+    // pre-sorted ids until the page is full. Ids unknown to the index (e.g. an event still in flight) are dropped.
+    public Page<Long> page(RoaringBitmap matches, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap known = RoaringBitmap.and(matches, allIds);
+            int total = known.getCardinality();
+            int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), total) : 0;
+            int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), total) : total;
+
+            Sort.Order order = pageable.getSort().isSorted() ? pageable.getSort().iterator().next() : null;
+            List<Long> ids = (order != null && "name".equals(order.getProperty()))
+                    ? byName(known, total, from, to, order.isAscending())
+                    : byId(known, total, from, to, order == null || order.isAscending());
+            return new PageImpl<>(ids, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<Long> byId(RoaringBitmap known, int total, int from, int to, boolean ascending) {
+        List<Long> ids = new ArrayList<>(to - from);
+        for (int rank = from; rank < to; rank++) {
+            ids.add((long) known.select(ascending ? rank : total - 1 - rank));
+        }
+        return ids;
+    }
+
+    private List<Long> byName(RoaringBitmap known, int total, int from, int to, boolean ascending) {
+        List<Long> ids = new ArrayList<>(to - from);
+        if (from >= to) return ids;
+
+        if ((long) total * SPARSE_RATIO < byName.size()) {
+            List<Integer> sorted = new ArrayList<>(total);
+            known.forEach((int id) -> sorted.add(id));
+            sorted.sort(ascending ? nameOrder : nameOrder.reversed());
+            sorted.subList(from, to).forEach(id -> ids.add((long) id));
+            return ids;
+        }
+
+        int seen = 0;
+        Iterator<Integer> it = ascending ? byName.iterator() : byName.descendingIterator();
+        while (it.hasNext() && seen < to) {
+            int id = it.next();
+            if (!known.contains(id)) continue;
+            if (seen++ >= from) ids.add((long) id);
+        }
+        return ids;
+    }
+
+    private RoaringBitmap lookup(String needle) {
+        List<RoaringBitmap> lists = new ArrayList<>();
+        for (long gram : grams(needle, GRAM)) {
+            RoaringBitmap posting = postings.get(gram);
+            if (posting == null) return new RoaringBitmap();
+            lists.add(posting);
+        }
+        lists.sort(comparing(RoaringBitmap::getCardinality));
+
+        RoaringBitmap candidates = lists.getFirst().clone();
+        for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+            candidates.and(lists.get(i));
+        }
+
+        // Shared trigrams do not guarantee adjacency, so each candidate is confirmed against its name.
+        RoaringBitmap matches = new RoaringBitmap();
+        candidates.forEach((int id) -> {
+            if (normalizedNames.get(id).contains(needle)) matches.add(id);
+        });
+        return matches;
+    }
+
+    private void add(int id, String name) {
+        final String original = (name == null) ? "" : name;
+        final String normalized = normalize(original);
+        names.put(id, original);
+        normalizedNames.put(id, normalized);
+        allIds.add(id);
+        byName.add(id);
+        for (long gram : grams(normalized)) {
+            postings.computeIfAbsent(gram, g -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    private void remove(int id) {
+        // The name order reads names, so the id leaves it before its name does
+        if (names.containsKey(id)) byName.remove(id);
+        allIds.remove(id);
+        names.remove(id);
+        String previous = normalizedNames.remove(id);
+        if (previous == null) return;
+        for (long gram : grams(previous)) {
+            RoaringBitmap posting = postings.get(gram);
+            if (posting == null) continue;
+            posting.remove(id);
+            if (posting.isEmpty()) postings.remove(gram);
+        }
+    }
+
+    private static Set<Long> grams(String normalized) {
+        Set<Long> grams = new HashSet<>();
+        for (int length = 1; length <= GRAM; length++) {
+            grams.addAll(grams(normalized, length));
+        }
+        return grams;
+    }
+
+    private static Set<Long> grams(String normalized, int length) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + length <= normalized.length(); i++) {
+            grams.add(key(normalized, i, length));
+        }
+        return grams;
+    }
+
+    // Up to three UTF-16 chars packed into the low 48 bits, tagged with the length so "AB" and "\0AB" differ
+    private static long key(String normalized, int start, int length) {
+        long key = (long) length << 48;
+        for (int i = 0; i < length; i++) {
+            key |= (long) normalized.charAt(start + i) << (16 * (length - 1 - i));
+        }
+        return key;
+    }
+
+    private static String normalize(String value) {
+        return (value == null) ? "" : value.toUpperCase(ROOT);
+    }
+
+    private static int toIntId(Long id) {
+        return Math.toIntExact(id);
+    }
+}
@@ -0,0 +1,263 @@
+package com.resftul.dscommerce.search;
+
+import com.resftul.dscommerce.dto.product.ProductSuggestionDTO;
+import com.resftul.dscommerce.event.OrderPlacedEvent;
+import com.resftul.dscommerce.event.ProductChangedEvent;
+import com.resftul.dscommerce.projections.ProductNameProjection;
+import com.resftul.dscommerce.repository.OrderItemRepository;
+import com.resftul.dscommerce.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.util.Locale.ROOT;
+
+// Prefix trie over every word start of the normalized names. Each node keeps the
+// MAX_SUGGESTIONS best ids of its subtree, so a lookup is one walk down the prefix.
+@Component
+public class ProductSuggestIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final int[] EMPTY = new int[0];
+
+    private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<Integer, String> names = new HashMap<>();
+    private final Map<Integer, String> normalizedNames = new HashMap<>();
+    private final Map<Integer, Long> popularity = new HashMap<>();
+    private final Comparator<Integer> ranking = Comparator
+            .<Integer>comparingLong(id -> -popularity.getOrDefault(id, 0L))
+            .thenComparing(normalizedNames::get)
+            .thenComparingInt(id -> id);
+    private volatile boolean ready;
+
+    public ProductSuggestIndex(
+            ProductRepository productRepository,
+            OrderItemRepository orderItemRepository,
+            @Value("${catalog.index.enabled:false}") boolean enabled
+    ) {
+        this.productRepository = productRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) return;
+
+        lock.writeLock().lock();
+        try {
+            root.clear();
+            names.clear();
+            normalizedNames.clear();
+            popularity.clear();
+            orderItemRepository.sumQuantityByProduct()
+                    .forEach(row -> popularity.put(toIntId(row.getProductId()), row.getQuantity()));
+            try (Stream<ProductNameProjection> rows = productRepository.streamAllNames()) {
+                rows.forEach(row -> add(toIntId(row.getId()), row.getName()));
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) return;
+
+        final int id = toIntId(event.productId());
+        lock.writeLock().lock();
+        try {
+            remove(id);
+            if (event.deleted()) popularity.remove(id);
+            else add(id, event.name());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        if (!enabled) return;
+
+        lock.writeLock().lock();
+        try {
+            event.quantitiesByProduct().forEach((productId, quantity) -> {
+                final int id = toIntId(productId);
+                popularity.merge(id, (long) quantity, Long::sum);
+                // A higher score only moves the product up, so re-offering it along its paths is enough
+                String normalized = normalizedNames.get(id);
+                if (normalized != null) {
+                    for (String key : keys(normalized)) offerAlong(key, id);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+        final String key = normalize(prefix);
+        if (key.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) return List.of();
+
+            int size = Math.min(limit, node.top.length);
+            List<ProductSuggestionDTO> suggestions = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                suggestions.add(new ProductSuggestionDTO((long) node.top[i], names.get(node.top[i])));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(int id, String name) {
+        final String original = (name == null) ? "" : name;
+        final String normalized = normalize(original);
+        names.put(id, original);
+        normalizedNames.put(id, normalized);
+        for (String key : keys(normalized)) {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            }
+            node.terminals.add(id);
+            offerAlong(key, id);
+        }
+    }
+
+    private void remove(int id) {
+        names.remove(id);
+        String previous = normalizedNames.get(id);
+        if (previous != null) {
+            for (String key : keys(previous)) removeAlong(key, id);
+        }
+        normalizedNames.remove(id);
+    }
+
+    private void offerAlong(String key, int id) {
+        Node node = root;
+        node.offer(id, ranking);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.get(key.charAt(i));
+            node.offer(id, ranking);
+        }
+    }
+
+    // Removal can let a lower-ranked id into a node's top list, so the path is rebuilt bottom-up from the children
+    private void removeAlong(String key, int id) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].children.get(key.charAt(i));
+            if (path[i + 1] == null) return;
+        }
+        path[key.length()].terminals.remove(id);
+
+        for (int depth = key.length(); depth >= 0; depth--) {
+            Node node = path[depth];
+            if (depth > 0 && node.isEmpty()) {
+                path[depth - 1].children.remove(key.charAt(depth - 1));
+                continue;
+            }
+            node.recompute(ranking);
+        }
+    }
+
+    // The full name plus the suffix starting at every following word, so "mouse" also finds "Kit Mouse e Teclado"
+    private static Set<String> keys(String normalized) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (normalized.isEmpty()) return keys;
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            if (i + 1 < normalized.length()) keys.add(normalized.substring(i + 1));
+        }
+        return keys;
+    }
+
+    static String normalize(String value) {
+        if (value == null) return "";
+        String decomposed = Normalizer.normalize(value.strip(), Normalizer.Form.NFD);
+        return SPACES.matcher(MARKS.matcher(decomposed).replaceAll("")).replaceAll(" ").toLowerCase(ROOT);
+    }
+
+    private static int toIntId(Long id) {
+        return Math.toIntExact(id);
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final Set<Integer> terminals = new HashSet<>(2);
+        private int[] top = EMPTY;
+
+        private void offer(int id, Comparator<Integer> ranking) {
+            List<Integer> ranked = new ArrayList<>(top.length + 1);
+            for (int current : top) {
+                if (current != id) ranked.add(current);
+            }
+            int position = 0;
+            while (position < ranked.size() && ranking.compare(ranked.get(position), id) < 0) position++;
+            if (position >= MAX_SUGGESTIONS) return;
+            ranked.add(position, id);
+            top = toArray(ranked);
+        }
+
+        private void recompute(Comparator<Integer> ranking) {
+            Set<Integer> candidates = new HashSet<>(terminals);
+            for (Node child : children.values()) {
+                for (int id : child.top) candidates.add(id);
+            }
+            List<Integer> ranked = new ArrayList<>(candidates);
+            ranked.sort(ranking);
+            top = toArray(ranked);
+        }
+
+        private boolean isEmpty() {
+            return terminals.isEmpty() && children.isEmpty();
+        }
+
+        private void clear() {
+            children.clear();
+            terminals.clear();
+            top = EMPTY;
+        }
+
+        private static int[] toArray(List<Integer> ranked) {
+            int size = Math.min(ranked.size(), MAX_SUGGESTIONS);
+            int[] array = new int[size];
+            for (int i = 0; i < size; i++) array[i] = ranked.get(i);
+            return array;
+        }
+    }
+}
@@ -52,6 +52,7 @@ public class ResourceServerConfig {
         http.authorizeHttpRequests(auth -> auth
                 .requestMatchers(OPTIONS, "/**").permitAll()
                 .requestMatchers(POST, "/users").permitAll()
+                .requestMatchers(POST, "/products/batch").permitAll()
                 .requestMatchers("/error").permitAll()
                 .requestMatchers(GET, "/users/me").authenticated()
                 .requestMatchers(GET, "/users").permitAll()
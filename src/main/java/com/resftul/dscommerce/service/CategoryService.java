@@ -1,6 +1,7 @@
 package com.resftul.dscommerce.service;
 
 import com.resftul.dscommerce.dto.CategoryDTO;
+import com.resftul.dscommerce.snapshot.CategorySnapshot;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -8,4 +9,8 @@ import java.util.List;
 public interface CategoryService {
     @Transactional(readOnly = true)
     List<CategoryDTO> findAll();
+
+    CategorySnapshot snapshot();
+
+    void refresh();
 }
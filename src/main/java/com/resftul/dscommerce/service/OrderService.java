@@ -1,10 +1,14 @@
 package com.resftul.dscommerce.service;
 
 import com.resftul.dscommerce.dto.order.OrderDTO;
+import com.resftul.dscommerce.dto.order.OrderFilter;
+import com.resftul.dscommerce.dto.order.OrderRevenueDTO;
+import com.resftul.dscommerce.pagination.CursorPage;
 import jakarta.validation.Valid;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
 
 public interface OrderService {
     @Transactional(readOnly = true)
@@ -14,5 +18,17 @@ public interface OrderService {
     OrderDTO insert(@Valid OrderDTO dto);
 
     @Transactional(readOnly = true)
-    List<OrderDTO> listAll();
+    CompletableFuture<OrderDTO> submit(@Valid OrderDTO dto);
+
+    @Transactional(readOnly = true)
+    CursorPage<OrderDTO> findAll(OrderFilter filter, String after, int size);
+
+    @Transactional(readOnly = true)
+    CursorPage<OrderDTO> findMine(String after, int size);
+
+    @Transactional(readOnly = true)
+    OrderRevenueDTO revenue(OrderFilter filter);
+
+    @Transactional(readOnly = true)
+    void exportNdjson(OrderFilter filter, OutputStream out);
 }
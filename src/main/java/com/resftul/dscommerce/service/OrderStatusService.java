@@ -0,0 +1,17 @@
+package com.resftul.dscommerce.service;
+
+import com.resftul.dscommerce.dto.order.OrderBulkStatusDTO;
+import com.resftul.dscommerce.dto.order.OrderBulkStatusReport;
+import com.resftul.dscommerce.dto.order.OrderDTO;
+import com.resftul.dscommerce.dto.order.OrderStatusDTO;
+import jakarta.validation.Valid;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface OrderStatusService {
+
+    @Transactional
+    OrderDTO transition(Long id, @Valid OrderStatusDTO dto);
+
+    // Commits chunk by chunk; not wrapped in a single transaction
+    OrderBulkStatusReport transitionAll(@Valid OrderBulkStatusDTO dto);
+}
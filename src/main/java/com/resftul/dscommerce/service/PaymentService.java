@@ -0,0 +1,11 @@
+package com.resftul.dscommerce.service;
+
+import com.resftul.dscommerce.dto.order.OrderDTO;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface PaymentService {
+
+    // Completes once the gateway approved the charge and the payment was committed
+    CompletableFuture<OrderDTO> pay(Long orderId);
+}
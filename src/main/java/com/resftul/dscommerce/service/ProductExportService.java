@@ -0,0 +1,9 @@
+package com.resftul.dscommerce.service;
+
+import java.io.OutputStream;
+import java.time.Instant;
+
+public interface ProductExportService {
+
+    void exportNdjson(Instant since, OutputStream out);
+}
@@ -0,0 +1,11 @@
+package com.resftul.dscommerce.service;
+
+import com.resftul.dscommerce.dto.product.ProductImportReport;
+import com.resftul.dscommerce.importer.ImportFormat;
+
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    ProductImportReport importProducts(InputStream in, ImportFormat format);
+}
@@ -2,11 +2,17 @@ package com.resftul.dscommerce.service;
 
 import com.resftul.dscommerce.dto.product.ProductDTO;
 import com.resftul.dscommerce.dto.product.ProductMinDTO;
+import com.resftul.dscommerce.dto.product.ProductSuggestionDTO;
+import com.resftul.dscommerce.pagination.CursorPage;
+import com.resftul.dscommerce.pagination.FacetedPage;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Set;
+
 public interface ProductService {
 
     @Transactional
@@ -20,5 +26,13 @@ public interface ProductService {
 
     ProductDTO findById(Long id);
 
+    List<ProductDTO> findAllById(List<Long> ids);
+
     Page<ProductMinDTO> findAll(String name, Pageable pageable);
+
+    CursorPage<ProductMinDTO> findAll(String name, String after, int size);
+
+    FacetedPage<ProductMinDTO> findAll(String name, Set<Long> categoryIds, Pageable pageable);
+
+    List<ProductSuggestionDTO> suggest(String prefix, int limit);
 }
\ No newline at end of file
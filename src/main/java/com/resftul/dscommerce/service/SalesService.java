@@ -0,0 +1,23 @@
+package com.resftul.dscommerce.service;
+
+import com.resftul.dscommerce.dto.sales.SalesBucketDTO;
+import com.resftul.dscommerce.entity.SalesDimension;
+import com.resftul.dscommerce.entity.SalesGranularity;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+// Reads the flushed rollups only, so figures lag placed orders by up to sales.rollup.flush-interval
+public interface SalesService {
+
+    int MAX_TOP = 100;
+
+    // Buckets of one product or category that have sales in [from, to); null bounds default to the last maxBuckets
+    @Transactional(readOnly = true)
+    List<SalesBucketDTO> series(SalesDimension dimension, Long id, SalesGranularity granularity, Instant from, Instant to);
+
+    // Best sellers of the bucket containing "at", by units
+    @Transactional(readOnly = true)
+    List<SalesBucketDTO> top(SalesDimension dimension, SalesGranularity granularity, Instant at, int limit);
+}
@@ -0,0 +1,21 @@
+package com.resftul.dscommerce.service;
+
+import com.resftul.dscommerce.dto.product.ProductStockDTO;
+import jakarta.validation.Valid;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
+
+import static org.springframework.transaction.annotation.Propagation.MANDATORY;
+
+public interface StockService {
+    @Transactional(propagation = MANDATORY)
+    void reserve(Map<Long, Integer> quantitiesByProduct);
+
+    @Transactional(propagation = MANDATORY)
+    void restock(Collection<Long> canceledOrderIds);
+
+    @Transactional
+    ProductStockDTO updateStock(Long productId, @Valid ProductStockDTO dto);
+}
@@ -22,5 +22,7 @@ public interface UserService {
 
     User authenticated();
 
+    String authenticatedUsername();
+
     UserDTO getMe();
 }
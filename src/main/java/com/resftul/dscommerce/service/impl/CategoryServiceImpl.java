@@ -1,26 +1,58 @@
 package com.resftul.dscommerce.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.resftul.dscommerce.dto.CategoryDTO;
 import com.resftul.dscommerce.entity.Category;
 import com.resftul.dscommerce.repository.CategoryRepository;
 import com.resftul.dscommerce.service.CategoryService;
+import com.resftul.dscommerce.snapshot.CategorySnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service("categoryService")
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository) {
+    private final AtomicReference<CategorySnapshot> snapshot = new AtomicReference<>();
+
+    public CategoryServiceImpl(
+            CategoryRepository categoryRepository,
+            ObjectMapper objectMapper,
+            @Value("${catalog.index.enabled:false}") boolean enabled
+    ) {
         this.categoryRepository = categoryRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
     }
 
     @Override
     public List<CategoryDTO> findAll() {
-        List<Category> result = categoryRepository.findAll();
+        List<Category> result = categoryRepository.findAll(Sort.by("id"));
         return result.stream()
                 .map(CategoryDTO::new)
                 .toList();
     }
+
+    // Without the in-memory catalog (h2 profile, where seed SQL bypasses the application) each call renders from the database
+    @Override
+    public CategorySnapshot snapshot() {
+        CategorySnapshot current = snapshot.get();
+        return (current != null) ? current : CategorySnapshot.of(findAll(), objectMapper);
+    }
+
+    // Categories have no write path in the application; anything that changes tb_category calls this to swap in a new snapshot
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        if (!enabled) return;
+        snapshot.set(CategorySnapshot.of(findAll(), objectMapper));
+    }
 }
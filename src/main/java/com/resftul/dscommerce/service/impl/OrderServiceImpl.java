@@ -1,51 +1,93 @@
 package com.resftul.dscommerce.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.resftul.dscommerce.dto.order.OrderDTO;
+import com.resftul.dscommerce.dto.order.OrderFilter;
 import com.resftul.dscommerce.dto.order.OrderItemDTO;
+import com.resftul.dscommerce.dto.order.OrderRevenueDTO;
 import com.resftul.dscommerce.entity.*;
+import com.resftul.dscommerce.event.OrderPlacedEvent;
 import com.resftul.dscommerce.exception.ResourceNotFoundException;
-import com.resftul.dscommerce.repository.OrderItemRepository;
+import com.resftul.dscommerce.ingest.OrderGroupCommitter;
+import com.resftul.dscommerce.pagination.Cursor;
+import com.resftul.dscommerce.pagination.CursorPage;
+import com.resftul.dscommerce.projections.OrderRevenueProjection;
 import com.resftul.dscommerce.repository.OrderRepository;
 import com.resftul.dscommerce.repository.ProductRepository;
 import com.resftul.dscommerce.service.AuthService;
 import com.resftul.dscommerce.service.OrderService;
+import com.resftul.dscommerce.service.StockService;
 import com.resftul.dscommerce.service.UserService;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
+import static com.fasterxml.jackson.core.JsonGenerator.Feature.AUTO_CLOSE_TARGET;
+import static com.fasterxml.jackson.core.JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM;
 import static com.resftul.dscommerce.entity.OrderStatus.WAITING_PAYMENT;
 import static java.time.Instant.now;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toMap;
 
 @Service("orderService")
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 500;
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
-    private final OrderItemRepository orderItemRepository;
+    private final StockService stockService;
     private final UserService userService;
     private final AuthService authService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderGroupCommitter orderGroupCommitter;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
 
     public OrderServiceImpl(
             OrderRepository orderRepository,
             ProductRepository productRepository,
-            OrderItemRepository orderItemRepository,
+            StockService stockService,
             UserService userService,
-            AuthService authService
+            AuthService authService,
+            ApplicationEventPublisher eventPublisher,
+            OrderGroupCommitter orderGroupCommitter,
+            ObjectMapper objectMapper,
+            EntityManager entityManager
     ) {
         this.orderRepository = orderRepository;
         this.productRepository = productRepository;
-        this.orderItemRepository = orderItemRepository;
+        this.stockService = stockService;
         this.userService = userService;
         this.authService = authService;
+        this.eventPublisher = eventPublisher;
+        this.orderGroupCommitter = orderGroupCommitter;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
     }
 
     @Override
     @Transactional(readOnly = true)
     public OrderDTO findById(Long id) {
-        Order order = orderRepository.findById(id).orElseThrow(
+        Order order = orderRepository.findWithDetailsById(id).orElseThrow(
                 () -> new ResourceNotFoundException("Recurso não encontrado"));
         authService.validateSelfOrAdmin(order.getClient().getId());
         return new OrderDTO(order);
@@ -54,6 +96,25 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional
     public OrderDTO insert(OrderDTO orderDTO) {
+        Order order = newOrder(orderDTO);
+        stockService.reserve(order.trackedQuantitiesByProduct());
+
+        // Items cascade on persist, so they are flushed with the order as one JDBC batch
+        orderRepository.save(order);
+        eventPublisher.publishEvent(OrderPlacedEvent.of(order));
+
+        return new OrderDTO(order);
+    }
+
+    // Validation reads run here; the write happens later, on the committer's thread, with other queued orders
+    @Override
+    @Transactional(readOnly = true)
+    public CompletableFuture<OrderDTO> submit(OrderDTO orderDTO) {
+        Order order = newOrder(orderDTO);
+        return orderGroupCommitter.submit(order).thenApply(OrderDTO::new);
+    }
+
+    private Order newOrder(OrderDTO orderDTO) {
         User user = userService.authenticated();
 
         Order order = new Order(
@@ -62,8 +123,9 @@ public class OrderServiceImpl implements OrderService {
                 WAITING_PAYMENT
         );
 
+        Map<Long, Product> products = productsById(orderDTO.getItems());
         for (OrderItemDTO itemDto : orderDTO.getItems()) {
-            Product product = productRepository.getReferenceById(itemDto.getProductId());
+            Product product = products.get(itemDto.getProductId());
             OrderItem item = new OrderItem(
                     order,
                     product,
@@ -72,30 +134,123 @@ public class OrderServiceImpl implements OrderService {
             );
             order.addItem(item);
         }
+        return order;
+    }
 
-        orderRepository.save(order);
-        orderItemRepository.saveAll(order.getItems());
+    // One IN query for every product of the order instead of initializing a proxy per item
+    private Map<Long, Product> productsById(List<OrderItemDTO> items) {
+        Set<Long> ids = items.stream()
+                .map(OrderItemDTO::getProductId)
+                .collect(toCollection(LinkedHashSet::new));
+        // Categories come along for OrderPlacedEvent; the group committer builds it in its own session, where these products are detached
+        Map<Long, Product> products = productRepository.findAllWithCategoriesByIdIn(ids)
+                .stream()
+                .collect(toMap(Product::getId, identity()));
+        if (products.size() < ids.size()) {
+            List<Long> missing = ids.stream().filter(id -> !products.containsKey(id)).toList();
+            throw new ResourceNotFoundException("Produtos não encontrados: " + missing);
+        }
+        return products;
+    }
 
-        return new OrderDTO(order);
+    // Two queries per page whatever its size: the keyset over ids, then one fetch-joined load of those ids
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDTO> findAll(OrderFilter filter, String after, int size) {
+        final int pageSize = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        final Cursor cursor = (after == null || after.isBlank()) ? null : Cursor.decode(after);
+
+        List<Long> ids = findIds(filter, cursor, pageSize + 1);
+        final boolean hasNext = ids.size() > pageSize;
+        if (hasNext) ids = ids.subList(0, pageSize);
+
+        List<Order> orders = loadInOrder(ids);
+        String nextCursor = hasNext ? cursorOf(orders.getLast()).encode() : null;
+        return new CursorPage<>(orders.stream().map(OrderDTO::new).toList(), pageSize, nextCursor);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<OrderDTO> listAll() {
-        User user = userService.authenticated();
-        boolean isAdmin = user
-                .getRoles()
-                .stream()
-                .anyMatch(r -> "ROLE_ADMIN".equals(r.getAuthority()));
+    public CursorPage<OrderDTO> findMine(String after, int size) {
+        final int pageSize = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        final Cursor cursor = (after == null || after.isBlank()) ? null : Cursor.decode(after);
+        final Long clientId = userService.authenticated().getId();
+
+        List<Long> ids = (cursor == null)
+                ? orderRepository.findIdsByClientFirst(clientId, Limit.of(pageSize + 1))
+                : orderRepository.findIdsByClientBefore(
+                        clientId, cursorMoment(cursor), cursor.id(), Limit.of(pageSize + 1));
+        final boolean hasNext = ids.size() > pageSize;
+        if (hasNext) ids = ids.subList(0, pageSize);
+
+        List<Order> orders = loadInOrder(ids);
+        String nextCursor = hasNext ? cursorOf(orders.getLast()).encode() : null;
+        return new CursorPage<>(orders.stream().map(OrderDTO::new).toList(), pageSize, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderRevenueDTO revenue(OrderFilter filter) {
+        OrderRevenueProjection revenue = orderRepository.sumRevenue(
+                filter.status(), filter.clientId(), filter.from(), filter.to());
+        return new OrderRevenueDTO(revenue.getOrders(), BigDecimal.valueOf(revenue.getTotalCents(), 2));
+    }
+
+    // Same keyset walk as findAll; clearing per chunk keeps the persistence context from holding the whole export
+    @Override
+    @Transactional(readOnly = true)
+    public void exportNdjson(OrderFilter filter, OutputStream out) {
+        final ObjectWriter writer = objectMapper.writerFor(OrderDTO.class);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(AUTO_CLOSE_TARGET);
+            generator.disable(FLUSH_PASSED_TO_STREAM);
+            generator.setRootValueSeparator(null);
 
-        if (!isAdmin) {
-            return new ArrayList<>(user.getOrders())
-                    .stream()
-                    .map(OrderDTO::new)
-                    .toList();
+            Cursor cursor = null;
+            List<Long> ids;
+            do {
+                ids = findIds(filter, cursor, EXPORT_CHUNK_SIZE);
+                if (ids.isEmpty()) break;
+                List<Order> orders = loadInOrder(ids);
+                for (Order order : orders) {
+                    writer.writeValue(generator, new OrderDTO(order));
+                    generator.writeRaw('\n');
+                }
+                cursor = cursorOf(orders.getLast());
+                entityManager.clear();
+            } while (ids.size() == EXPORT_CHUNK_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
+
+    private List<Long> findIds(OrderFilter filter, Cursor cursor, int limit) {
+        if (cursor == null) {
+            return orderRepository.findIdsFirst(
+                    filter.status(), filter.clientId(), filter.from(), filter.to(), Limit.of(limit));
+        }
+        return orderRepository.findIdsAfter(
+                filter.status(), filter.clientId(), filter.from(), filter.to(),
+                cursorMoment(cursor), cursor.id(), Limit.of(limit));
+    }
+
+    private List<Order> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, Order> byId = orderRepository.findAllWithDetailsByIdIn(ids)
+                .stream()
+                .collect(toMap(Order::getId, identity()));
+        return ids.stream().map(byId::get).toList();
+    }
 
-        List<Order> orders = orderRepository.findAll();
-        return orders.stream().map(OrderDTO::new).toList();
+    private static Cursor cursorOf(Order order) {
+        return new Cursor(order.getMoment().toString(), order.getId());
+    }
+
+    private static Instant cursorMoment(Cursor cursor) {
+        try {
+            return Instant.parse(cursor.key());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
     }
 }
@@ -0,0 +1,96 @@
+package com.resftul.dscommerce.service.impl;
+
+import com.resftul.dscommerce.dto.order.OrderBulkStatusDTO;
+import com.resftul.dscommerce.dto.order.OrderBulkStatusReport;
+import com.resftul.dscommerce.dto.order.OrderDTO;
+import com.resftul.dscommerce.dto.order.OrderStatusDTO;
+import com.resftul.dscommerce.entity.Order;
+import com.resftul.dscommerce.entity.OrderStatus;
+import com.resftul.dscommerce.exception.ResourceNotFoundException;
+import com.resftul.dscommerce.repository.OrderRepository;
+import com.resftul.dscommerce.service.OrderStatusService;
+import com.resftul.dscommerce.service.StockService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.resftul.dscommerce.entity.OrderStatus.CANCELED;
+
+@Service
+public class OrderStatusServiceImpl implements OrderStatusService {
+
+    private final OrderRepository orderRepository;
+    private final StockService stockService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public OrderStatusServiceImpl(
+            OrderRepository orderRepository,
+            StockService stockService,
+            TransactionTemplate transactionTemplate,
+            @Value("${orders.status.bulk-chunk-size:1000}") int chunkSize
+    ) {
+        this.orderRepository = orderRepository;
+        this.stockService = stockService;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    private record ChunkResult(int updated, List<Long> rejected) {
+    }
+
+    @Override
+    @Transactional
+    public OrderDTO transition(Long id, OrderStatusDTO dto) {
+        Order order = orderRepository.findWithDetailsById(id).orElseThrow(
+                () -> new ResourceNotFoundException("Recurso não encontrado"));
+        if (dto.getVersion() != null && dto.getVersion() != order.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Order.class, id);
+        }
+
+        order.transitionTo(dto.getStatus());
+        // Flush now so the version check runs here and the response carries the new version
+        orderRepository.saveAndFlush(order);
+        if (order.getOrderStatus() == CANCELED) stockService.restock(List.of(order.getId()));
+        return new OrderDTO(order);
+    }
+
+    // Set-based: each chunk is one locking SELECT of ids plus one UPDATE in its own transaction, no entities loaded
+    @Override
+    public OrderBulkStatusReport transitionAll(OrderBulkStatusDTO dto) {
+        final OrderStatus target = dto.getStatus();
+        final Set<OrderStatus> sources = OrderStatus.sourcesOf(target);
+        final List<Long> ids = List.copyOf(new LinkedHashSet<>(dto.getOrderIds()));
+        final OrderBulkStatusReport report = new OrderBulkStatusReport(target, ids.size());
+
+        if (sources.isEmpty()) {
+            report.rejected(ids);
+            return report;
+        }
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            ChunkResult result = transactionTemplate.execute(status -> transitionChunk(chunk, target, sources));
+            report.updated(result.updated());
+            report.rejected(result.rejected());
+        }
+        return report;
+    }
+
+    private ChunkResult transitionChunk(List<Long> chunk, OrderStatus target, Set<OrderStatus> sources) {
+        List<Long> eligible = orderRepository.lockIdsInStatus(chunk, sources);
+        int updated = eligible.isEmpty() ? 0 : orderRepository.updateStatus(eligible, target, sources);
+        // A cancellation gives the reserved units back in the same transaction, joined from the locked orders' items
+        if (target == CANCELED && !eligible.isEmpty()) stockService.restock(eligible);
+        if (eligible.size() == chunk.size()) return new ChunkResult(updated, List.of());
+
+        Set<Long> accepted = new HashSet<>(eligible);
+        return new ChunkResult(updated, chunk.stream().filter(id -> !accepted.contains(id)).toList());
+    }
+}
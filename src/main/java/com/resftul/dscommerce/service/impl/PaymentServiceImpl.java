@@ -0,0 +1,109 @@
+package com.resftul.dscommerce.service.impl;
+
+import com.resftul.dscommerce.dto.order.OrderDTO;
+import com.resftul.dscommerce.entity.Order;
+import com.resftul.dscommerce.entity.Payment;
+import com.resftul.dscommerce.exception.InvalidStatusTransitionException;
+import com.resftul.dscommerce.exception.PaymentInProgressException;
+import com.resftul.dscommerce.exception.ResourceNotFoundException;
+import com.resftul.dscommerce.payment.PaymentAuthorization;
+import com.resftul.dscommerce.payment.PaymentGateway;
+import com.resftul.dscommerce.repository.OrderRepository;
+import com.resftul.dscommerce.service.AuthService;
+import com.resftul.dscommerce.service.PaymentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import static com.resftul.dscommerce.config.PaymentExecutorConfig.PAYMENT_EXECUTOR;
+import static com.resftul.dscommerce.entity.OrderStatus.PAID;
+
+// Two short transactions around the gateway call, all on a virtual thread: no connection is held while the acquirer answers
+@Service
+public class PaymentServiceImpl implements PaymentService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentServiceImpl.class);
+
+    private final OrderRepository orderRepository;
+    private final AuthService authService;
+    private final PaymentGateway paymentGateway;
+    private final ExecutorService paymentExecutor;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    // Orders with a charge under way on this instance; a second request for the same order is refused instead of charging twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public PaymentServiceImpl(
+            OrderRepository orderRepository,
+            AuthService authService,
+            PaymentGateway paymentGateway,
+            @Qualifier(PAYMENT_EXECUTOR) ExecutorService paymentExecutor,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.orderRepository = orderRepository;
+        this.authService = authService;
+        this.paymentGateway = paymentGateway;
+        this.paymentExecutor = paymentExecutor;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public CompletableFuture<OrderDTO> pay(Long orderId) {
+        return CompletableFuture.supplyAsync(() -> process(orderId), paymentExecutor);
+    }
+
+    private OrderDTO process(Long orderId) {
+        if (!inFlight.add(orderId)) throw new PaymentInProgressException(orderId);
+        try {
+            BigDecimal amount = readTransaction.execute(status -> amountDue(orderId));
+            PaymentAuthorization authorization = paymentGateway.authorize(orderId, amount);
+            try {
+                return writeTransaction.execute(status -> record(orderId, authorization));
+            } catch (RuntimeException e) {
+                log.warn("Payment for order {} approved but not recorded; cancelling {}", orderId, authorization.transactionId());
+                paymentGateway.cancel(authorization);
+                throw e;
+            }
+        } finally {
+            inFlight.remove(orderId);
+        }
+    }
+
+    private BigDecimal amountDue(Long orderId) {
+        Order order = orderRepository.findById(orderId).orElseThrow(
+                () -> new ResourceNotFoundException("Recurso não encontrado"));
+        authService.validateSelfOrAdmin(order.getClient().getId());
+        if (!order.getOrderStatus().canTransitionTo(PAID)) {
+            throw new InvalidStatusTransitionException(order.getOrderStatus(), PAID);
+        }
+        return BigDecimal.valueOf(order.getTotalCents(), 2);
+    }
+
+    private OrderDTO record(Long orderId, PaymentAuthorization authorization) {
+        Order order = orderRepository.findWithDetailsById(orderId).orElseThrow(
+                () -> new ResourceNotFoundException("Recurso não encontrado"));
+        // Re-checked here: the order may have been paid or canceled while the gateway was answering
+        order.transitionTo(PAID);
+
+        Payment payment = new Payment();
+        payment.setOrder(order);
+        payment.setMoment(authorization.authorizedAt());
+        payment.setTransactionId(authorization.transactionId());
+        order.setPayment(payment);
+
+        orderRepository.flush();
+        return new OrderDTO(order);
+    }
+}
@@ -0,0 +1,59 @@
+package com.resftul.dscommerce.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.resftul.dscommerce.dto.product.ProductExportDTO;
+import com.resftul.dscommerce.repository.ProductBatchRepository;
+import com.resftul.dscommerce.service.ProductExportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
+import static com.fasterxml.jackson.core.JsonGenerator.Feature.AUTO_CLOSE_TARGET;
+import static com.fasterxml.jackson.core.JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM;
+
+@Service("productExportService")
+public class ProductExportServiceImpl implements ProductExportService {
+
+    private final ProductBatchRepository productBatchRepository;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ProductExportServiceImpl(
+            ProductBatchRepository productBatchRepository,
+            ObjectMapper objectMapper,
+            @Value("${catalog.export.fetch-size:1000}") int fetchSize
+    ) {
+        this.productBatchRepository = productBatchRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    // Read-only transaction so PostgreSQL/MySQL honour the fetch size with a server-side cursor
+    @Override
+    @Transactional(readOnly = true)
+    public void exportNdjson(Instant since, OutputStream out) {
+        final ObjectWriter writer = objectMapper.writerFor(ProductExportDTO.class);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(AUTO_CLOSE_TARGET);
+            generator.disable(FLUSH_PASSED_TO_STREAM);
+            generator.setRootValueSeparator(null);
+            productBatchRepository.forEachForExport(since, fetchSize, product -> {
+                try {
+                    writer.writeValue(generator, product);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
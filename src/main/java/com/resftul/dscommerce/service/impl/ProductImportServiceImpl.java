@@ -0,0 +1,208 @@
+package com.resftul.dscommerce.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resftul.dscommerce.dto.CategoryDTO;
+import com.resftul.dscommerce.dto.product.ProductDTO;
+import com.resftul.dscommerce.dto.product.ProductImportReport;
+import com.resftul.dscommerce.entity.Category;
+import com.resftul.dscommerce.event.ProductChangedEvent;
+import com.resftul.dscommerce.importer.ImportFormat;
+import com.resftul.dscommerce.importer.ProductImportRow;
+import com.resftul.dscommerce.importer.ProductRowReader;
+import com.resftul.dscommerce.importer.RowFormatException;
+import com.resftul.dscommerce.repository.CategoryRepository;
+import com.resftul.dscommerce.repository.ProductBatchRepository;
+import com.resftul.dscommerce.service.ProductImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+import static java.util.Comparator.comparing;
+import static java.util.Locale.ROOT;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toSet;
+
+@Service("productImportService")
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private final ProductBatchRepository productBatchRepository;
+    private final CategoryRepository categoryRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int commitInterval;
+
+    public ProductImportServiceImpl(
+            ProductBatchRepository productBatchRepository,
+            CategoryRepository categoryRepository,
+            Validator validator,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            @Value("${catalog.import.batch-size:1000}") int batchSize,
+            @Value("${catalog.import.commit-interval:5000}") int commitInterval
+    ) {
+        this.productBatchRepository = productBatchRepository;
+        this.categoryRepository = categoryRepository;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+        this.commitInterval = Math.max(1, commitInterval);
+    }
+
+    private record Candidate(long line, ProductDTO product) {
+    }
+
+    @Override
+    public ProductImportReport importProducts(InputStream in, ImportFormat format) {
+        final CategoryLookup categories = new CategoryLookup(categoryRepository.findAll());
+        final ProductImportReport report = new ProductImportReport();
+        final List<Candidate> chunk = new ArrayList<>(Math.min(commitInterval, 10_000));
+
+        try (ProductRowReader reader = format.open(in, objectMapper)) {
+            while (true) {
+                ProductImportRow row;
+                try {
+                    row = reader.next();
+                } catch (RowFormatException e) {
+                    report.received();
+                    report.failed(reader.line(), null, e.getMessage());
+                    continue;
+                }
+                if (row == null) break;
+
+                report.received();
+                Candidate candidate = validate(reader.line(), row, categories, report);
+                if (candidate == null) continue;
+
+                chunk.add(candidate);
+                if (chunk.size() >= commitInterval) {
+                    flush(chunk, report);
+                    chunk.clear();
+                }
+            }
+            flush(chunk, report);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return report;
+    }
+
+    private Candidate validate(long line, ProductImportRow row, CategoryLookup categories, ProductImportReport report) {
+        List<CategoryDTO> resolved = new ArrayList<>();
+        if (row.categories() != null) {
+            for (String token : row.categories()) {
+                Category category = categories.resolve(token);
+                if (category == null) {
+                    report.failed(line, row.name(), "Categoria desconhecida: " + token);
+                    return null;
+                }
+                resolved.add(new CategoryDTO(category));
+            }
+        }
+
+        ProductDTO product = new ProductDTO(null, row.name(), row.description(), row.price(), row.imgUrl(), resolved);
+        Set<ConstraintViolation<ProductDTO>> violations = validator.validate(product);
+        if (!violations.isEmpty()) {
+            report.failed(line, row.name(), violations.stream()
+                    .sorted(comparing(v -> v.getPropertyPath().toString()))
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(joining("; ")));
+            return null;
+        }
+        return new Candidate(line, product);
+    }
+
+    private void flush(List<Candidate> chunk, ProductImportReport report) {
+        if (chunk.isEmpty()) return;
+
+        try {
+            List<Candidate> duplicates = transactionTemplate.execute(status -> insertNew(chunk));
+            report.imported(chunk.size() - duplicates.size());
+            for (Candidate c : duplicates) {
+                report.failed(c.line(), c.product().getName(), "Já existe um produto com nome " + c.product().getName());
+            }
+        } catch (DataAccessException e) {
+            if (chunk.size() == 1) {
+                Candidate c = chunk.getFirst();
+                report.failed(c.line(), c.product().getName(),
+                        "Linha rejeitada pelo banco: " + e.getMostSpecificCause().getMessage());
+                return;
+            }
+            // One bad row must not fail the rest of the chunk: retry each on its own
+            for (Candidate c : chunk) {
+                flush(List.of(c), report);
+            }
+        }
+    }
+
+    // Inserts the candidates whose name is still free and returns the others.
+    // Exact names only: a collision this misses (a case variant under MySQL's collation) is refused by
+    // uk_tb_product_name and isolated by the row-by-row retry in flush.
+    private List<Candidate> insertNew(List<Candidate> chunk) {
+        Set<String> seen = new HashSet<>(productBatchRepository.findExistingNames(
+                chunk.stream().map(c -> c.product().getName()).collect(toSet())));
+        List<Candidate> accepted = new ArrayList<>(chunk.size());
+        List<Candidate> duplicates = new ArrayList<>();
+        for (Candidate c : chunk) {
+            if (seen.add(c.product().getName())) accepted.add(c);
+            else duplicates.add(c);
+        }
+        if (!accepted.isEmpty()) insert(accepted);
+        return duplicates;
+    }
+
+    private void insert(List<Candidate> accepted) {
+        List<ProductDTO> products = accepted.stream().map(Candidate::product).toList();
+        List<Long> ids = productBatchRepository.insertAll(products, batchSize);
+
+        List<Map.Entry<Long, Long>> links = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            ProductDTO product = products.get(i);
+            Long id = ids.get(i);
+            Set<Long> categoryIds = product.getCategories().stream()
+                    .map(CategoryDTO::getId)
+                    .collect(toSet());
+            categoryIds.forEach(categoryId -> links.add(Map.entry(id, categoryId)));
+            eventPublisher.publishEvent(ProductChangedEvent.saved(id, product.getName(), categoryIds));
+        }
+        productBatchRepository.insertCategoryLinks(links, batchSize);
+    }
+
+    private static final class CategoryLookup {
+        private final Map<Long, Category> byId = new HashMap<>();
+        private final Map<String, Category> byName = new HashMap<>();
+
+        CategoryLookup(List<Category> categories) {
+            for (Category category : categories) {
+                byId.put(category.getId(), category);
+                byName.put(category.getName().trim().toLowerCase(ROOT), category);
+            }
+        }
+
+        Category resolve(String token) {
+            if (token == null) return null;
+            String key = token.trim();
+            Category byNameMatch = byName.get(key.toLowerCase(ROOT));
+            if (byNameMatch != null) return byNameMatch;
+            try {
+                return byId.get(Long.valueOf(key));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -2,68 +2,217 @@ package com.resftul.dscommerce.service.impl;
 
 import com.resftul.dscommerce.dto.product.ProductDTO;
 import com.resftul.dscommerce.dto.product.ProductMinDTO;
+import com.resftul.dscommerce.dto.product.ProductSuggestionDTO;
 import com.resftul.dscommerce.entity.Product;
+import com.resftul.dscommerce.event.ProductChangedEvent;
 import com.resftul.dscommerce.exception.ProductAlreadyExistsException;
 import com.resftul.dscommerce.exception.ResourceNotFoundException;
 import com.resftul.dscommerce.mapper.ProductMapper;
+import com.resftul.dscommerce.pagination.Cursor;
+import com.resftul.dscommerce.pagination.CursorPage;
+import com.resftul.dscommerce.pagination.FacetedPage;
 import com.resftul.dscommerce.repository.ProductRepository;
+import com.resftul.dscommerce.search.CategoryBitmapIndex;
+import com.resftul.dscommerce.search.ProductNameIndex;
+import com.resftul.dscommerce.search.ProductSuggestIndex;
 import com.resftul.dscommerce.service.ProductService;
+import org.hibernate.exception.ConstraintViolationException;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.*;
+
+import static com.resftul.dscommerce.config.CacheConfig.PRODUCTS_CACHE;
+import static com.resftul.dscommerce.search.ProductSuggestIndex.MAX_SUGGESTIONS;
 import static java.lang.String.format;
+import static java.util.Locale.ROOT;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 import static org.springframework.transaction.annotation.Propagation.SUPPORTS;
 
 @Service("productService")
 public class ProductServiceImpl implements ProductService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 2000;
+    private static final int MAX_MULTI_GET_IDS = 500;
+    private static final int IN_CLAUSE_CHUNK = 250;
+
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ProductNameIndex productNameIndex;
+    private final CategoryBitmapIndex categoryBitmapIndex;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ProductServiceImpl(ProductRepository productRepository, ProductMapper productMapper) {
+    public ProductServiceImpl(
+            ProductRepository productRepository,
+            ProductMapper productMapper,
+            ProductNameIndex productNameIndex,
+            CategoryBitmapIndex categoryBitmapIndex,
+            ProductSuggestIndex productSuggestIndex,
+            CacheManager cacheManager,
+            ApplicationEventPublisher eventPublisher
+    ) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
+        this.productNameIndex = productNameIndex;
+        this.categoryBitmapIndex = categoryBitmapIndex;
+        this.productSuggestIndex = productSuggestIndex;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = PRODUCTS_CACHE, key = "#result.id")
     public ProductDTO insert(ProductDTO productDTO) {
-        if (productRepository.existsByName(productDTO.getName()))
-            throw new ProductAlreadyExistsException("Já existe um produto com nome " + productDTO.getName());
-
-        try {
-            var product = new Product();
-            productMapper.updateEntityFromDto(productDTO, product);
-            return new ProductDTO(productRepository.save(product));
-        } catch (DataIntegrityViolationException e) {
-            throw new ProductAlreadyExistsException("Já existe produto com este nome.");
-        }
+        var product = new Product();
+        productMapper.updateEntityFromDto(productDTO, product);
+        Product saved = saveWithUniqueName(product);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(saved));
+        return new ProductDTO(saved);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = PRODUCTS_CACHE, key = "#id")
     public ProductDTO findById(Long id) {
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findWithCategoriesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado"));
         return new ProductDTO(product);
     }
 
+    // Cache hits are served as-is and only the misses are loaded, IN_CLAUSE_CHUNK ids per query; unknown ids are skipped
+    @Override
+    @Transactional(propagation = SUPPORTS, readOnly = true)
+    public List<ProductDTO> findAllById(List<Long> ids) {
+        List<Long> requested = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (requested.size() > MAX_MULTI_GET_IDS)
+            throw new IllegalArgumentException(format("No máximo %d ids por requisição", MAX_MULTI_GET_IDS));
+
+        Cache cache = cacheManager.getCache(PRODUCTS_CACHE);
+        Map<Long, ProductDTO> found = new HashMap<>(requested.size());
+        List<Long> misses = new ArrayList<>();
+        for (Long id : requested) {
+            ProductDTO cached = (cache == null) ? null : cache.get(id, ProductDTO.class);
+            if (cached != null) found.put(id, cached);
+            else misses.add(id);
+        }
+
+        for (int from = 0; from < misses.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = misses.subList(from, Math.min(from + IN_CLAUSE_CHUNK, misses.size()));
+            for (Product product : productRepository.findAllWithCategoriesByIdIn(chunk)) {
+                ProductDTO productDTO = new ProductDTO(product);
+                found.put(product.getId(), productDTO);
+                if (cache != null) cache.put(product.getId(), productDTO);
+            }
+        }
+
+        return requested.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public Page<ProductMinDTO> findAll(String name, Pageable pageable) {
-        Page<Product> result = productRepository.searchByName(name, pageable);
-        return result.map(ProductMinDTO::new);
+        if (productNameIndex.canServe(name, pageable.getSort()))
+            return findAllFromIndex(name, pageable);
+
+        return productRepository.searchMinByName(name, pageable);
+    }
+
+    private Page<ProductMinDTO> findAllFromIndex(String name, Pageable pageable) {
+        return loadPage(productNameIndex.search(name, pageable));
+    }
+
+    private Page<ProductMinDTO> loadPage(Page<Long> ids) {
+        List<Long> pageIds = ids.getContent();
+        Map<Long, ProductMinDTO> rows = productRepository.findMinByIdIn(pageIds)
+                .stream()
+                .collect(toMap(ProductMinDTO::getId, identity()));
+        List<ProductMinDTO> content = pageIds.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
     }
 
     @Override
-    @Transactional(propagation = SUPPORTS)
+    @Transactional(readOnly = true)
+    public FacetedPage<ProductMinDTO> findAll(String name, Set<Long> categoryIds, Pageable pageable) {
+        if (categoryBitmapIndex.isReady() && productNameIndex.isReady() && productNameIndex.supports(pageable.getSort())) {
+            RoaringBitmap matches = categoryBitmapIndex.anyOf(categoryIds);
+            if (name != null && !name.isBlank()) matches.and(productNameIndex.match(name));
+            Page<ProductMinDTO> page = loadPage(productNameIndex.page(matches, pageable));
+            return FacetedPage.of(page, categoryBitmapIndex.facets(matches));
+        }
+
+        return FacetedPage.of(
+                productRepository.searchMinByNameAndCategories(name, categoryIds, pageable),
+                productRepository.countByCategory(name, categoryIds)
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ProductMinDTO> findAll(String name, String after, int size) {
+        final int pageSize = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        final Limit limit = Limit.of(pageSize + 1);
+
+        List<ProductMinDTO> rows;
+        if (after == null || after.isBlank()) {
+            rows = productRepository.searchByNameFirst(name, limit);
+        } else {
+            Cursor cursor = Cursor.decode(after);
+            rows = productRepository.searchByNameAfter(name, cursor.key(), cursor.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            ProductMinDTO last = rows.getLast();
+            nextCursor = new Cursor(last.getName(), last.getId()).encode();
+        }
+        return new CursorPage<>(rows, pageSize, nextCursor);
+    }
+
+    // SUPPORTS keeps the index path from borrowing a connection just to open a transaction
+    @Override
+    @Transactional(propagation = SUPPORTS, readOnly = true)
+    public List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) return List.of();
+
+        final int size = Math.clamp(limit, 1, MAX_SUGGESTIONS);
+        if (productSuggestIndex.isReady()) return productSuggestIndex.suggest(prefix, size);
+        return productRepository.suggestByNamePrefix(prefix.strip(), Limit.of(size));
+    }
+
+    // deleteById ignores unknown ids, so the lookup is what tells a missing product apart.
+    // The flush surfaces FK violations here, before the deleted event is published.
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = PRODUCTS_CACHE, key = "#id")
     public void delete(Long id) {
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id " + id));
         try {
-            productRepository.deleteById(id);
-        } catch (EmptyResultDataAccessException e) {
-            throw new ResourceNotFoundException("Product not found with id " + id);
+            productRepository.delete(product);
+            productRepository.flush();
+            eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
         } catch (DataIntegrityViolationException e) {
             throw new DataIntegrityViolationException(
                     format("Cannot delete product with id %d because it has associated orders.", id), e);
@@ -72,20 +221,35 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = PRODUCTS_CACHE, key = "#id")
     public ProductDTO update(Long id, ProductDTO productDTO) {
-        Product entity = productRepository.findById(id)
+        Product entity = productRepository.findWithCategoriesById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id " + id));
 
-        final String newName = productDTO.getName();
-        if (newName != null && !newName.equals(entity.getName()) && productRepository.existsByName(newName))
-            throw new ProductAlreadyExistsException("Já existe um produto com nome " + newName);
+        productMapper.updateEntityFromDto(productDTO, entity);
+        Product updated = saveWithUniqueName(entity);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(updated));
+        return new ProductDTO(updated);
+    }
 
+    // No name pre-check: the flush hits uk_tb_product_name and the dialect's constraint name extractor tells it apart
+    private Product saveWithUniqueName(Product product) {
         try {
-            productMapper.updateEntityFromDto(productDTO, entity);
-            Product updated = productRepository.save(entity);
-            return new ProductDTO(updated);
+            return productRepository.saveAndFlush(product);
         } catch (DataIntegrityViolationException e) {
-            throw new ProductAlreadyExistsException("Já existe um produto com nome " + newName);
+            if (violates(e, Product.UK_NAME))
+                throw new ProductAlreadyExistsException("Já existe um produto com nome " + product.getName());
+            throw e;
+        }
+    }
+
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String name = violation.getConstraintName();
+                return name != null && name.toLowerCase(ROOT).contains(constraint);
+            }
         }
+        return false;
     }
 }
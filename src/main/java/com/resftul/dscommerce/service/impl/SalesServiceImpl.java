@@ -0,0 +1,61 @@
+package com.resftul.dscommerce.service.impl;
+
+import com.resftul.dscommerce.dto.sales.SalesBucketDTO;
+import com.resftul.dscommerce.entity.SalesDimension;
+import com.resftul.dscommerce.entity.SalesGranularity;
+import com.resftul.dscommerce.repository.SalesRollupRepository;
+import com.resftul.dscommerce.service.SalesService;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class SalesServiceImpl implements SalesService {
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    public SalesServiceImpl(SalesRollupRepository salesRollupRepository) {
+        this.salesRollupRepository = salesRollupRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalesBucketDTO> series(
+            SalesDimension dimension,
+            Long id,
+            SalesGranularity granularity,
+            Instant from,
+            Instant to
+    ) {
+        // The range is capped in buckets, so the cost never depends on how many orders fell in it
+        Instant end = (to != null) ? to : granularity.bucketOf(Instant.now()).plus(granularity.length());
+        Duration maxSpan = granularity.length().multipliedBy(granularity.maxBuckets());
+        Instant start = granularity.bucketOf((from != null) ? from : end.minus(maxSpan));
+        if (!start.isBefore(end))
+            throw new IllegalArgumentException("Intervalo inválido: 'from' deve ser anterior a 'to'");
+        if (start.plus(maxSpan).isBefore(end))
+            throw new IllegalArgumentException("Intervalo acima de " + granularity.maxBuckets() + " períodos de " + granularity);
+
+        return salesRollupRepository.findSeries(dimension, id, granularity, start, end)
+                .stream()
+                .map(SalesBucketDTO::new)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalesBucketDTO> top(SalesDimension dimension, SalesGranularity granularity, Instant at, int limit) {
+        if (limit < 1 || limit > MAX_TOP)
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + MAX_TOP);
+        Instant bucket = granularity.bucketOf((at != null) ? at : Instant.now());
+
+        return salesRollupRepository.findTop(dimension, granularity, bucket, Limit.of(limit))
+                .stream()
+                .map(SalesBucketDTO::new)
+                .toList();
+    }
+}
@@ -0,0 +1,92 @@
+package com.resftul.dscommerce.service.impl;
+
+import com.resftul.dscommerce.dto.product.ProductStockDTO;
+import com.resftul.dscommerce.event.StockChangedEvent;
+import com.resftul.dscommerce.event.StockReservedEvent;
+import com.resftul.dscommerce.event.StockRestockedEvent;
+import com.resftul.dscommerce.exception.InsufficientStockException;
+import com.resftul.dscommerce.exception.ResourceNotFoundException;
+import com.resftul.dscommerce.inventory.StockGate;
+import com.resftul.dscommerce.repository.ProductRepository;
+import com.resftul.dscommerce.service.StockService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.springframework.transaction.annotation.Propagation.MANDATORY;
+
+@Service("stockService")
+public class StockServiceImpl implements StockService {
+
+    private final ProductRepository productRepository;
+    private final StockGate stockGate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public StockServiceImpl(
+            ProductRepository productRepository,
+            StockGate stockGate,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.productRepository = productRepository;
+        this.stockGate = stockGate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Ascending product id: orders sharing products take their row locks in the same order and cannot deadlock.
+    // Runs inside the order's transaction, so a shortfall on any product rolls back every decrement before it.
+    @Override
+    @Transactional(propagation = MANDATORY)
+    public void reserve(Map<Long, Integer> quantitiesByProduct) {
+        final Map<Long, Integer> sorted = new TreeMap<>(quantitiesByProduct);
+        // A non-positive quantity would turn the conditional decrement into a restock
+        sorted.forEach((productId, quantity) -> {
+            if (quantity == null || quantity <= 0)
+                throw new IllegalArgumentException("Quantidade inválida para o produto " + productId);
+        });
+
+        final Map<Long, Integer> gated = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> entry : sorted.entrySet()) {
+            if (!stockGate.isGated(entry.getKey())) continue;
+            if (!stockGate.tryAcquire(entry.getKey(), entry.getValue())) {
+                gated.forEach(stockGate::release);
+                throw new InsufficientStockException(entry.getKey());
+            }
+            gated.put(entry.getKey(), entry.getValue());
+        }
+        if (!gated.isEmpty()) eventPublisher.publishEvent(new StockReservedEvent(Map.copyOf(gated)));
+
+        sorted.forEach((productId, quantity) -> {
+            if (productRepository.decrementStock(productId, quantity) == 0)
+                throw new InsufficientStockException(productId);
+        });
+    }
+
+    // Runs in the transaction that cancels the orders, after their rows were locked and moved to CANCELED
+    @Override
+    @Transactional(propagation = MANDATORY)
+    public void restock(Collection<Long> canceledOrderIds) {
+        if (canceledOrderIds.isEmpty()) return;
+        productRepository.restockOrders(canceledOrderIds);
+        if (!stockGate.hasGatedProducts()) return;
+
+        List<Long> gated = productRepository.findProductIdsByOrderIds(canceledOrderIds).stream()
+                .filter(stockGate::isGated)
+                .toList();
+        if (!gated.isEmpty()) eventPublisher.publishEvent(new StockRestockedEvent(gated));
+    }
+
+    @Override
+    @Transactional
+    public ProductStockDTO updateStock(Long productId, ProductStockDTO dto) {
+        if (productRepository.updateStock(productId, dto.getStock()) == 0)
+            throw new ResourceNotFoundException("Product not found with id " + productId);
+        eventPublisher.publishEvent(new StockChangedEvent(productId, dto.getStock()));
+        return new ProductStockDTO(productId, dto.getStock());
+    }
+}
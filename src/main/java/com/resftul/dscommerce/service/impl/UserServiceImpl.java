@@ -108,12 +108,16 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
     @Override
     public User authenticated() {
-        final Authentication auth = requireAuthenticated();
-        final String requester = resolveRequesterIdentity(auth);
-        return userRepository.findByEmail(requester)
+        return userRepository.findByEmail(authenticatedUsername())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
     }
 
+    // Resolved from the token alone, without loading the user
+    @Override
+    public String authenticatedUsername() {
+        return resolveRequesterIdentity(requireAuthenticated());
+    }
+
     @Override
     public UserDTO getMe() {
         final Authentication auth = requireAuthenticated();
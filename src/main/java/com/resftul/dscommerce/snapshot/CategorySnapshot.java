@@ -0,0 +1,54 @@
+package com.resftul.dscommerce.snapshot;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resftul.dscommerce.dto.CategoryDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+// Rendered once and shared by every request, so the byte arrays must never be modified
+public record CategorySnapshot(List<CategoryDTO> categories, Representation identity, Representation gzip) {
+
+    public record Representation(byte[] body, String eTag) {
+    }
+
+    public static CategorySnapshot of(List<CategoryDTO> categories, ObjectMapper objectMapper) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(categories);
+            String hash = hash(json);
+            return new CategorySnapshot(
+                    List.copyOf(categories),
+                    new Representation(json, "\"c-" + hash + "\""),
+                    new Representation(gzip(json), "\"c-" + hash + "-gz\"")
+            );
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render categories", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
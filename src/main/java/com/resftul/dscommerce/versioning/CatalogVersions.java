@@ -0,0 +1,47 @@
+package com.resftul.dscommerce.versioning;
+
+import com.resftul.dscommerce.event.ProductChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.resftul.dscommerce.config.CacheConfig.PRODUCTS_CACHE;
+
+// In-memory versions behind the catalog ETags; the startup epoch invalidates every tag issued by a previous run.
+// Single-instance only, like the products cache and the search indexes: a change committed by another instance
+// publishes no local event, so this instance would keep answering 304 to tags that are no longer current.
+// A tag covers what ProductDTO renders. Every write to those fields publishes ProductChangedEvent, including the
+// bulk import (one event per inserted row); stock UPDATEs are not rendered and deliberately keep the tag.
+@Component
+public class CatalogVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final Map<Long, Long> productVersions = new ConcurrentHashMap<>();
+    private final CacheManager cacheManager;
+
+    public CatalogVersions(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public String productETag(Long productId) {
+        return tag("p" + productId, productVersions.getOrDefault(productId, 0L));
+    }
+
+    // Runs after commit, before the service's own @CacheEvict: evicting first keeps a new tag from being paired with a stale cached body
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Cache cache = cacheManager.getCache(PRODUCTS_CACHE);
+        if (cache != null) cache.evict(event.productId());
+        productVersions.put(event.productId(), catalogVersion.incrementAndGet());
+    }
+
+    private String tag(String kind, long version) {
+        return "\"" + kind + "-" + epoch + "-" + version + "\"";
+    }
+}
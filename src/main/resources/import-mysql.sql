@@ -17,51 +17,51 @@ INSERT INTO tb_category(name) VALUES ('Acessórios');
 INSERT INTO tb_category(name) VALUES ('Livros Técnicos');
 
 -- PRODUCTS (1..45)
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('The Lord of the Rings', 90.5, 'Obra-prima de fantasia épica de J. R. R. Tolkien sobre a jornada para destruir o Um Anel; mundo rico, personagens memoráveis e aventura clássica.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/1-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Smart TV', 2190.0, 'TV 4K com sistema Smart para apps de streaming, Wi-Fi integrado e controle por voz; imagem nítida para filmes, séries e esportes.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/2-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Macbook Pro', 1250.0, 'Notebook macOS voltado a profissionais, tela de alta definição, bateria de longa duração e desempenho estável para desenvolvimento e edição.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/3-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer', 1200.0, 'Desktop para jogos com fluxo de ar eficiente e fácil expansão; ideal para partidas competitivas em 1080p com alta taxa de quadros.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/4-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Rails for Dummies', 100.99, 'Introdução prática a Ruby on Rails: MVC, scaffolds, rotas, Active Record e boas práticas para construir aplicações web rapidamente.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/5-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Ex', 1350.0, 'Configuração balanceada com GPU dedicada e SSD para carregamentos rápidos; pronto para jogos populares e multitarefa.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/6-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer X', 1350.0, 'Foco em custo-benefício: desempenho sólido em 1080p, gabinete compacto e espaço para upgrades futuros.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/7-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Alfa', 1850.0, 'PC para 1440p com boa refrigeração e componentes selecionados para estabilidade, ideal para jogos AAA e criação de conteúdo.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/8-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Tera', 1950.0, 'Desempenho forte para jogos, streaming e multitarefas; pronto para placas de vídeo de última geração e expansão de memória.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/9-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Y', 1700.0, 'Torre compacta com boa ventilação, SSD para inicialização rápida e desempenho consistente em e-sports.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/10-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Nitro', 1450.0, 'Build otimizada para taxa de quadros alta em 1080p; ideal para jogos competitivos e streaming ocasional.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/11-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Card', 1850.0, 'Configuração versátil para jogos e edição leve, com armazenamento híbrido e amplo espaço para upgrades.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/12-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Plus', 1350.0, 'PC de entrada robusto com SSD e memórias rápidas; indicado para estudo, trabalho e jogos populares.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/13-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Hera', 2250.0, 'Alto desempenho com refrigeração reforçada e gabinete com iluminação; preparado para jogos pesados e multitarefas.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/14-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Weed', 2200.0, 'Plataforma estável para longas sessões de jogo, com foco em silêncio e temperaturas controladas.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/15-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Max', 2340.0, 'Topo de linha para 1440p/4K leve, excelente multitarefa e grande capacidade de armazenamento.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/16-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Turbo', 1280.0, 'Projeto enxuto com foco em alto clock e resposta rápida; ideal para e-sports e títulos menos exigentes.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/17-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Hot', 1450.0, 'Equilíbrio entre desempenho e preço, pronto para monitores 1080p de alta taxa de atualização.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/18-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Ez', 1750.0, 'Fácil de manter e atualizar, com armazenamento rápido e forte desempenho em jogos competitivos.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/19-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Tr', 1650.0, 'Conjunto equilibrado para jogos e tarefas criativas, com bom potencial de upgrade.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/20-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Tx', 1680.0, 'Pensado para 1080p/144 Hz, com foco em estabilidade e baixo tempo de carregamento.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/21-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Er', 1850.0, 'Estação de jogo e estudo com boa refrigeração e SSD NVMe para responsividade.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/22-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Min', 2250.0, 'Formato compacto com desempenho de desktop, baixo ruído e excelente eficiência térmica.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/23-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Boo', 2350.0, 'Build silenciosa com foco em qualidade de componentes e durabilidade para uso intenso.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/24-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PC Gamer Foo', 4170.0, 'Configurado para entusiastas, pronto para 4K leve e produção de conteúdo com múltiplas aplicações abertas.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/25-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('iPhone 13', 4999.0, 'Smartphone Apple com tela Super Retina XDR de 6,1", chip A15 Bionic, câmeras avançadas e conectividade 5G.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/1-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Galaxy S22', 3999.0, 'Smartphone com tela 6,1" FHD+ Dynamic AMOLED 2X de 120 Hz, conjunto de câmeras versátil e 5G.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/2-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Headset Gamer Pro', 350.0, 'Headset com áudio estéreo claro, microfone com redução de ruído e almofadas confortáveis; ideal para jogos e chamadas.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/3-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Mouse Gamer RGB', 180.0, 'Mouse com sensor preciso ajustável, switches duráveis e iluminação RGB personalizável.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/4-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Teclado Mecânico Blue Switch', 420.0, 'Teclado mecânico com switches azuis táteis e audíveis, anti-ghosting e construção resistente para digitação e jogos.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/5-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Nintendo Switch', 2199.0, 'Console híbrido jogável na TV via dock ou no modo portátil; Joy-Con destacáveis e multiplayer local/online.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/6-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('PlayStation 5', 4599.0, 'Console com SSD ultrarrápido, suporte a gatilhos adaptativos, feedback háptico e áudio 3D para maior imersão.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/7-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Xbox Series S', 2799.0, 'Console all-digital compacto, voltado a 1440p e até 120 fps, com SSD para carregamentos rápidos.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/8-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Kindle Paperwhite', 649.0, 'Leitor digital com tela de 6,8" sem reflexos, luz ajustável, bateria longa e resistência à água para leitura em qualquer lugar.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/9-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Docker Deep Dive', 159.9, 'Guia prático de contêineres: imagens, redes, volumes e orquestração; fundamentos essenciais do ecossistema Docker.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/10-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Clean Code', 199.0, 'Clássico sobre princípios, padrões e sinais de alerta para escrever código legível, testável e sustentável.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/11-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Effective Java', 249.9, 'Boas práticas de Java moderno: criação e destruição de objetos, coleções, genéricos, lambdas, imutabilidade e muito mais.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/12-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Spring in Action', 279.9, 'Visão prática do ecossistema Spring: Core, MVC, Data, Security e Boot com exemplos do dia a dia.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/13-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Kotlin in Action', 299.9, 'Introdução aprofundada à linguagem Kotlin: null safety, funções de extensão, DSLs e interoperabilidade com Java.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/14-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Estruturas de Dados em Java', 229.9, 'Abordagem prática de listas, pilhas, filas, árvores e grafos em Java com análise de complexidade e exemplos.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/15-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Monitor 27\" 144Hz', 1599.0, 'Monitor gamer de 27\" com taxa de atualização de 144 Hz e baixa latência; fluidez para FPS e jogos competitivos.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/16-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('SSD NVMe 1TB', 499.9, 'SSD M.2 NVMe de 1 TB para inicialização rápida e carregamentos ágeis; ideal para sistema e jogos.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/17-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Roteador Wi-Fi 6', 399.9, 'Roteador com padrão 802.11ax (Wi-Fi 6), maior eficiência em ambientes com muitos dispositivos e melhor cobertura.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/18-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Webcam 1080p', 229.9, 'Webcam Full HD 1080p com autofoco e correção automática de luz; indicada para videochamadas e streaming.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/19-big.jpg');
-INSERT INTO tb_product (name, price, description, img_url) VALUES ('Cadeira Gamer', 899.0, 'Cadeira ergonômica com apoio lombar e regulagens de altura e inclinação; conforto para longas sessões.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/20-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (1, 'The Lord of the Rings', 90.5, 'Obra-prima de fantasia épica de J. R. R. Tolkien sobre a jornada para destruir o Um Anel; mundo rico, personagens memoráveis e aventura clássica.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/1-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (2, 'Smart TV', 2190.0, 'TV 4K com sistema Smart para apps de streaming, Wi-Fi integrado e controle por voz; imagem nítida para filmes, séries e esportes.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/2-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (3, 'Macbook Pro', 1250.0, 'Notebook macOS voltado a profissionais, tela de alta definição, bateria de longa duração e desempenho estável para desenvolvimento e edição.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/3-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (4, 'PC Gamer', 1200.0, 'Desktop para jogos com fluxo de ar eficiente e fácil expansão; ideal para partidas competitivas em 1080p com alta taxa de quadros.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/4-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (5, 'Rails for Dummies', 100.99, 'Introdução prática a Ruby on Rails: MVC, scaffolds, rotas, Active Record e boas práticas para construir aplicações web rapidamente.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/5-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (6, 'PC Gamer Ex', 1350.0, 'Configuração balanceada com GPU dedicada e SSD para carregamentos rápidos; pronto para jogos populares e multitarefa.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/6-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (7, 'PC Gamer X', 1350.0, 'Foco em custo-benefício: desempenho sólido em 1080p, gabinete compacto e espaço para upgrades futuros.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/7-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (8, 'PC Gamer Alfa', 1850.0, 'PC para 1440p com boa refrigeração e componentes selecionados para estabilidade, ideal para jogos AAA e criação de conteúdo.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/8-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (9, 'PC Gamer Tera', 1950.0, 'Desempenho forte para jogos, streaming e multitarefas; pronto para placas de vídeo de última geração e expansão de memória.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/9-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (10, 'PC Gamer Y', 1700.0, 'Torre compacta com boa ventilação, SSD para inicialização rápida e desempenho consistente em e-sports.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/10-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (11, 'PC Gamer Nitro', 1450.0, 'Build otimizada para taxa de quadros alta em 1080p; ideal para jogos competitivos e streaming ocasional.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/11-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (12, 'PC Gamer Card', 1850.0, 'Configuração versátil para jogos e edição leve, com armazenamento híbrido e amplo espaço para upgrades.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/12-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (13, 'PC Gamer Plus', 1350.0, 'PC de entrada robusto com SSD e memórias rápidas; indicado para estudo, trabalho e jogos populares.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/13-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (14, 'PC Gamer Hera', 2250.0, 'Alto desempenho com refrigeração reforçada e gabinete com iluminação; preparado para jogos pesados e multitarefas.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/14-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (15, 'PC Gamer Weed', 2200.0, 'Plataforma estável para longas sessões de jogo, com foco em silêncio e temperaturas controladas.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/15-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (16, 'PC Gamer Max', 2340.0, 'Topo de linha para 1440p/4K leve, excelente multitarefa e grande capacidade de armazenamento.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/16-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (17, 'PC Gamer Turbo', 1280.0, 'Projeto enxuto com foco em alto clock e resposta rápida; ideal para e-sports e títulos menos exigentes.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/17-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (18, 'PC Gamer Hot', 1450.0, 'Equilíbrio entre desempenho e preço, pronto para monitores 1080p de alta taxa de atualização.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/18-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (19, 'PC Gamer Ez', 1750.0, 'Fácil de manter e atualizar, com armazenamento rápido e forte desempenho em jogos competitivos.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/19-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (20, 'PC Gamer Tr', 1650.0, 'Conjunto equilibrado para jogos e tarefas criativas, com bom potencial de upgrade.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/20-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (21, 'PC Gamer Tx', 1680.0, 'Pensado para 1080p/144 Hz, com foco em estabilidade e baixo tempo de carregamento.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/21-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (22, 'PC Gamer Er', 1850.0, 'Estação de jogo e estudo com boa refrigeração e SSD NVMe para responsividade.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/22-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (23, 'PC Gamer Min', 2250.0, 'Formato compacto com desempenho de desktop, baixo ruído e excelente eficiência térmica.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/23-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (24, 'PC Gamer Boo', 2350.0, 'Build silenciosa com foco em qualidade de componentes e durabilidade para uso intenso.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/24-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (25, 'PC Gamer Foo', 4170.0, 'Configurado para entusiastas, pronto para 4K leve e produção de conteúdo com múltiplas aplicações abertas.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/25-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (26, 'iPhone 13', 4999.0, 'Smartphone Apple com tela Super Retina XDR de 6,1", chip A15 Bionic, câmeras avançadas e conectividade 5G.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/1-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (27, 'Galaxy S22', 3999.0, 'Smartphone com tela 6,1" FHD+ Dynamic AMOLED 2X de 120 Hz, conjunto de câmeras versátil e 5G.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/2-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (28, 'Headset Gamer Pro', 350.0, 'Headset com áudio estéreo claro, microfone com redução de ruído e almofadas confortáveis; ideal para jogos e chamadas.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/3-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (29, 'Mouse Gamer RGB', 180.0, 'Mouse com sensor preciso ajustável, switches duráveis e iluminação RGB personalizável.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/4-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (30, 'Teclado Mecânico Blue Switch', 420.0, 'Teclado mecânico com switches azuis táteis e audíveis, anti-ghosting e construção resistente para digitação e jogos.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/5-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (31, 'Nintendo Switch', 2199.0, 'Console híbrido jogável na TV via dock ou no modo portátil; Joy-Con destacáveis e multiplayer local/online.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/6-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (32, 'PlayStation 5', 4599.0, 'Console com SSD ultrarrápido, suporte a gatilhos adaptativos, feedback háptico e áudio 3D para maior imersão.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/7-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (33, 'Xbox Series S', 2799.0, 'Console all-digital compacto, voltado a 1440p e até 120 fps, com SSD para carregamentos rápidos.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/8-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (34, 'Kindle Paperwhite', 649.0, 'Leitor digital com tela de 6,8" sem reflexos, luz ajustável, bateria longa e resistência à água para leitura em qualquer lugar.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/9-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (35, 'Docker Deep Dive', 159.9, 'Guia prático de contêineres: imagens, redes, volumes e orquestração; fundamentos essenciais do ecossistema Docker.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/10-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (36, 'Clean Code', 199.0, 'Clássico sobre princípios, padrões e sinais de alerta para escrever código legível, testável e sustentável.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/11-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (37, 'Effective Java', 249.9, 'Boas práticas de Java moderno: criação e destruição de objetos, coleções, genéricos, lambdas, imutabilidade e muito mais.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/12-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (38, 'Spring in Action', 279.9, 'Visão prática do ecossistema Spring: Core, MVC, Data, Security e Boot com exemplos do dia a dia.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/13-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (39, 'Kotlin in Action', 299.9, 'Introdução aprofundada à linguagem Kotlin: null safety, funções de extensão, DSLs e interoperabilidade com Java.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/14-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (40, 'Estruturas de Dados em Java', 229.9, 'Abordagem prática de listas, pilhas, filas, árvores e grafos em Java com análise de complexidade e exemplos.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/15-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (41, 'Monitor 27\" 144Hz', 1599.0, 'Monitor gamer de 27\" com taxa de atualização de 144 Hz e baixa latência; fluidez para FPS e jogos competitivos.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/16-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (42, 'SSD NVMe 1TB', 499.9, 'SSD M.2 NVMe de 1 TB para inicialização rápida e carregamentos ágeis; ideal para sistema e jogos.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/17-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (43, 'Roteador Wi-Fi 6', 399.9, 'Roteador com padrão 802.11ax (Wi-Fi 6), maior eficiência em ambientes com muitos dispositivos e melhor cobertura.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/18-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (44, 'Webcam 1080p', 229.9, 'Webcam Full HD 1080p com autofoco e correção automática de luz; indicada para videochamadas e streaming.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/19-big.jpg');
+INSERT INTO tb_product (id, name, price, description, img_url) VALUES (45, 'Cadeira Gamer', 899.0, 'Cadeira ergonômica com apoio lombar e regulagens de altura e inclinação; conforto para longas sessões.', 'https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/20-big.jpg');
 
 -- PRODUCT_CATEGORY
 INSERT INTO tb_product_category (product_id, category_id) VALUES (1, 1);
@@ -203,44 +203,44 @@ INSERT INTO tb_user_role (user_id, role_id) VALUES (22, 1);
 INSERT INTO tb_user_role (user_id, role_id) VALUES (23, 1);
 
 -- ORDERS (moments em UTC por conta do SET time_zone = '+00:00')
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-07-25 13:00:00', 1, 1);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-07-29 15:50:00', 3, 2);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-03 14:20:00', 0, 1);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-10 10:00:00', 1, 3);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-12 09:30:00', 0, 4);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-15 18:45:00', 2, 3);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-18 13:15:00', 3, 5);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-20 16:25:00', 1, 4);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-22 10:10:00', 1, 6);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-22 12:30:00', 0, 7);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-23 09:00:00', 2, 8);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-23 16:45:00', 3, 9);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-24 08:20:00', 4, 10);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-24 11:05:00', 1, 11);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-25 13:30:00', 2, 12);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-25 17:50:00', 0, 13);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-26 07:40:00', 3, 14);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-26 14:25:00', 1, 15);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-27 10:10:00', 2, 3);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-27 15:15:00', 4, 4);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-28 09:00:00', 1, 5);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-28 13:45:00', 3, 6);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-29 08:00:00', 0, 7);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-29 16:20:00', 2, 8);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-30 10:55:00', 1, 9);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-30 18:35:00', 3, 10);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-31 11:11:00', 0, 11);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-08-31 19:05:00', 1, 12);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-09-01 09:00:00', 2, 16);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-09-01 13:20:00', 1, 17);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-09-02 10:10:00', 0, 18);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-09-02 15:00:00', 3, 19);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-09-03 08:45:00', 1, 20);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-09-03 14:10:00', 4, 16);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-09-04 11:30:00', 2, 17);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-09-04 18:00:00', 3, 18);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-09-05 10:00:00', 1, 19);
-INSERT INTO tb_order (moment, status, client_id) VALUES ('2022-09-05 16:40:00', 0, 20);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (1, '2022-07-25 13:00:00', 1, 1, 143100, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (2, '2022-07-29 15:50:00', 3, 2, 125000, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (3, '2022-08-03 14:20:00', 0, 1, 9050, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (4, '2022-08-10 10:00:00', 1, 3, 535900, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (5, '2022-08-12 09:30:00', 0, 4, 459900, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (6, '2022-08-15 18:45:00', 2, 3, 209890, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (7, '2022-08-18 13:15:00', 3, 5, 72880, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (8, '2022-08-20 16:25:00', 1, 4, 259890, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (9, '2022-08-22 10:10:00', 1, 6, 64900, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (10, '2022-08-22 12:30:00', 0, 7, 259880, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (11, '2022-08-23 09:00:00', 2, 8, 499900, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (12, '2022-08-23 16:45:00', 3, 9, 44890, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (13, '2022-08-24 08:20:00', 4, 10, 219900, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (14, '2022-08-24 11:05:00', 1, 11, 124900, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (15, '2022-08-25 13:30:00', 2, 12, 219000, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (16, '2022-08-25 17:50:00', 0, 13, 28199, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (17, '2022-08-26 07:40:00', 3, 14, 283990, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (18, '2022-08-26 14:25:00', 1, 15, 279900, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (19, '2022-08-27 10:10:00', 2, 3, 499890, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (20, '2022-08-27 15:15:00', 4, 4, 417000, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (21, '2022-08-28 09:00:00', 1, 5, 58880, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (22, '2022-08-28 13:45:00', 3, 6, 145000, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (23, '2022-08-29 08:00:00', 0, 7, 399900, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (24, '2022-08-29 16:20:00', 2, 8, 78000, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (25, '2022-08-30 10:55:00', 1, 9, 319800, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (26, '2022-08-30 18:35:00', 3, 10, 207980, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (27, '2022-08-31 11:11:00', 0, 11, 225000, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (28, '2022-08-31 19:05:00', 1, 12, 189900, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (29, '2022-09-01 09:00:00', 2, 16, 259890, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (30, '2022-09-01 13:20:00', 1, 17, 89900, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (31, '2022-09-02 10:10:00', 0, 18, 168000, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (32, '2022-09-02 15:00:00', 3, 19, 35890, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (33, '2022-09-03 08:45:00', 1, 20, 259880, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (34, '2022-09-03 14:10:00', 4, 16, 499900, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (35, '2022-09-04 11:30:00', 2, 17, 459900, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (36, '2022-09-04 18:00:00', 3, 18, 57980, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (37, '2022-09-05 10:00:00', 1, 19, 73950, 0);
+INSERT INTO tb_order (id, moment, status, client_id, total, version) VALUES (38, '2022-09-05 16:40:00', 0, 20, 279900, 0);
 
 -- ORDER_ITEMS
 INSERT INTO tb_order_item (order_id, product_id, quantity, price) VALUES (4, 26, 1, 4999.0);
@@ -334,6 +334,10 @@ INSERT INTO tb_payment (order_id, moment) VALUES (35, '2022-09-04 13:00:00');
 INSERT INTO tb_payment (order_id, moment) VALUES (36, '2022-09-04 20:00:00');
 INSERT INTO tb_payment (order_id, moment) VALUES (37, '2022-09-05 12:30:00');
 
+-- SEQUENCES (emuladas em tabela pelo Hibernate; pooled-lo: o próximo bloco começa em next_val)
+UPDATE tb_product_seq SET next_val = 46;
+UPDATE tb_order_seq SET next_val = 39;
+
 COMMIT;
 
 -- Reativar FKs
@@ -0,0 +1,17 @@
+-- Limpa pedidos, produtos e usuários e reinicia identidades (H2)
+SET REFERENTIAL_INTEGRITY FALSE;
+TRUNCATE TABLE tb_sales_rollup;
+TRUNCATE TABLE tb_order_item;
+TRUNCATE TABLE tb_payment;
+TRUNCATE TABLE tb_order;
+TRUNCATE TABLE tb_product_category;
+TRUNCATE TABLE tb_product;
+TRUNCATE TABLE tb_category;
+TRUNCATE TABLE tb_user_role;
+TRUNCATE TABLE tb_role;
+TRUNCATE TABLE tb_user;
+SET REFERENTIAL_INTEGRITY TRUE;
+
+ALTER TABLE tb_category ALTER COLUMN id RESTART WITH 1;
+ALTER TABLE tb_user     ALTER COLUMN id RESTART WITH 1;
+ALTER TABLE tb_role     ALTER COLUMN id RESTART WITH 1;
@@ -0,0 +1,46 @@
+-- Papéis e usuários: Ana (ADMIN) e Bruno (CLIENT)
+INSERT INTO tb_role (id, authority) VALUES (1, 'ROLE_CLIENT');
+INSERT INTO tb_role (id, authority) VALUES (2, 'ROLE_ADMIN');
+
+INSERT INTO tb_user (id, name, email, phone, birth_date, password)
+VALUES (1, 'Ana', 'ana@example.com', '+5511999999999', DATE '2000-01-01', '{noop}x');
+INSERT INTO tb_user (id, name, email, phone, birth_date, password)
+VALUES (2, 'Bruno', 'bruno@example.com', '+5511988888888', DATE '1998-02-02', '{noop}y');
+
+INSERT INTO tb_user_role (user_id, role_id) VALUES (1, 1);
+INSERT INTO tb_user_role (user_id, role_id) VALUES (1, 2);
+INSERT INTO tb_user_role (user_id, role_id) VALUES (2, 1);
+
+-- Catálogo: 3 produtos, o primeiro em duas categorias
+INSERT INTO tb_category (id, name) VALUES (1, 'Informática');
+INSERT INTO tb_category (id, name) VALUES (2, 'Acessórios');
+
+INSERT INTO tb_product (id, name, description, price, img_url)
+VALUES (1, 'PC Gamer', 'PC para jogos com GPU dedicada', 5999.90, 'https://example.com/pc-gamer.jpg');
+INSERT INTO tb_product (id, name, description, price, img_url)
+VALUES (2, 'Mouse Óptico', 'Mouse básico para uso geral', 79.90, 'https://example.com/mouse-basic.jpg');
+INSERT INTO tb_product (id, name, description, price, img_url)
+VALUES (3, 'Teclado Membrana', 'Teclado silencioso ABNT2', 129.90, 'https://example.com/teclado.jpg');
+
+INSERT INTO tb_product_category (product_id, category_id) VALUES (1, 1);
+INSERT INTO tb_product_category (product_id, category_id) VALUES (1, 2);
+INSERT INTO tb_product_category (product_id, category_id) VALUES (2, 2);
+INSERT INTO tb_product_category (product_id, category_id) VALUES (3, 2);
+
+-- Pedidos: 1 e 2 de Bruno, 3 de Ana; o pedido 1 está pago
+INSERT INTO tb_order (id, moment, order_status, client_id, total, version) VALUES (1, TIMESTAMP '2025-01-01 10:00:00', 1, 2, 615970, 0);
+INSERT INTO tb_order (id, moment, order_status, client_id, total, version) VALUES (2, TIMESTAMP '2025-01-02 10:00:00', 0, 2, 20980, 0);
+INSERT INTO tb_order (id, moment, order_status, client_id, total, version) VALUES (3, TIMESTAMP '2025-01-03 10:00:00', 0, 1, 638960, 0);
+
+INSERT INTO tb_payment (order_id, moment) VALUES (1, TIMESTAMP '2025-01-01 11:00:00');
+
+INSERT INTO tb_order_item (order_id, product_id, quantity, price) VALUES (1, 1, 1, 5999.90);
+INSERT INTO tb_order_item (order_id, product_id, quantity, price) VALUES (1, 2, 2, 79.90);
+INSERT INTO tb_order_item (order_id, product_id, quantity, price) VALUES (2, 3, 1, 129.90);
+INSERT INTO tb_order_item (order_id, product_id, quantity, price) VALUES (2, 2, 1, 79.90);
+INSERT INTO tb_order_item (order_id, product_id, quantity, price) VALUES (3, 1, 1, 5999.90);
+INSERT INTO tb_order_item (order_id, product_id, quantity, price) VALUES (3, 3, 3, 129.90);
+
+ALTER TABLE tb_category ALTER COLUMN id RESTART WITH 3;
+ALTER TABLE tb_user     ALTER COLUMN id RESTART WITH 3;
+ALTER TABLE tb_role     ALTER COLUMN id RESTART WITH 3;
@@ -5,5 +5,4 @@ TRUNCATE TABLE tb_product;
 TRUNCATE TABLE tb_category;
 SET REFERENTIAL_INTEGRITY TRUE;
 
-ALTER TABLE tb_product  ALTER COLUMN id RESTART WITH 1;
 ALTER TABLE tb_category ALTER COLUMN id RESTART WITH 1;
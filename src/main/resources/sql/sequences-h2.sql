@@ -0,0 +1,4 @@
+-- Ids vindos das sequences começam acima dos ids explícitos usados pelos scripts de seed.
+-- O Hibernate guarda blocos de ids em memória, então os scripts de limpeza não reiniciam estas sequences.
+ALTER SEQUENCE tb_product_seq RESTART WITH 1000;
+ALTER SEQUENCE tb_order_seq RESTART WITH 1000;
@@ -1,7 +1,9 @@
 package com.resftul.dscommerce.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.resftul.dscommerce.dto.CategoryDTO;
 import com.resftul.dscommerce.service.CategoryService;
+import com.resftul.dscommerce.snapshot.CategorySnapshot;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,9 +17,15 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -31,6 +39,9 @@ class CategoryControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockitoBean
     private CategoryService categoryService;
 
@@ -42,19 +53,22 @@ class CategoryControllerTest {
         }
     }
 
+    private CategorySnapshot snapshot(CategoryDTO... categories) {
+        return CategorySnapshot.of(List.of(categories), objectMapper);
+    }
+
     @Test
     @DisplayName("GET /categories -> 200 e lista JSON (array de strings por causa do @JsonValue)")
     void findAll_ok() throws Exception {
-        when(categoryService.findAll()).thenReturn(
-                List.of(
-                        new CategoryDTO(1L, "Livros"),
-                        new CategoryDTO(2L, "Acessórios")
-                )
-        );
+        when(categoryService.snapshot()).thenReturn(snapshot(
+                new CategoryDTO(1L, "Livros"),
+                new CategoryDTO(2L, "Acessórios")
+        ));
 
         mockMvc.perform(get("/categories"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andExpect(header().doesNotExist("Content-Encoding"))
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0]").value("Livros"))
                 .andExpect(jsonPath("$[1]").value("Acessórios"));
@@ -63,11 +77,56 @@ class CategoryControllerTest {
     @Test
     @DisplayName("GET /categories -> 200 e lista vazia []")
     void findAll_empty() throws Exception {
-        when(categoryService.findAll()).thenReturn(List.of());
+        when(categoryService.snapshot()).thenReturn(snapshot());
 
         mockMvc.perform(get("/categories"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(0)));
     }
+
+    @Test
+    @DisplayName("GET /categories com If-None-Match igual ao ETag -> 304 servido pelo snapshot, sem consultar categorias")
+    void findAll_notModified_whenETagMatches() throws Exception {
+        when(categoryService.snapshot()).thenReturn(snapshot(new CategoryDTO(1L, "Livros")));
+
+        String eTag = mockMvc.perform(get("/categories"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/categories").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+
+        verify(categoryService, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("GET /categories com Accept-Encoding: gzip -> bytes gzip pré-renderizados com ETag próprio")
+    void findAll_gzip() throws Exception {
+        CategorySnapshot snapshot = snapshot(new CategoryDTO(1L, "Livros"));
+        when(categoryService.snapshot()).thenReturn(snapshot);
+
+        var response = mockMvc.perform(get("/categories").header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().string("ETag", snapshot.gzip().eTag()))
+                .andReturn()
+                .getResponse();
+
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), UTF_8)).isEqualTo("[\"Livros\"]");
+        }
+        assertThat(snapshot.gzip().eTag()).isNotEqualTo(snapshot.identity().eTag());
+
+        mockMvc.perform(get("/categories").header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("ETag", snapshot.identity().eTag()));
+    }
 }
@@ -1,9 +1,21 @@
 package com.resftul.dscommerce.controller;
 
+import com.resftul.dscommerce.dto.order.OrderBulkStatusDTO;
+import com.resftul.dscommerce.dto.order.OrderBulkStatusReport;
 import com.resftul.dscommerce.dto.order.OrderDTO;
+import com.resftul.dscommerce.dto.order.OrderFilter;
+import com.resftul.dscommerce.dto.order.OrderRevenueDTO;
+import com.resftul.dscommerce.dto.order.OrderStatusDTO;
+import com.resftul.dscommerce.exception.InvalidStatusTransitionException;
 import com.resftul.dscommerce.entity.OrderStatus;
 import com.resftul.dscommerce.exception.ResourceNotFoundException;
+import com.resftul.dscommerce.idempotency.IdempotencyStore;
+import com.resftul.dscommerce.ingest.OrderGroupCommitter;
+import com.resftul.dscommerce.pagination.CursorPage;
 import com.resftul.dscommerce.service.OrderService;
+import com.resftul.dscommerce.service.OrderStatusService;
+import com.resftul.dscommerce.service.PaymentService;
+import com.resftul.dscommerce.service.UserService;
 import com.resftul.dscommerce.util.TestSecurityConfig;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,25 +33,33 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static com.resftul.dscommerce.entity.OrderStatus.WAITING_PAYMENT;
 import static org.hamcrest.Matchers.endsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = OrderController.class)
 @AutoConfigureMockMvc
 @ActiveProfiles("h2")
-@Import({ TestSecurityConfig.class, OrderControllerTest.TestMethodSecurityConfig.class })
+@Import({ TestSecurityConfig.class, OrderControllerTest.TestMethodSecurityConfig.class, IdempotencyStore.class })
 class OrderControllerTest {
 
     @Autowired
@@ -48,6 +68,18 @@ class OrderControllerTest {
     @MockitoBean
     private OrderService orderService;
 
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private OrderGroupCommitter orderGroupCommitter;
+
+    @MockitoBean
+    private OrderStatusService orderStatusService;
+
+    @MockitoBean
+    private PaymentService paymentService;
+
     @TestConfiguration
     static class TestBeans {
         @Bean
@@ -124,15 +156,16 @@ class OrderControllerTest {
         var orderDto1 = orderDto(10L, WAITING_PAYMENT);
         var orderDto2 = orderDto(11L, OrderStatus.PAID);
 
-        when(orderService.listAll()).thenReturn(List.of(orderDto1, orderDto2));
+        when(orderService.findAll(OrderFilter.none(), null, 20))
+                .thenReturn(new CursorPage<>(List.of(orderDto1, orderDto2), 20, null));
 
         mockMvc.perform(get("/orders"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].id").value(10))
-                .andExpect(jsonPath("$[0].status").value("WAITING_PAYMENT"))
-                .andExpect(jsonPath("$[1].id").value(11))
-                .andExpect(jsonPath("$[1].status").value("PAID"));
+                .andExpect(jsonPath("$.content[0].id").value(10))
+                .andExpect(jsonPath("$.content[0].status").value("WAITING_PAYMENT"))
+                .andExpect(jsonPath("$.content[1].id").value(11))
+                .andExpect(jsonPath("$.content[1].status").value("PAID"));
     }
 
     @Test
@@ -142,7 +175,7 @@ class OrderControllerTest {
         mockMvc.perform(get("/orders"))
                 .andExpect(status().isForbidden());
 
-        verify(orderService, never()).listAll();
+        verify(orderService, never()).findAll(any(), any(), anyInt());
     }
 
     @Test
@@ -151,7 +184,52 @@ class OrderControllerTest {
         mockMvc.perform(get("/orders"))
                 .andExpect(status().isForbidden());
 
-        verify(orderService, never()).listAll();
+        verify(orderService, never()).findAll(any(), any(), anyInt());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("GET /orders/revenue -> 200 com quantidade de pedidos e total filtrados (ADMIN)")
+    void revenue_ok_admin() throws Exception {
+        when(orderService.revenue(new OrderFilter(OrderStatus.PAID, null, null, null)))
+                .thenReturn(new OrderRevenueDTO(4L, new BigDecimal("1234.50")));
+
+        mockMvc.perform(get("/orders/revenue").param("status", "PAID"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders").value(4))
+                .andExpect(jsonPath("$.total").value(1234.50));
+    }
+
+    @Test
+    @WithMockUser(roles = {"CLIENT"})
+    @DisplayName("GET /orders/revenue -> 403 para CLIENT")
+    void revenue_forbidden_client() throws Exception {
+        mockMvc.perform(get("/orders/revenue"))
+                .andExpect(status().isForbidden());
+
+        verify(orderService, never()).revenue(any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"CLIENT"})
+    @DisplayName("GET /orders/mine -> 200 com a página de pedidos do CLIENT")
+    void findMine_ok_client() throws Exception {
+        var orderDto1 = orderDto(11L, OrderStatus.PAID);
+        when(orderService.findMine("abc", 5)).thenReturn(new CursorPage<>(List.of(orderDto1), 5, null));
+
+        mockMvc.perform(get("/orders/mine").param("after", "abc").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(11))
+                .andExpect(jsonPath("$.size").value(5));
+    }
+
+    @Test
+    @DisplayName("GET /orders/mine -> 403 quando não autenticado")
+    void findMine_forbidden_unauthenticated() throws Exception {
+        mockMvc.perform(get("/orders/mine"))
+                .andExpect(status().isForbidden());
+
+        verify(orderService, never()).findMine(any(), anyInt());
     }
 
     @Test
@@ -181,6 +259,61 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.status").value("WAITING_PAYMENT"));
     }
 
+    @Test
+    @WithMockUser(roles = {"CLIENT"})
+    @DisplayName("POST /orders com Idempotency-Key repetida -> mesmo pedido, serviço chamado uma única vez")
+    void insert_idempotencyKey_replaysStoredResult() throws Exception {
+        var saved = orderDto(999L, WAITING_PAYMENT);
+        when(orderService.insert(any(OrderDTO.class))).thenReturn(saved);
+        when(userService.authenticatedUsername()).thenReturn("bruno@example.com");
+
+        String requestJson = """
+        {
+          "items": [
+            { "productId": 1, "quantity": 2 }
+          ]
+        }
+        """;
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/orders")
+                            .with(csrf())
+                            .header(IdempotencyStore.HEADER, "retry-1")
+                            .contentType(APPLICATION_JSON)
+                            .content(requestJson))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Location", endsWith("/orders/999")))
+                    .andExpect(jsonPath("$.id").value(999));
+        }
+
+        verify(orderService, times(1)).insert(any(OrderDTO.class));
+    }
+
+    @Test
+    @WithMockUser(roles = {"CLIENT"})
+    @DisplayName("POST /orders com Idempotency-Key reutilizada em outro corpo -> 422 sem chamar o serviço de novo")
+    void insert_idempotencyKey_differentBody_unprocessable() throws Exception {
+        when(orderService.insert(any(OrderDTO.class))).thenReturn(orderDto(999L, WAITING_PAYMENT));
+        when(userService.authenticatedUsername()).thenReturn("bruno@example.com");
+
+        mockMvc.perform(post("/orders")
+                        .with(csrf())
+                        .header(IdempotencyStore.HEADER, "retry-2")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"items\": [{\"productId\": 1, \"quantity\": 2}]}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/orders")
+                        .with(csrf())
+                        .header(IdempotencyStore.HEADER, "retry-2")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"items\": [{\"productId\": 1, \"quantity\": 3}]}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$[0].errorCode").value("IDEMPOTENCY_KEY_REUSED"));
+
+        verify(orderService, times(1)).insert(any(OrderDTO.class));
+    }
+
     @Test
     @WithMockUser(roles = {"CLIENT"})
     @DisplayName("POST /orders -> 400 Bad Request quando validação falha (items vazio)")
@@ -202,6 +335,49 @@ class OrderControllerTest {
         verify(orderService, never()).insert(any(OrderDTO.class));
     }
 
+    @Test
+    @WithMockUser(roles = {"CLIENT"})
+    @DisplayName("POST /orders -> 400 quando a quantidade de um item é negativa")
+    void insert_badRequest_negativeQuantity() throws Exception {
+        String invalidJson = """
+        {
+          "items": [ { "productId": 1, "quantity": -5 } ]
+        }
+        """;
+
+        mockMvc.perform(post("/orders")
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content(invalidJson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0].errorCode").value("METHOD_ARGUMENT_NOT_VALID_ERROR"))
+                .andExpect(jsonPath("$[0].field").value("items[0].quantity"));
+
+        verify(orderService, never()).insert(any(OrderDTO.class));
+    }
+
+    @Test
+    @WithMockUser(roles = {"CLIENT"})
+    @DisplayName("POST /orders -> 400 quando um item não informa a quantidade")
+    void insert_badRequest_missingQuantity() throws Exception {
+        String invalidJson = """
+        {
+          "items": [ { "productId": 1 } ]
+        }
+        """;
+
+        mockMvc.perform(post("/orders")
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content(invalidJson))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0].errorCode").value("METHOD_ARGUMENT_NOT_VALID_ERROR"))
+                .andExpect(jsonPath("$[0].field").value("items[0].quantity"))
+                .andExpect(jsonPath("$[0].message").value("Quantidade é obrigatória"));
+
+        verify(orderService, never()).insert(any(OrderDTO.class));
+    }
+
     @Test
     @WithMockUser(roles = {"CLIENT"})
     @DisplayName("POST /orders -> 415 quando Content-Type não é application/json")
@@ -278,4 +454,118 @@ class OrderControllerTest {
 
         verify(orderService, never()).insert(any(OrderDTO.class));
     }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("PATCH /orders/{id}/status -> 200 com o pedido no novo status (ADMIN)")
+    void updateStatus_ok_admin() throws Exception {
+        when(orderStatusService.transition(eq(1L), any(OrderStatusDTO.class)))
+                .thenReturn(orderDto(1L, OrderStatus.SHIPPED));
+
+        mockMvc.perform(patch("/orders/{id}/status", 1L)
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"status\": \"SHIPPED\", \"version\": 0 }"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SHIPPED"));
+
+        verify(orderStatusService).transition(1L, new OrderStatusDTO(OrderStatus.SHIPPED, 0L));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("PATCH /orders/{id}/status -> 409 quando a transição não é permitida")
+    void updateStatus_invalidTransition_conflict() throws Exception {
+        when(orderStatusService.transition(eq(1L), any(OrderStatusDTO.class)))
+                .thenThrow(new InvalidStatusTransitionException(OrderStatus.DELIVERED, OrderStatus.PAID));
+
+        mockMvc.perform(patch("/orders/{id}/status", 1L)
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"status\": \"PAID\" }"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$[0].errorCode").value("INVALID_STATUS_TRANSITION"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("PATCH /orders/{id}/status -> 400 sem status")
+    void updateStatus_missingStatus_badRequest() throws Exception {
+        mockMvc.perform(patch("/orders/{id}/status", 1L)
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ }"))
+                .andExpect(status().isBadRequest());
+
+        verify(orderStatusService, never()).transition(anyLong(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"CLIENT"})
+    @DisplayName("PATCH /orders/{id}/status -> 403 para CLIENT")
+    void updateStatus_forbidden_client() throws Exception {
+        mockMvc.perform(patch("/orders/{id}/status", 1L)
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"status\": \"CANCELED\" }"))
+                .andExpect(status().isForbidden());
+
+        verify(orderStatusService, never()).transition(anyLong(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("PATCH /orders/status -> 200 com o relatório da mudança em lote (ADMIN)")
+    void updateStatusInBulk_ok_admin() throws Exception {
+        var report = new OrderBulkStatusReport(OrderStatus.SHIPPED, 3);
+        report.updated(2);
+        report.rejected(List.of(7L));
+        when(orderStatusService.transitionAll(any(OrderBulkStatusDTO.class))).thenReturn(report);
+
+        mockMvc.perform(patch("/orders/status")
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"status\": \"SHIPPED\", \"orderIds\": [5, 6, 7] }"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.rejectedIds[0]").value(7));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("PATCH /orders/status -> 400 com lista de pedidos vazia")
+    void updateStatusInBulk_empty_badRequest() throws Exception {
+        mockMvc.perform(patch("/orders/status")
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"status\": \"SHIPPED\", \"orderIds\": [] }"))
+                .andExpect(status().isBadRequest());
+
+        verify(orderStatusService, never()).transitionAll(any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"CLIENT"})
+    @DisplayName("POST /orders/{id}/payment -> processamento assíncrono e 200 com o pedido pago (CLIENT)")
+    void pay_ok_async() throws Exception {
+        when(paymentService.pay(1L)).thenReturn(CompletableFuture.completedFuture(orderDto(1L, OrderStatus.PAID)));
+
+        var started = mockMvc.perform(post("/orders/{id}/payment", 1L).with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PAID"));
+    }
+
+    @Test
+    @DisplayName("POST /orders/{id}/payment -> 403 quando não autenticado")
+    void pay_forbidden_unauthenticated() throws Exception {
+        mockMvc.perform(post("/orders/{id}/payment", 1L).with(csrf()))
+                .andExpect(status().isForbidden());
+
+        verify(paymentService, never()).pay(anyLong());
+    }
 }
@@ -1,12 +1,22 @@
 package com.resftul.dscommerce.controller;
 
+import com.resftul.dscommerce.config.CacheConfig;
 import com.resftul.dscommerce.dto.CategoryDTO;
 import com.resftul.dscommerce.dto.product.ProductDTO;
+import com.resftul.dscommerce.dto.product.ProductImportReport;
 import com.resftul.dscommerce.dto.product.ProductMinDTO;
+import com.resftul.dscommerce.dto.product.ProductStockDTO;
+import com.resftul.dscommerce.dto.product.ProductSuggestionDTO;
 import com.resftul.dscommerce.exception.ProductAlreadyExistsException;
 import com.resftul.dscommerce.exception.ResourceNotFoundException;
+import com.resftul.dscommerce.importer.ImportFormat;
+import com.resftul.dscommerce.pagination.CursorPage;
+import com.resftul.dscommerce.service.ProductExportService;
+import com.resftul.dscommerce.service.ProductImportService;
 import com.resftul.dscommerce.service.ProductService;
+import com.resftul.dscommerce.service.StockService;
 import com.resftul.dscommerce.util.TestSecurityConfig;
+import com.resftul.dscommerce.versioning.CatalogVersions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -35,6 +45,7 @@ import java.util.List;
 import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
@@ -42,6 +53,7 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
@@ -55,7 +67,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(controllers = ProductController.class)
 @AutoConfigureMockMvc
 @ActiveProfiles("h2")
-@Import({ TestSecurityConfig.class, ProductControllerTest.TestMethodSecurityConfig.class })
+@Import({ TestSecurityConfig.class, ProductControllerTest.TestMethodSecurityConfig.class, CacheConfig.class, CatalogVersions.class })
 class ProductControllerTest {
 
     @Autowired
@@ -64,6 +76,15 @@ class ProductControllerTest {
     @MockitoBean
     private ProductService productService;
 
+    @MockitoBean
+    private ProductImportService productImportService;
+
+    @MockitoBean
+    private ProductExportService productExportService;
+
+    @MockitoBean
+    private StockService stockService;
+
     @TestConfiguration
     static class TestBeans {
         @Bean
@@ -95,6 +116,32 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.name").value("Notebook"));
     }
 
+    @Test
+    @DisplayName("GET /products/{id}: devolve ETag forte; If-None-Match igual -> 304 sem chamar o serviço")
+    void findById_conditionalGet() throws Exception {
+        when(productService.findById(1L)).thenReturn(new ProductDTO(
+                1L, "Notebook", "desc",
+                new BigDecimal("5499.90"),
+                "https://img.example/notebook.jpg",
+                List.of(new CategoryDTO(1L, "Informática"))
+        ));
+
+        String eTag = mockMvc.perform(get("/products/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"p1-")))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/products/{id}", 1L).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/products/{id}", 2L).header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+
+        verify(productService).findById(1L);
+    }
+
     @Test
     @DisplayName("GET /products/{id} -> 406 quando Accept não suportado")
     void findById_notAcceptable() throws Exception {
@@ -193,6 +240,81 @@ class ProductControllerTest {
         assertTrue(requireNonNull(captorValue.getSort().getOrderFor("name")).isAscending());
     }
 
+    @Test
+    @DisplayName("GET /products?after=&size=2 -> 200 em modo cursor com content e nextCursor, sem metadados de página")
+    void findAll_cursorMode() throws Exception {
+        var product = new ProductMinDTO(new com.resftul.dscommerce.entity.Product(
+                10L, "PC Gamer", "d", new BigDecimal("3500.00"), "https://img/pc1.jpg"
+        ));
+        when(productService.findAll(eq("pc"), eq(""), eq(2)))
+                .thenReturn(new CursorPage<>(List.of(product), 2, "MTB8UEMgR2FtZXI"));
+
+        mockMvc.perform(get("/products")
+                        .param("name", "pc")
+                        .param("after", "")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(10))
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("MTB8UEMgR2FtZXI"))
+                .andExpect(jsonPath("$.page").doesNotExist());
+
+        verify(productService, never()).findAll(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /products?ids= e POST /products/batch -> 200 com os produtos na ordem pedida")
+    void findAllById_getAndPost() throws Exception {
+        var products = List.of(
+                new ProductDTO(3L, "Mouse", "d", new BigDecimal("99.90"), "https://img/3.jpg", List.of()),
+                new ProductDTO(1L, "PC Gamer", "d", new BigDecimal("3500.00"), "https://img/1.jpg", List.of())
+        );
+        when(productService.findAllById(List.of(3L, 1L))).thenReturn(products);
+
+        mockMvc.perform(get("/products").param("ids", "3,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[1].id").value(1));
+
+        mockMvc.perform(post("/products/batch").contentType(APPLICATION_JSON).content("[3, 1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Mouse"))
+                .andExpect(jsonPath("$[1].name").value("PC Gamer"));
+
+        verify(productService, never()).findAll(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /products com ids, categoryId e after combinados -> 400 sem consultar o serviço")
+    void findAll_combinedModes_badRequest() throws Exception {
+        mockMvc.perform(get("/products").param("ids", "1").param("after", "x"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0].errorCode").value("INVALID_ARGUMENT"));
+        mockMvc.perform(get("/products").param("categoryId", "1").param("after", "x"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products").param("ids", "1").param("categoryId", "1").param("after", "x"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @DisplayName("GET /products/suggest?prefix= -> 200 com sugestões sem confundir com /products/{id}")
+    void suggest_ok() throws Exception {
+        when(productService.suggest("mou", 10)).thenReturn(List.of(
+                new ProductSuggestionDTO(4L, "Mouse Gamer"),
+                new ProductSuggestionDTO(2L, "Mousepad")
+        ));
+
+        mockMvc.perform(get("/products/suggest").param("prefix", "mou"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(4))
+                .andExpect(jsonPath("$[0].name").value("Mouse Gamer"))
+                .andExpect(jsonPath("$[1].id").value(2));
+
+        verify(productService, never()).findById(anyLong());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     @DisplayName("POST /products -> 201 Created, Location e corpo com id e name (payload válido)")
@@ -375,6 +497,45 @@ class ProductControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PUT /products/{id}/stock -> 200 com o novo estoque")
+    void updateStock_ok() throws Exception {
+        when(stockService.updateStock(eq(7L), any(ProductStockDTO.class))).thenReturn(new ProductStockDTO(7L, 40));
+
+        mockMvc.perform(put("/products/{id}/stock", 7L)
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"stock\": 40 }"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value(7))
+                .andExpect(jsonPath("$.stock").value(40));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PUT /products/{id}/stock -> 400 para estoque negativo")
+    void updateStock_negative_badRequest() throws Exception {
+        mockMvc.perform(put("/products/{id}/stock", 7L)
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"stock\": -1 }"))
+                .andExpect(status().isBadRequest());
+
+        verify(stockService, never()).updateStock(any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    @DisplayName("PUT /products/{id}/stock -> 403 para CLIENT")
+    void updateStock_forbidden_client() throws Exception {
+        mockMvc.perform(put("/products/{id}/stock", 7L)
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"stock\": 40 }"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     @DisplayName("DELETE /products/{id} -> 204 No Content")
@@ -444,4 +605,46 @@ class ProductControllerTest {
 
         verify(productService, never()).insert(any(ProductDTO.class));
     }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /products/import (ndjson/csv) -> 200 e delega o corpo ao ProductImportService com o formato certo")
+    void import_admin_delegatesByContentType() throws Exception {
+        var report = new ProductImportReport();
+        report.received();
+        report.imported(1);
+        when(productImportService.importProducts(any(), eq(ImportFormat.NDJSON))).thenReturn(report);
+        when(productImportService.importProducts(any(), eq(ImportFormat.CSV))).thenReturn(new ProductImportReport());
+
+        mockMvc.perform(post("/products/import")
+                        .with(csrf())
+                        .contentType("application/x-ndjson")
+                        .content("{\"name\":\"PC\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(1))
+                .andExpect(jsonPath("$.imported").value(1));
+
+        mockMvc.perform(post("/products/import")
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content("name,price,categories\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(0));
+
+        verify(productImportService).importProducts(any(), eq(ImportFormat.NDJSON));
+        verify(productImportService).importProducts(any(), eq(ImportFormat.CSV));
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    @DisplayName("POST /products/import -> 403 para CLIENT")
+    void import_forbidden_forClient() throws Exception {
+        mockMvc.perform(post("/products/import")
+                        .with(csrf())
+                        .contentType("application/x-ndjson")
+                        .content("{}\n"))
+                .andExpect(status().isForbidden());
+
+        verify(productImportService, never()).importProducts(any(), any());
+    }
 }
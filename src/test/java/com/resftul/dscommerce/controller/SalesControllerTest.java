@@ -0,0 +1,133 @@
+package com.resftul.dscommerce.controller;
+
+import com.resftul.dscommerce.dto.sales.SalesBucketDTO;
+import com.resftul.dscommerce.service.SalesService;
+import com.resftul.dscommerce.util.TestSecurityConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static com.resftul.dscommerce.entity.SalesDimension.CATEGORY;
+import static com.resftul.dscommerce.entity.SalesDimension.PRODUCT;
+import static com.resftul.dscommerce.entity.SalesGranularity.DAY;
+import static com.resftul.dscommerce.entity.SalesGranularity.HOUR;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = SalesController.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Import({ TestSecurityConfig.class, SalesControllerTest.TestMethodSecurityConfig.class })
+class SalesControllerTest {
+
+    private static final Instant JAN_1 = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Instant JAN_8 = Instant.parse("2025-01-08T00:00:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SalesService salesService;
+
+    @TestConfiguration
+    static class TestBeans {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+
+    @TestConfiguration
+    @EnableMethodSecurity(jsr250Enabled = true, proxyTargetClass = true)
+    static class TestMethodSecurityConfig {
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("GET /sales/products/{id} -> 200 com os baldes do período (ADMIN)")
+    void productSeries_ok_admin() throws Exception {
+        when(salesService.series(PRODUCT, 1L, DAY, JAN_1, JAN_8))
+                .thenReturn(List.of(new SalesBucketDTO(1L, DAY, JAN_1, 3L, new BigDecimal("17999.70"), 2L)));
+
+        mockMvc.perform(get("/sales/products/{id}", 1L)
+                        .param("from", "2025-01-01T00:00:00Z")
+                        .param("to", "2025-01-08T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].granularity").value("DAY"))
+                .andExpect(jsonPath("$[0].units").value(3))
+                .andExpect(jsonPath("$[0].revenue").value(17999.70))
+                .andExpect(jsonPath("$[0].orders").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("GET /sales/categories/top -> 200 com o ranking do balde pedido (ADMIN)")
+    void topCategories_ok_admin() throws Exception {
+        when(salesService.top(CATEGORY, HOUR, JAN_1, 5)).thenReturn(List.of());
+
+        mockMvc.perform(get("/sales/categories/top")
+                        .param("granularity", "HOUR")
+                        .param("at", "2025-01-01T00:00:00Z")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("GET /sales/products/{id} com intervalo inválido -> 400")
+    void productSeries_invalidRange_badRequest() throws Exception {
+        when(salesService.series(any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Intervalo inválido: 'from' deve ser anterior a 'to'"));
+
+        mockMvc.perform(get("/sales/products/{id}", 1L)
+                        .param("from", "2025-01-08T00:00:00Z")
+                        .param("to", "2025-01-01T00:00:00Z"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0].errorCode").value("INVALID_ARGUMENT"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("GET /sales/products/top?granularity=WEEK -> 400")
+    void top_unknownGranularity_badRequest() throws Exception {
+        mockMvc.perform(get("/sales/products/top").param("granularity", "WEEK"))
+                .andExpect(status().isBadRequest());
+
+        verify(salesService, never()).top(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @WithMockUser(roles = {"CLIENT"})
+    @DisplayName("GET /sales/products/top -> 403 para CLIENT")
+    void top_forbidden_client() throws Exception {
+        mockMvc.perform(get("/sales/products/top"))
+                .andExpect(status().isForbidden());
+
+        verify(salesService, never()).top(any(), any(), any(), anyInt());
+    }
+}
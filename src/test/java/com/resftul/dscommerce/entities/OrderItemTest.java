@@ -72,4 +72,14 @@ class OrderItemTest {
         OrderItem oi3 = new OrderItem(order, new Product(), 1, null);
         assertThat(orderItem1).isNotEqualTo(oi3);
     }
+
+    @Test
+    @DisplayName("getSubTotalCents(): preço x quantidade em centavos, sem erro de ponto flutuante")
+    void subTotalCents_exact() {
+        OrderItem orderItem = new OrderItem(new Order(), new Product(), 3, new BigDecimal("0.10"));
+        assertThat(orderItem.getSubTotalCents()).isEqualTo(30L);
+
+        assertThat(new OrderItem(new Order(), new Product(), 2, new BigDecimal("79.9")).getSubTotalCents()).isEqualTo(15980L);
+        assertThat(new OrderItem(new Order(), new Product(), 1, null).getSubTotalCents()).isZero();
+    }
 }
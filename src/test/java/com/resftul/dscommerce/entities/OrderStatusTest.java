@@ -0,0 +1,38 @@
+package com.resftul.dscommerce.entities;
+
+import com.resftul.dscommerce.entity.OrderStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.resftul.dscommerce.entity.OrderStatus.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderStatusTest {
+
+    @Test
+    @DisplayName("next(): pagamento -> envio -> entrega, com cancelamento apenas antes do envio")
+    void next_transitions() {
+        assertThat(WAITING_PAYMENT.next()).containsExactlyInAnyOrder(PAID, CANCELED);
+        assertThat(PAID.next()).containsExactlyInAnyOrder(SHIPPED, CANCELED);
+        assertThat(SHIPPED.next()).containsExactly(DELIVERED);
+        assertThat(DELIVERED.next()).isEmpty();
+        assertThat(CANCELED.next()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("canTransitionTo(): não volta atrás nem repete o status atual")
+    void canTransitionTo_rejectsBackwardsAndSame() {
+        assertThat(PAID.canTransitionTo(SHIPPED)).isTrue();
+        assertThat(SHIPPED.canTransitionTo(PAID)).isFalse();
+        assertThat(SHIPPED.canTransitionTo(SHIPPED)).isFalse();
+        assertThat(SHIPPED.canTransitionTo(CANCELED)).isFalse();
+    }
+
+    @Test
+    @DisplayName("sourcesOf(): status de origem válidos para cada destino")
+    void sourcesOf_invertsTransitions() {
+        assertThat(OrderStatus.sourcesOf(SHIPPED)).containsExactly(PAID);
+        assertThat(OrderStatus.sourcesOf(CANCELED)).containsExactlyInAnyOrder(WAITING_PAYMENT, PAID);
+        assertThat(OrderStatus.sourcesOf(WAITING_PAYMENT)).isEmpty();
+    }
+}
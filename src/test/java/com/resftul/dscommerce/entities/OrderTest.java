@@ -3,11 +3,13 @@ package com.resftul.dscommerce.entities;
 import com.resftul.dscommerce.entity.Order;
 import com.resftul.dscommerce.entity.OrderItem;
 import com.resftul.dscommerce.entity.Product;
+import com.resftul.dscommerce.exception.InvalidStatusTransitionException;
 import jakarta.persistence.*;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Set;
@@ -15,7 +17,11 @@ import java.util.Set;
 import static jakarta.persistence.CascadeType.ALL;
 import static jakarta.persistence.FetchType.EAGER;
 import static jakarta.persistence.FetchType.LAZY;
+import static com.resftul.dscommerce.entity.OrderStatus.DELIVERED;
+import static com.resftul.dscommerce.entity.OrderStatus.PAID;
+import static com.resftul.dscommerce.entity.OrderStatus.SHIPPED;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class OrderTest {
 
@@ -99,6 +105,46 @@ class OrderTest {
                 .containsExactlyInAnyOrder("P1", "P2");
     }
 
+    @Test
+    @DisplayName("addItem() acumula o total em centavos; item repetido não soma duas vezes")
+    void addItem_accumulates_totalCents() {
+        Order order = new Order();
+        order.setId(1L);
+        Product product1 = new Product();
+        product1.setId(1L);
+        Product product2 = new Product();
+        product2.setId(2L);
+
+        order.addItem(new OrderItem(order, product1, 1, new BigDecimal("5999.90")));
+        order.addItem(new OrderItem(order, product2, 2, new BigDecimal("79.90")));
+        order.addItem(new OrderItem(order, product2, 2, new BigDecimal("79.90")));
+
+        assertThat(order.getItems()).hasSize(2);
+        assertThat(order.getTotalCents()).isEqualTo(615970L);
+    }
+
+    @Test
+    @DisplayName("@Version no campo version")
+    void version_annotated() throws Exception {
+        assertThat(Order.class.getDeclaredField("version").getAnnotation(Version.class)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("transitionTo(): aplica transição válida e rejeita a inválida sem alterar o status")
+    void transitionTo_validatesTransition() {
+        Order order = new Order();
+        order.setOrderStatus(PAID);
+
+        order.transitionTo(SHIPPED);
+        assertThat(order.getOrderStatus()).isEqualTo(SHIPPED);
+
+        assertThrows(InvalidStatusTransitionException.class, () -> order.transitionTo(PAID));
+        assertThat(order.getOrderStatus()).isEqualTo(SHIPPED);
+
+        order.transitionTo(DELIVERED);
+        assertThat(order.getOrderStatus()).isEqualTo(DELIVERED);
+    }
+
     @Test
     @DisplayName("equals/hashCode baseados em id")
     void equals_and_hashCode_by_id() {
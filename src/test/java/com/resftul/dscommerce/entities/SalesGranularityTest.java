@@ -0,0 +1,29 @@
+package com.resftul.dscommerce.entities;
+
+import com.resftul.dscommerce.entity.SalesGranularity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalesGranularityTest {
+
+    @Test
+    @DisplayName("bucketOf: trunca o instante para o início da hora ou do dia em UTC")
+    void bucketOf_truncatesToUtcBoundary() {
+        Instant moment = Instant.parse("2025-01-02T23:59:59.999Z");
+
+        assertThat(SalesGranularity.HOUR.bucketOf(moment)).isEqualTo(Instant.parse("2025-01-02T23:00:00Z"));
+        assertThat(SalesGranularity.DAY.bucketOf(moment)).isEqualTo(Instant.parse("2025-01-02T00:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("length: uma hora e um dia")
+    void length() {
+        assertThat(SalesGranularity.HOUR.length()).isEqualTo(Duration.ofHours(1));
+        assertThat(SalesGranularity.DAY.length()).isEqualTo(Duration.ofDays(1));
+    }
+}
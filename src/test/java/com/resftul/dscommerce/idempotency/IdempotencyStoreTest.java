@@ -0,0 +1,109 @@
+package com.resftul.dscommerce.idempotency;
+
+import com.resftul.dscommerce.exception.IdempotencyKeyReusedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyStoreTest {
+
+    private static final String BODY = IdempotencyStore.fingerprint("POST", "/orders", "{\"items\":[]}".getBytes(UTF_8));
+
+    private final IdempotencyStore store = new IdempotencyStore(100, Duration.ofHours(1));
+
+    @Test
+    @DisplayName("execute: repetição com a mesma chave devolve o resultado gravado sem executar de novo")
+    void replay_returnsStoredResult() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String first = store.execute("ana", "k1", BODY, () -> "order-" + calls.incrementAndGet());
+        String second = store.execute("ana", "k1", BODY, () -> "order-" + calls.incrementAndGet());
+
+        assertThat(first).isEqualTo("order-1");
+        assertThat(second).isEqualTo("order-1");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("execute: a mesma chave de clientes diferentes não colide")
+    void sameKey_differentOwners_areIndependent() {
+        assertThat(store.execute("ana", "k1", BODY, () -> "a")).isEqualTo("a");
+        assertThat(store.execute("bruno", "k1", BODY, () -> "b")).isEqualTo("b");
+    }
+
+    @Test
+    @DisplayName("execute: repetição concorrente espera o resultado em andamento")
+    void concurrentRetry_waitsForInFlight() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<String> first = executor.submit(() -> store.execute("ana", "k1", BODY, () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "order-1";
+            }));
+            started.await(5, SECONDS);
+            Future<String> retry = executor.submit(() -> store.execute("ana", "k1", BODY, () -> "order-" + (1 + calls.incrementAndGet())));
+
+            Thread.sleep(50);
+            assertThat(retry.isDone()).isFalse();
+            release.countDown();
+
+            assertThat(first.get(5, SECONDS)).isEqualTo("order-1");
+            assertThat(retry.get(5, SECONDS)).isEqualTo("order-1");
+        }
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("execute: a mesma chave com outro corpo, método ou caminho é recusada sem executar a ação")
+    void sameKey_differentRequest_rejected() {
+        AtomicInteger calls = new AtomicInteger();
+        store.execute("ana", "k1", BODY, calls::incrementAndGet);
+
+        String otherBody = IdempotencyStore.fingerprint("POST", "/orders", "{\"items\":[1]}".getBytes(UTF_8));
+        String otherPath = IdempotencyStore.fingerprint("POST", "/orders/7/payment", "{\"items\":[]}".getBytes(UTF_8));
+        assertThrows(IdempotencyKeyReusedException.class, () -> store.execute("ana", "k1", otherBody, calls::incrementAndGet));
+        assertThrows(IdempotencyKeyReusedException.class, () -> store.execute("ana", "k1", otherPath, calls::incrementAndGet));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("execute: falha não é memorizada; a próxima tentativa executa de novo")
+    void failure_isNotStored() {
+        assertThrows(IllegalStateException.class,
+                () -> store.execute("ana", "k1", BODY, () -> { throw new IllegalStateException("boom"); }));
+
+        assertThat(store.execute("ana", "k1", BODY, () -> "order-2")).isEqualTo("order-2");
+    }
+
+    @Test
+    @DisplayName("execute: chave vazia ou longa demais é rejeitada")
+    void invalidKey_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> store.execute("ana", " ", BODY, () -> "x"));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.execute("ana", "k".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1), BODY, () -> "x"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
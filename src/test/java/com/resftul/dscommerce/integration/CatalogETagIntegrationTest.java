@@ -0,0 +1,82 @@
+package com.resftul.dscommerce.integration;
+
+import com.resftul.dscommerce.dto.CategoryDTO;
+import com.resftul.dscommerce.dto.product.ProductDTO;
+import com.resftul.dscommerce.dto.product.ProductStockDTO;
+import com.resftul.dscommerce.service.ProductService;
+import com.resftul.dscommerce.service.StockService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Sql(scripts = {"/sql/products/clean.sql", "/sql/products/seed-product-1.sql"}, executionPhase = BEFORE_TEST_METHOD)
+class CatalogETagIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Test
+    @DisplayName("GET /products/{id}: ETag muda após update pelo serviço e o ETag antigo deixa de gerar 304")
+    void productETag_changesAfterUpdate() throws Exception {
+        String before = mockMvc.perform(get("/products/{id}", 1L))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/products/{id}", 1L).header("If-None-Match", before))
+                .andExpect(status().isNotModified());
+
+        productService.update(1L, new ProductDTO(
+                1L,
+                "PC Gamer Pro",
+                "PC para jogos",
+                new BigDecimal("6999.90"),
+                "https://example.com/pc-gamer.jpg",
+                List.of(new CategoryDTO(1L, "Informática"))
+        ));
+
+        String after = mockMvc.perform(get("/products/{id}", 1L).header("If-None-Match", before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("PC Gamer Pro"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertThat(after).isNotEqualTo(before);
+        mockMvc.perform(get("/products/{id}", 1L).header("If-None-Match", after))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /products/{id}: estoque não faz parte do corpo, então alterá-lo mantém o ETag e o 304")
+    void productETag_keptAfterStockUpdate() throws Exception {
+        String before = mockMvc.perform(get("/products/{id}", 1L))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        stockService.updateStock(1L, new ProductStockDTO(1L, 5));
+
+        mockMvc.perform(get("/products/{id}", 1L).header("If-None-Match", before))
+                .andExpect(status().isNotModified());
+    }
+}
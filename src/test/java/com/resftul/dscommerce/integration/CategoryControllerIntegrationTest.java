@@ -1,7 +1,9 @@
 package com.resftul.dscommerce.integration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.resftul.dscommerce.dto.CategoryDTO;
 import com.resftul.dscommerce.service.CategoryService;
+import com.resftul.dscommerce.snapshot.CategorySnapshot;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,14 +28,17 @@ class CategoryControllerIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockitoBean
     private CategoryService categoryService;
 
     @Test
     @DisplayName("GET /categories -> 200 e lista JSON (alias de rota)")
     void findAll_ok_categoriesAlias() throws Exception {
-        when(categoryService.findAll()).thenReturn(
-                List.of(new CategoryDTO(1L, "Livros"))
+        when(categoryService.snapshot()).thenReturn(
+                CategorySnapshot.of(List.of(new CategoryDTO(1L, "Livros")), objectMapper)
         );
 
         mockMvc.perform(get("/categories"))
@@ -0,0 +1,61 @@
+package com.resftul.dscommerce.integration;
+
+import com.resftul.dscommerce.service.CategoryService;
+import com.resftul.dscommerce.util.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@TestPropertySource(properties = {
+        "catalog.index.enabled=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CategorySnapshotIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("GET /categories: com snapshot carregado não executa nenhum statement; refresh troca o conteúdo e o ETag")
+    @Sql(scripts = {"/sql/products/clean.sql", "/sql/products/seed-categories-basic.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    void servedFromSnapshot() throws Exception {
+        categoryService.refresh();
+        String eTag = categoryService.snapshot().identity().eTag();
+
+        StatementCounter statements = new StatementCounter(entityManagerFactory);
+        statements.reset();
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/categories"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0]").value("Informática"));
+        }
+        assertThat(statements.count()).isZero();
+
+        categoryService.refresh();
+        assertThat(categoryService.snapshot().identity().eTag()).isEqualTo(eTag);
+    }
+}
@@ -0,0 +1,234 @@
+package com.resftul.dscommerce.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import com.resftul.dscommerce.idempotency.IdempotencyStore;
+import com.resftul.dscommerce.util.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.LongStream;
+
+import static java.util.stream.Collectors.joining;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Sql(scripts = {"/sql/orders/clean.sql", "/sql/orders/seed-orders.sql"}, executionPhase = BEFORE_TEST_METHOD)
+class FetchPlanStatementCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static final int LARGE_ORDER_ITEMS = 40;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private StatementCounter statements;
+
+    @BeforeEach
+    void setUp() {
+        statements = new StatementCounter(entityManagerFactory);
+        statements.reset();
+    }
+
+    @Test
+    @DisplayName("GET /products/{id}: produto e categorias em um único statement")
+    void productDetail_singleStatement() throws Exception {
+        mockMvc.perform(get("/products/{id}", 1L).accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories", hasSize(2)));
+
+        assertThat(statements.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GET /products?ids=: vários produtos com categorias em um único statement, na ordem pedida")
+    void productMultiGet_singleStatement() throws Exception {
+        mockMvc.perform(get("/products").param("ids", "3,1,999,2").accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[1].id").value(1))
+                .andExpect(jsonPath("$[1].categories", hasSize(2)))
+                .andExpect(jsonPath("$[2].id").value(2));
+
+        assertThat(statements.count()).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(username = "ana@example.com", roles = {"ADMIN"})
+    @DisplayName("GET /orders/{id}: pedido, cliente, pagamento, itens e produtos em um único statement além do usuário autenticado")
+    void orderDetail_fixedStatements() throws Exception {
+        mockMvc.perform(get("/orders/{id}", 1L).accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.payment").exists());
+
+        // usuário autenticado + pedido com o grafo completo
+        assertThat(statements.count()).isEqualTo(2);
+    }
+
+    @Test
+    @WithMockUser(username = "ana@example.com", roles = {"ADMIN"})
+    @DisplayName("GET /orders (ADMIN): número de statements não cresce com a quantidade de pedidos e itens")
+    void adminOrderListing_fixedStatements() throws Exception {
+        mockMvc.perform(get("/orders").accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.content[0].items", hasSize(2)))
+                .andExpect(jsonPath("$.content[2].items[1].name").exists());
+
+        // ids da página (keyset) + pedidos com o grafo completo
+        assertThat(statements.count()).isEqualTo(2);
+    }
+
+    @Test
+    @WithMockUser(username = "ana@example.com", roles = {"ADMIN"})
+    @DisplayName("GET /orders?after= (ADMIN): página seguinte também em dois statements")
+    void adminOrderListing_nextPage_fixedStatements() throws Exception {
+        String body = mockMvc.perform(get("/orders").param("size", "1").accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String next = JsonPath.read(body, "$.nextCursor");
+        statements.reset();
+
+        mockMvc.perform(get("/orders").param("size", "2").param("after", next).accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+
+        assertThat(statements.count()).isEqualTo(2);
+    }
+
+    @Test
+    @WithMockUser(username = "bruno@example.com", roles = {"CLIENT"})
+    @DisplayName("GET /orders/mine: número de statements independe da quantidade de pedidos do cliente")
+    void clientOrderHistory_fixedStatements() throws Exception {
+        for (long id = 100; id < 100 + LARGE_ORDER_ITEMS; id++) {
+            jdbcTemplate.update(
+                    "INSERT INTO tb_order (id, moment, order_status, client_id, total, version) VALUES (?, TIMESTAMP '2025-02-01 10:00:00', 0, 2, 0, 0)",
+                    id
+            );
+            jdbcTemplate.update(
+                    "INSERT INTO tb_order_item (order_id, product_id, quantity, price) VALUES (?, 1, 1, 5999.90), (?, 2, 1, 79.90)",
+                    id, id
+            );
+        }
+
+        mockMvc.perform(get("/orders/mine").param("size", "50").accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(LARGE_ORDER_ITEMS + 2)))
+                .andExpect(jsonPath("$.content[0].id").value(100 + LARGE_ORDER_ITEMS - 1))
+                .andExpect(jsonPath("$.content[0].items", hasSize(2)));
+
+        // usuário autenticado + ids da página + pedidos com o grafo completo
+        assertThat(statements.count()).isEqualTo(3);
+    }
+
+    @Test
+    @WithMockUser(username = "bruno@example.com", roles = {"CLIENT"})
+    @DisplayName("POST /orders: produtos em um único SELECT e itens em um único batch, mesmo com 40 itens")
+    void orderInsert_fixedStatements() throws Exception {
+        for (long id = 4; id <= LARGE_ORDER_ITEMS; id++) {
+            jdbcTemplate.update(
+                    "INSERT INTO tb_product (id, name, description, price, img_url) VALUES (?, ?, 'd', 10.00, 'https://example.com/p.jpg')",
+                    id, "Produto " + id
+            );
+        }
+        String items = LongStream.rangeClosed(1, LARGE_ORDER_ITEMS)
+                .mapToObj("{ \"productId\": %d, \"quantity\": 1 }"::formatted)
+                .collect(joining(","));
+        statements.reset();
+
+        mockMvc.perform(post("/orders")
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .accept(APPLICATION_JSON)
+                        .content("{ \"items\": [" + items + "] }"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.items", hasSize(LARGE_ORDER_ITEMS)));
+
+        // usuário autenticado + produtos + pedido + um único batch com os INSERTs dos itens,
+        // mais a sequence quando o bloco de 50 ids já alocado no contexto se esgota;
+        // produtos sem controle de estoque não geram UPDATE de estoque
+        assertThat(statements.count()).isBetween(4L, 5L);
+    }
+
+    @Test
+    @WithMockUser(username = "bruno@example.com", roles = {"CLIENT"})
+    @DisplayName("POST /orders: produtos inexistentes -> 404 listando os ids, sem gravar o pedido")
+    void orderInsert_unknownProducts_notFound() throws Exception {
+        mockMvc.perform(post("/orders")
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .accept(APPLICATION_JSON)
+                        .content("""
+                                { "items": [
+                                  { "productId": 1, "quantity": 1 },
+                                  { "productId": 404, "quantity": 1 },
+                                  { "productId": 405, "quantity": 1 }
+                                ] }
+                                """))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$[0].message").value("Produtos não encontrados: [404, 405]"));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_order", Long.class)).isEqualTo(3);
+    }
+
+    @Test
+    @WithMockUser(username = "bruno@example.com", roles = {"CLIENT"})
+    @DisplayName("POST /orders com Idempotency-Key: a repetição devolve o mesmo pedido sem nenhum statement")
+    void orderInsert_idempotentReplay_noStatements() throws Exception {
+        String body = """
+                { "items": [ { "productId": 2, "quantity": 1 } ] }
+                """;
+        String first = mockMvc.perform(post("/orders")
+                        .with(csrf())
+                        .header(IdempotencyStore.HEADER, "bruno-retry-1")
+                        .contentType(APPLICATION_JSON)
+                        .accept(APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Integer orderId = JsonPath.read(first, "$.id");
+        statements.reset();
+
+        mockMvc.perform(post("/orders")
+                        .with(csrf())
+                        .header(IdempotencyStore.HEADER, "bruno-retry-1")
+                        .contentType(APPLICATION_JSON)
+                        .accept(APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(orderId));
+
+        assertThat(statements.count()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_order", Long.class)).isEqualTo(4);
+    }
+}
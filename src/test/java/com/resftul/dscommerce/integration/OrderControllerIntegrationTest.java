@@ -1,8 +1,10 @@
 package com.resftul.dscommerce.integration;
 
 import com.resftul.dscommerce.dto.order.OrderDTO;
+import com.resftul.dscommerce.dto.order.OrderFilter;
 import com.resftul.dscommerce.entity.OrderStatus;
 import com.resftul.dscommerce.exception.ResourceNotFoundException;
+import com.resftul.dscommerce.pagination.CursorPage;
 import com.resftul.dscommerce.service.OrderService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,6 +22,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.endsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_XML;
@@ -88,15 +91,16 @@ class OrderControllerIntegrationTest {
     void listAll_ok() throws Exception {
         var orderDto1 = orderDto(10L, OrderStatus.WAITING_PAYMENT);
         var orderDto2 = orderDto(11L, OrderStatus.PAID);
-        when(orderService.listAll()).thenReturn(List.of(orderDto1, orderDto2));
+        when(orderService.findAll(OrderFilter.none(), null, 20))
+                .thenReturn(new CursorPage<>(List.of(orderDto1, orderDto2), 20, null));
 
         mockMvc.perform(get("/orders").accept(APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].id").value(10))
-                .andExpect(jsonPath("$[0].status").value("WAITING_PAYMENT"))
-                .andExpect(jsonPath("$[1].id").value(11))
-                .andExpect(jsonPath("$[1].status").value("PAID"));
+                .andExpect(jsonPath("$.content[0].id").value(10))
+                .andExpect(jsonPath("$.content[0].status").value("WAITING_PAYMENT"))
+                .andExpect(jsonPath("$.content[1].id").value(11))
+                .andExpect(jsonPath("$.content[1].status").value("PAID"));
     }
 
     @Test
@@ -0,0 +1,185 @@
+package com.resftul.dscommerce.integration;
+
+import com.resftul.dscommerce.entity.Order;
+import com.resftul.dscommerce.entity.OrderItem;
+import com.resftul.dscommerce.entity.Product;
+import com.resftul.dscommerce.entity.User;
+import com.resftul.dscommerce.exception.InsufficientStockException;
+import com.resftul.dscommerce.ingest.OrderGroupCommitter;
+import com.resftul.dscommerce.repository.ProductRepository;
+import com.resftul.dscommerce.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.resftul.dscommerce.entity.OrderStatus.WAITING_PAYMENT;
+import static java.time.Instant.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "orders.group-commit.enabled=true",
+        "orders.group-commit.batch-size=50",
+        "orders.group-commit.linger=200ms",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Sql(scripts = {"/sql/orders/clean.sql", "/sql/orders/seed-orders.sql"}, executionPhase = BEFORE_TEST_METHOD)
+class OrderGroupCommitIntegrationTest {
+
+    private static final int ORDERS = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderGroupCommitter orderGroupCommitter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Order order(User client, Product... products) {
+        Order order = new Order(client, now(), WAITING_PAYMENT);
+        for (Product product : products) order.addItem(new OrderItem(order, product, 1, product.getPrice()));
+        return order;
+    }
+
+    private long orderCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_order", Long.class);
+    }
+
+    @Test
+    @DisplayName("submit: pedidos enfileirados juntos são gravados em uma única transação")
+    void queuedOrders_commitTogether() {
+        User bruno = userRepository.findByEmail("bruno@example.com").orElseThrow();
+        Product pc = productRepository.findWithCategoriesById(1L).orElseThrow();
+        Product mouse = productRepository.findWithCategoriesById(2L).orElseThrow();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CompletableFuture<Order>> futures = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) futures.add(orderGroupCommitter.submit(order(bruno, pc, mouse)));
+        List<Order> committed = futures.stream().map(CompletableFuture::join).toList();
+
+        assertThat(committed).extracting(Order::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(orderCount()).isEqualTo(3 + ORDERS);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_order_item", Long.class))
+                .isEqualTo(6 + 2L * ORDERS);
+        assertThat(statistics.getSuccessfulTransactionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("submit: um pedido inválido no grupo falha sozinho; os demais são gravados")
+    void failingOrder_doesNotFailItsGroup() {
+        User bruno = userRepository.findByEmail("bruno@example.com").orElseThrow();
+        Product pc = productRepository.findWithCategoriesById(1L).orElseThrow();
+        Product missing = new Product(999L, "Fantasma", "não existe", BigDecimal.TEN, "https://example.com/x.jpg");
+
+        CompletableFuture<Order> good1 = orderGroupCommitter.submit(order(bruno, pc));
+        CompletableFuture<Order> bad = orderGroupCommitter.submit(order(bruno, missing));
+        CompletableFuture<Order> good2 = orderGroupCommitter.submit(order(bruno, pc));
+
+        assertThat(good1.join().getId()).isNotNull();
+        assertThat(good2.join().getId()).isNotNull();
+        assertThrows(CompletionException.class, bad::join);
+        assertThat(orderCount()).isEqualTo(3 + 2);
+    }
+
+    @Test
+    @DisplayName("submit: estoque do grupo baixado de uma vez; na falta, só os pedidos que cabem são gravados")
+    void groupStockShortfall_isolatesOrdersThatDoNotFit() {
+        jdbcTemplate.update("UPDATE tb_product SET stock = 3 WHERE id = 2");
+        User bruno = userRepository.findByEmail("bruno@example.com").orElseThrow();
+        Product mouse = productRepository.findWithCategoriesById(2L).orElseThrow();
+
+        List<CompletableFuture<Order>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Order order = new Order(bruno, now(), WAITING_PAYMENT);
+            order.addItem(new OrderItem(order, mouse, 2, mouse.getPrice()));
+            futures.add(orderGroupCommitter.submit(order));
+        }
+        long committed = futures.stream().filter(f -> {
+            try {
+                f.join();
+                return true;
+            } catch (CompletionException e) {
+                assertThat(e.getCause()).isInstanceOf(InsufficientStockException.class);
+                return false;
+            }
+        }).count();
+
+        assertThat(committed).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT stock FROM tb_product WHERE id = 2", Integer.class)).isEqualTo(1);
+        assertThat(orderCount()).isEqualTo(3 + 1);
+    }
+
+    @Test
+    @WithMockUser(username = "bruno@example.com", roles = {"CLIENT"})
+    @DisplayName("POST /orders com group commit -> 201 após o commit do grupo")
+    void post_withGroupCommit_created() throws Exception {
+        mockMvc.perform(post("/orders")
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .accept(APPLICATION_JSON)
+                        .content("""
+                                { "items": [ { "productId": 3, "quantity": 2 } ] }
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").isNumber())
+                .andExpect(jsonPath("$.items[0].name").value("Teclado Membrana"))
+                .andExpect(jsonPath("$.client.name").value("Bruno"))
+                .andExpect(jsonPath("$.total").value(259.80));
+
+        assertThat(orderCount()).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("SELECT total FROM tb_order WHERE id NOT IN (1, 2, 3)", Long.class))
+                .isEqualTo(25980L);
+    }
+
+    @Test
+    @WithMockUser(username = "bruno@example.com", roles = {"CLIENT"})
+    @DisplayName("POST /orders com group commit e produto inexistente -> 404 antes de enfileirar")
+    void post_withGroupCommit_unknownProduct_notFound() throws Exception {
+        mockMvc.perform(post("/orders")
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .accept(APPLICATION_JSON)
+                        .content("""
+                                { "items": [ { "productId": 404, "quantity": 1 } ] }
+                                """))
+                .andExpect(status().isNotFound());
+
+        assertThat(orderCount()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,185 @@
+package com.resftul.dscommerce.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Sql(scripts = {"/sql/orders/clean.sql", "/sql/orders/seed-orders.sql"}, executionPhase = BEFORE_TEST_METHOD)
+class OrderListingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /orders?size=2 -> páginas por cursor em ordem de momento, sem repetir nem pular pedidos")
+    void cursorPages_walkAllOrders() throws Exception {
+        String body = mockMvc.perform(get("/orders").param("size", "2").accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(1, 2)))
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andReturn().getResponse().getContentAsString();
+        String next = JsonPath.read(body, "$.nextCursor");
+
+        mockMvc.perform(get("/orders").param("size", "2").param("after", next).accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(3)))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /orders?status=&clientId= -> filtra por status e cliente")
+    void filters_statusAndClient() throws Exception {
+        mockMvc.perform(get("/orders").param("status", "WAITING_PAYMENT").accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(2, 3)));
+
+        mockMvc.perform(get("/orders")
+                        .param("status", "WAITING_PAYMENT")
+                        .param("clientId", "2")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(2)))
+                .andExpect(jsonPath("$.content[0].client.name").value("Bruno"))
+                .andExpect(jsonPath("$.content[0].total").value(209.80));
+    }
+
+    @Test
+    @DisplayName("listagem por status: o plano usa o índice (order_status, moment, id)")
+    void statusListing_usesKeysetIndex() {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT id FROM tb_order WHERE order_status = 1 ORDER BY moment, id FETCH FIRST 20 ROWS ONLY",
+                String.class);
+
+        assertThat(plan).containsIgnoringCase("IDX_TB_ORDER_STATUS_MOMENT_ID");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /orders?from=&to= -> intervalo de datas com início inclusivo e fim exclusivo")
+    void filters_dateRange() throws Exception {
+        mockMvc.perform(get("/orders")
+                        .param("from", "2025-01-02T00:00:00Z")
+                        .param("to", "2025-01-03T00:00:00Z")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /orders?after=inválido -> 400 Bad Request")
+    void invalidCursor_badRequest() throws Exception {
+        mockMvc.perform(get("/orders").param("after", "%%%").accept(APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /orders/revenue -> soma da coluna total dos pedidos filtrados, em valor exato")
+    void revenue_sumsPersistedTotals() throws Exception {
+        mockMvc.perform(get("/orders/revenue").accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders").value(3))
+                .andExpect(jsonPath("$.total").value(12759.10));
+
+        mockMvc.perform(get("/orders/revenue").param("status", "WAITING_PAYMENT").accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders").value(2))
+                .andExpect(jsonPath("$.total").value(6599.40));
+
+        mockMvc.perform(get("/orders/revenue").param("from", "2026-01-01T00:00:00Z").accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders").value(0))
+                .andExpect(jsonPath("$.total").value(0));
+    }
+
+    @Test
+    @WithMockUser(username = "bruno@example.com", roles = "CLIENT")
+    @DisplayName("GET /orders/mine -> apenas pedidos do cliente, mais recentes primeiro, paginados por cursor")
+    void mine_newestFirst() throws Exception {
+        String body = mockMvc.perform(get("/orders/mine").param("size", "1").accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(2)))
+                .andReturn().getResponse().getContentAsString();
+        String next = JsonPath.read(body, "$.nextCursor");
+
+        mockMvc.perform(get("/orders/mine").param("size", "1").param("after", next).accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", contains(1)))
+                .andExpect(jsonPath("$.content[0].items", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /orders/export -> uma linha NDJSON por pedido filtrado, com itens e pagamento")
+    void export_ndjson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/orders/export").param("clientId", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(UTF_8);
+
+        assertThat(body).endsWith("\n");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) lines.add(objectMapper.readTree(line));
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).get("id").asLong()).isEqualTo(1);
+        assertThat(lines.get(0).get("status").asText()).isEqualTo("PAID");
+        assertThat(lines.get(0).get("payment").isNull()).isFalse();
+        assertThat(lines.get(0).get("items")).hasSize(2);
+        assertThat(lines.get(1).get("id").asLong()).isEqualTo(2);
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    @DisplayName("GET /orders/export -> 403 para CLIENT")
+    void export_forbidden_forClient() throws Exception {
+        mockMvc.perform(get("/orders/export"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,189 @@
+package com.resftul.dscommerce.integration;
+
+import com.resftul.dscommerce.util.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static com.resftul.dscommerce.entity.OrderStatus.SHIPPED;
+import static com.resftul.dscommerce.entity.OrderStatus.WAITING_PAYMENT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "orders.status.bulk-chunk-size=1000",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Sql(scripts = {"/sql/orders/clean.sql", "/sql/orders/seed-orders.sql"}, executionPhase = BEFORE_TEST_METHOD)
+class OrderStatusIntegrationTest {
+
+    private static final int SHIPMENT_ORDERS = 2_500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // order_status guarda o ordinal do enum
+    private int statusOf(long orderId) {
+        return jdbcTemplate.queryForObject("SELECT order_status FROM tb_order WHERE id = ?", Integer.class, orderId);
+    }
+
+    private long versionOf(long orderId) {
+        return jdbcTemplate.queryForObject("SELECT version FROM tb_order WHERE id = ?", Long.class, orderId);
+    }
+
+    private Integer stockOf(long productId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM tb_product WHERE id = ?", Integer.class, productId);
+    }
+
+    private void patchStatus(long orderId, String body, int expectedStatus) throws Exception {
+        mockMvc.perform(patch("/orders/{id}/status", orderId)
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().is(expectedStatus));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /orders/{id}/status -> muda o status e incrementa a versão; versão antiga -> 409")
+    void singleTransition_bumpsVersion_andRejectsStaleVersion() throws Exception {
+        mockMvc.perform(patch("/orders/{id}/status", 1L)
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"status\": \"SHIPPED\", \"version\": 0 }"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SHIPPED"))
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.items.length()").value(2));
+
+        mockMvc.perform(patch("/orders/{id}/status", 1L)
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"status\": \"DELIVERED\", \"version\": 0 }"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$[0].errorCode").value("VERSION_CONFLICT"));
+
+        assertThat(versionOf(1L)).isEqualTo(1L);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /orders/{id}/status -> 409 para transição inválida; pedido inexistente -> 404")
+    void singleTransition_invalid_conflict() throws Exception {
+        mockMvc.perform(patch("/orders/{id}/status", 2L)
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"status\": \"SHIPPED\" }"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$[0].errorCode").value("INVALID_STATUS_TRANSITION"));
+
+        patchStatus(404L, "{ \"status\": \"PAID\" }", 404);
+        assertThat(versionOf(2L)).isZero();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /orders/status -> milhares de pedidos em blocos, dois statements por bloco, sem carregar entidades")
+    void bulkTransition_setBasedChunks() throws Exception {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO tb_order (id, moment, order_status, client_id, total, version) " +
+                "VALUES (?, TIMESTAMP '2025-03-01 10:00:00', 1, 2, 0, 0)",
+                LongStream.range(10, 10 + SHIPMENT_ORDERS).mapToObj(id -> new Object[]{id}).toList());
+        String ids = LongStream.range(10, 10 + SHIPMENT_ORDERS)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(",", "[", ",2,99999]"));
+        StatementCounter statements = new StatementCounter(entityManagerFactory);
+        statements.reset();
+
+        mockMvc.perform(patch("/orders/status")
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"status\": \"SHIPPED\", \"orderIds\": " + ids + " }"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(SHIPMENT_ORDERS + 2))
+                .andExpect(jsonPath("$.updated").value(SHIPMENT_ORDERS))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.rejectedIds").value(contains(2, 99999)));
+
+        // 2502 ids em blocos de 1000: um SELECT com lock e um UPDATE por bloco
+        assertThat(statements.count()).isEqualTo(6);
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getEntityLoadCount()).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tb_order WHERE order_status = ? AND version = 1", Long.class, SHIPPED.ordinal()))
+                .isEqualTo(SHIPMENT_ORDERS);
+        assertThat(statusOf(2L)).isEqualTo(WAITING_PAYMENT.ordinal());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("mudança em lote incrementa a versão: edição individual com a versão anterior -> 409")
+    void bulkTransition_invalidatesStaleSingleEdit() throws Exception {
+        mockMvc.perform(patch("/orders/status")
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"status\": \"CANCELED\", \"orderIds\": [2, 3] }"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+
+        patchStatus(2L, "{ \"status\": \"PAID\", \"version\": 0 }", 409);
+        assertThat(List.of(versionOf(2L), versionOf(3L))).containsOnly(1L);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /orders/{id}/status CANCELED -> devolve ao estoque os itens controlados do pedido")
+    void singleCancel_restocksTrackedItems() throws Exception {
+        jdbcTemplate.update("UPDATE tb_product SET stock = 10 WHERE id = 2");
+
+        patchStatus(1L, "{ \"status\": \"CANCELED\", \"version\": 0 }", 200);
+
+        assertThat(stockOf(2L)).isEqualTo(12);
+        assertThat(stockOf(1L)).isNull();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /orders/status CANCELED -> um UPDATE devolve o estoque de todos os pedidos cancelados do bloco")
+    void bulkCancel_restocksSetBased() throws Exception {
+        jdbcTemplate.update("UPDATE tb_product SET stock = 10 WHERE id = 2");
+        jdbcTemplate.update("UPDATE tb_product SET stock = 5 WHERE id = 3");
+
+        mockMvc.perform(patch("/orders/status")
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"status\": \"CANCELED\", \"orderIds\": [2, 3] }"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+
+        assertThat(stockOf(2L)).isEqualTo(11);
+        assertThat(stockOf(3L)).isEqualTo(9);
+        assertThat(stockOf(1L)).isNull();
+    }
+}
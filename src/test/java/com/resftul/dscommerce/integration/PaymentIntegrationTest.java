@@ -0,0 +1,162 @@
+package com.resftul.dscommerce.integration;
+
+import com.resftul.dscommerce.payment.FakePaymentGateway;
+import com.resftul.dscommerce.payment.PaymentAuthorization;
+import com.resftul.dscommerce.payment.PaymentGateway;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.resftul.dscommerce.entity.OrderStatus.PAID;
+import static com.resftul.dscommerce.entity.OrderStatus.WAITING_PAYMENT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Sql(scripts = {"/sql/orders/clean.sql", "/sql/orders/seed-orders.sql"}, executionPhase = BEFORE_TEST_METHOD)
+class PaymentIntegrationTest {
+
+    // Pedidos acima de 1000,00 são recusados; o pedido 3 (6389,60) cai nessa regra
+    private static final BigDecimal DECLINE_ABOVE = new BigDecimal("1000.00");
+
+    // Registra em que thread e com quantas conexões em uso o gateway foi chamado
+    static class RecordingGateway implements PaymentGateway {
+        private final PaymentGateway delegate = new FakePaymentGateway(Duration.ofMillis(50), DECLINE_ABOVE);
+        private final HikariDataSource dataSource;
+        final AtomicBoolean calledOnVirtualThread = new AtomicBoolean();
+        final AtomicInteger activeConnectionsDuringCall = new AtomicInteger(-1);
+        final AtomicInteger cancellations = new AtomicInteger();
+
+        RecordingGateway(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public PaymentAuthorization authorize(Long orderId, BigDecimal amount) {
+            calledOnVirtualThread.set(Thread.currentThread().isVirtual());
+            activeConnectionsDuringCall.set(dataSource.getHikariPoolMXBean().getActiveConnections());
+            return delegate.authorize(orderId, amount);
+        }
+
+        @Override
+        public void cancel(PaymentAuthorization authorization) {
+            cancellations.incrementAndGet();
+        }
+    }
+
+    @TestConfiguration
+    static class GatewayConfig {
+        @Bean
+        @Primary
+        RecordingGateway recordingGateway(HikariDataSource dataSource) {
+            return new RecordingGateway(dataSource);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordingGateway gateway;
+
+    private ResultActions pay(long orderId) throws Exception {
+        MvcResult started = mockMvc.perform(post("/orders/{id}/payment", orderId).with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
+    private int statusOf(long orderId) {
+        return jdbcTemplate.queryForObject("SELECT order_status FROM tb_order WHERE id = ?", Integer.class, orderId);
+    }
+
+    private long paymentsOf(long orderId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_payment WHERE order_id = ?", Long.class, orderId);
+    }
+
+    @Test
+    @WithMockUser(username = "bruno@example.com", roles = "CLIENT")
+    @DisplayName("POST /orders/{id}/payment -> 200, pedido PAID com pagamento; gateway em virtual thread sem conexão em uso")
+    void pay_recordsPayment_outsideTransaction() throws Exception {
+        pay(2L)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PAID"))
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.payment.id").value(2))
+                .andExpect(jsonPath("$.payment.transactionId", startsWith("fake-")));
+
+        assertThat(statusOf(2L)).isEqualTo(PAID.ordinal());
+        assertThat(paymentsOf(2L)).isEqualTo(1);
+        assertThat(gateway.calledOnVirtualThread).isTrue();
+        assertThat(gateway.activeConnectionsDuringCall).hasValue(0);
+    }
+
+    @Test
+    @WithMockUser(username = "bruno@example.com", roles = "CLIENT")
+    @DisplayName("POST /orders/{id}/payment -> 409 para pedido já pago, sem chamar o gateway")
+    void pay_alreadyPaid_conflict() throws Exception {
+        pay(1L)
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$[0].errorCode").value("INVALID_STATUS_TRANSITION"));
+
+        assertThat(gateway.activeConnectionsDuringCall).hasValue(-1);
+    }
+
+    @Test
+    @WithMockUser(username = "bruno@example.com", roles = "CLIENT")
+    @DisplayName("POST /orders/{id}/payment -> 403 para pedido de outro cliente")
+    void pay_otherClientsOrder_forbidden() throws Exception {
+        pay(3L).andExpect(status().isForbidden());
+
+        assertThat(statusOf(3L)).isEqualTo(WAITING_PAYMENT.ordinal());
+    }
+
+    @Test
+    @WithMockUser(username = "ana@example.com", roles = {"CLIENT", "ADMIN"})
+    @DisplayName("POST /orders/{id}/payment -> 402 quando o gateway recusa; pedido continua aguardando pagamento")
+    void pay_declined_paymentRequired() throws Exception {
+        pay(3L)
+                .andExpect(status().isPaymentRequired())
+                .andExpect(jsonPath("$[0].errorCode").value("PAYMENT_DECLINED"));
+
+        assertThat(statusOf(3L)).isEqualTo(WAITING_PAYMENT.ordinal());
+        assertThat(paymentsOf(3L)).isZero();
+    }
+
+    @Test
+    @WithMockUser(username = "bruno@example.com", roles = "CLIENT")
+    @DisplayName("POST /orders/{id}/payment -> 404 para pedido inexistente")
+    void pay_unknownOrder_notFound() throws Exception {
+        pay(404L).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,130 @@
+package com.resftul.dscommerce.integration;
+
+import com.resftul.dscommerce.payment.FakePaymentGateway;
+import com.resftul.dscommerce.payment.PaymentAuthorization;
+import com.resftul.dscommerce.payment.PaymentGateway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Gateway lento e pool pequeno: se a cobrança segurasse a thread do request ou uma conexão,
+// nunca haveria mais chamadas simultâneas ao gateway do que threads (8) ou conexões (4)
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=" + PaymentLoadIntegrationTest.POOL_SIZE)
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Sql(scripts = {"/sql/orders/clean.sql", "/sql/orders/seed-orders.sql"}, executionPhase = BEFORE_TEST_METHOD)
+class PaymentLoadIntegrationTest {
+
+    static final int POOL_SIZE = 4;
+    private static final int ORDERS = 200;
+    private static final int REQUEST_THREADS = 8;
+    private static final long FIRST_ORDER_ID = 1_000;
+
+    // Mede o pico de cobranças em andamento ao mesmo tempo
+    static class ConcurrencyGauge implements PaymentGateway {
+        private final PaymentGateway delegate = new FakePaymentGateway(Duration.ofMillis(500), null);
+        private final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+
+        @Override
+        public PaymentAuthorization authorize(Long orderId, BigDecimal amount) {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                return delegate.authorize(orderId, amount);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void cancel(PaymentAuthorization authorization) {
+            delegate.cancel(authorization);
+        }
+    }
+
+    @TestConfiguration
+    static class GatewayConfig {
+        @Bean
+        @Primary
+        ConcurrencyGauge concurrencyGauge() {
+            return new ConcurrencyGauge();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ConcurrencyGauge gateway;
+
+    private void insertWaitingOrders() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = FIRST_ORDER_ID; id < FIRST_ORDER_ID + ORDERS; id++) rows.add(new Object[]{id});
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO tb_order (id, moment, order_status, client_id, total, version)
+                VALUES (?, TIMESTAMP '2025-02-01 10:00:00', 0, 2, 7990, 0)
+                """, rows);
+    }
+
+    @Test
+    @DisplayName("POST /orders/{id}/payment em massa: cobranças lentas rodam em paralelo sem esgotar threads nem conexões")
+    void concurrentPayments_overlapGatewayLatency() throws Exception {
+        insertWaitingOrders();
+
+        // As threads "de request" só iniciam o processamento; as respostas chegam depois, em asyncDispatch
+        List<Future<MvcResult>> started = new ArrayList<>();
+        try (ExecutorService requests = Executors.newFixedThreadPool(REQUEST_THREADS)) {
+            for (long id = FIRST_ORDER_ID; id < FIRST_ORDER_ID + ORDERS; id++) {
+                long orderId = id;
+                started.add(requests.submit(() -> mockMvc.perform(post("/orders/{id}/payment", orderId)
+                                .with(user("bruno@example.com").roles("CLIENT"))
+                                .with(csrf()))
+                        .andReturn()));
+            }
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<MvcResult> future : started) {
+                MvcResult result = future.get(30, SECONDS);
+                result.getAsyncResult(30_000);
+                statuses.add(mockMvc.perform(asyncDispatch(result)).andReturn().getResponse().getStatus());
+            }
+            assertThat(statuses).hasSize(ORDERS).containsOnly(200);
+        }
+        assertThat(gateway.peak.get()).isGreaterThan(REQUEST_THREADS + POOL_SIZE);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tb_order WHERE id >= ? AND order_status = 1", Long.class, FIRST_ORDER_ID))
+                .isEqualTo(ORDERS);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tb_payment WHERE transaction_id IS NOT NULL AND order_id >= ?", Long.class, FIRST_ORDER_ID))
+                .isEqualTo(ORDERS);
+    }
+}
@@ -0,0 +1,87 @@
+package com.resftul.dscommerce.integration;
+
+import com.resftul.dscommerce.dto.CategoryDTO;
+import com.resftul.dscommerce.dto.product.ProductDTO;
+import com.resftul.dscommerce.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestPropertySource(properties = "spring.cache.type=caffeine")
+class ProductCacheIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "products")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    @Test
+    @DisplayName("findById: leituras repetidas vêm do cache; update invalida e a próxima leitura reflete a alteração")
+    @Sql(scripts = {"/sql/products/clean.sql", "/sql/products/seed-product-1.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    void findById_cachedUntilUpdate() {
+        double hitsBefore = cacheGets("hit");
+        double missesBefore = cacheGets("miss");
+
+        ProductDTO first = productService.findById(1L);
+        ProductDTO second = productService.findById(1L);
+
+        assertThat(second).isSameAs(first);
+        assertThat(cacheGets("miss") - missesBefore).isEqualTo(1);
+        assertThat(cacheGets("hit") - hitsBefore).isEqualTo(1);
+
+        productService.update(1L, new ProductDTO(
+                1L,
+                "PC Gamer Pro",
+                "PC para jogos",
+                new BigDecimal("6999.90"),
+                "https://example.com/pc-gamer.jpg",
+                List.of(new CategoryDTO(1L, "Informática"))
+        ));
+
+        assertThat(productService.findById(1L).getName()).isEqualTo("PC Gamer Pro");
+        assertThat(cacheGets("miss") - missesBefore).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("findAllById: reaproveita entradas do cache e aquece o cache para findById")
+    @Sql(scripts = {"/sql/products/clean.sql", "/sql/products/seed-product-1.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    void findAllById_sharesCacheWithFindById() {
+        ProductDTO cached = productService.findById(1L);
+        assertThat(productService.findAllById(List.of(1L, 42L))).containsExactly(cached);
+
+        productService.update(1L, new ProductDTO(
+                1L,
+                "PC Gamer Pro",
+                "PC para jogos",
+                new BigDecimal("6999.90"),
+                "https://example.com/pc-gamer.jpg",
+                List.of(new CategoryDTO(1L, "Informática"))
+        ));
+
+        ProductDTO reloaded = productService.findAllById(List.of(1L)).getFirst();
+        assertThat(reloaded.getName()).isEqualTo("PC Gamer Pro");
+        assertThat(productService.findById(1L)).isSameAs(reloaded);
+    }
+}
@@ -0,0 +1,89 @@
+package com.resftul.dscommerce.integration;
+
+import com.resftul.dscommerce.dto.CategoryDTO;
+import com.resftul.dscommerce.dto.product.ProductDTO;
+import com.resftul.dscommerce.exception.ProductAlreadyExistsException;
+import com.resftul.dscommerce.repository.ProductRepository;
+import com.resftul.dscommerce.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class ProductConcurrentInsertIntegrationTest {
+
+    private static final int NAMES = 25;
+    private static final int ATTEMPTS_PER_NAME = 20;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private static ProductDTO product(String name) {
+        return new ProductDTO(
+                null,
+                name,
+                "d",
+                new BigDecimal("10.00"),
+                "https://example.com/p.jpg",
+                List.of(new CategoryDTO(1L, "Informática"))
+        );
+    }
+
+    @Test
+    @DisplayName("insert concorrente: a constraint única decide e só um insert por nome vence, o resto vira 409")
+    @Sql(scripts = {"/sql/products/clean.sql", "/sql/products/seed-categories-basic.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    void concurrentInserts_oneWinnerPerName() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Callable<Void>> attempts = new ArrayList<>();
+        for (int attempt = 0; attempt < ATTEMPTS_PER_NAME; attempt++) {
+            for (int n = 0; n < NAMES; n++) {
+                final String name = "Produto " + n;
+                attempts.add(() -> {
+                    start.await();
+                    try {
+                        productService.insert(product(name));
+                        created.incrementAndGet();
+                    } catch (ProductAlreadyExistsException e) {
+                        conflicts.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> attempt : attempts) futures.add(executor.submit(attempt));
+            start.countDown();
+            // get() rethrows anything that was not a ProductAlreadyExistsException
+            for (Future<Void> future : futures) future.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(created.get()).isEqualTo(NAMES);
+        assertThat(conflicts.get()).isEqualTo(NAMES * (ATTEMPTS_PER_NAME - 1));
+        assertThat(productRepository.count()).isEqualTo(NAMES);
+    }
+}
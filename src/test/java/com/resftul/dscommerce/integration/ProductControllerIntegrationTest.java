@@ -163,6 +163,17 @@ class ProductControllerIntegrationTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("DELETE /products/{id} inexistente -> 404")
+    @Sql(scripts = {"/sql/products/clean.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    void delete_notFound() throws Exception {
+        mockMvc.perform(delete("/products/{id}", 9999L)
+                        .with(csrf())
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("GET /products/{id} inexistente -> 404")
     @Sql(scripts = {"/sql/products/clean.sql"}, executionPhase = BEFORE_TEST_METHOD)
@@ -0,0 +1,104 @@
+package com.resftul.dscommerce.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Sql(scripts = {"/sql/products/clean.sql", "/sql/products/seed-two-products.sql"}, executionPhase = BEFORE_TEST_METHOD)
+class ProductExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<JsonNode> export(String query) throws Exception {
+        MvcResult started = mockMvc.perform(get("/products/export" + query))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(UTF_8);
+
+        assertThat(body).endsWith("\n");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) lines.add(objectMapper.readTree(line));
+        return lines;
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /products/export -> uma linha NDJSON por produto, em ordem de id, com os ids das categorias")
+    void export_all() throws Exception {
+        jdbcTemplate.update("INSERT INTO tb_product_category (product_id, category_id) VALUES (10, 2)");
+
+        List<JsonNode> lines = export("");
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).get("id").asLong()).isEqualTo(10);
+        assertThat(lines.get(0).get("name").asText()).isEqualTo("PC Gamer");
+        assertThat(lines.get(0).get("categoryIds")).extracting(JsonNode::asLong).containsExactly(1L, 2L);
+        assertThat(lines.get(1).get("id").asLong()).isEqualTo(11);
+        assertThat(lines.get(1).get("categoryIds")).extracting(JsonNode::asLong).containsExactly(1L);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /products/export?since= -> apenas produtos alterados a partir do instante informado")
+    void export_since() throws Exception {
+        jdbcTemplate.update("UPDATE tb_product SET updated_at = ? WHERE id = 10",
+                Timestamp.from(Instant.parse("2025-01-01T00:00:00Z")));
+        jdbcTemplate.update("UPDATE tb_product SET updated_at = ? WHERE id = 11",
+                Timestamp.from(Instant.parse("2025-03-01T00:00:00Z")));
+
+        List<JsonNode> lines = export("?since=2025-02-01T00:00:00Z");
+
+        assertThat(lines).singleElement().satisfies(line -> {
+            assertThat(line.get("id").asLong()).isEqualTo(11);
+            assertThat(line.get("name").asText()).isEqualTo("PC Office");
+        });
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    @DisplayName("GET /products/export -> 403 para CLIENT")
+    void export_forbidden_forClient() throws Exception {
+        mockMvc.perform(get("/products/export"))
+                .andExpect(status().isForbidden());
+    }
+}
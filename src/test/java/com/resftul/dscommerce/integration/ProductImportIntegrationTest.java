@@ -0,0 +1,159 @@
+package com.resftul.dscommerce.integration;
+
+import com.resftul.dscommerce.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@TestPropertySource(properties = {"catalog.import.batch-size=2", "catalog.import.commit-interval=3"})
+@Sql(scripts = {"/sql/products/clean.sql", "/sql/products/seed-product-1.sql"}, executionPhase = BEFORE_TEST_METHOD)
+class ProductImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /products/import (ndjson): importa em lotes e reporta erros por linha sem abortar o arquivo")
+    void importNdjson_partialSuccess() throws Exception {
+        String body = """
+                {"name":"Monitor 27","description":"IPS","price":1499.90,"imgUrl":"https://example.com/m.jpg","categories":["Informática"]}
+                {"name":"PC Gamer","price":10.00,"categories":["Informática"]}
+                {"name":"Mouse Sem Fio","price":"89.90","categories":["acessórios", "1"]}
+
+                {"name":"Monitor 27","price":999.00,"categories":["Informática"]}
+                {"name":"Cabo HDMI","price":19.90,"categories":["Cozinha"]}
+                {"name":"Hub USB","price":0,"categories":["Acessórios"]}
+                {"name": "quebrado"
+                {"name":"Webcam HD","price":249.90,"categories":[2]}
+                """;
+
+        mockMvc.perform(post("/products/import")
+                        .with(csrf())
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(8))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.failed").value(5))
+                .andExpect(jsonPath("$.errors", hasSize(5)))
+                .andExpect(jsonPath("$.errors[?(@.line == 2)].message").value("Já existe um produto com nome PC Gamer"))
+                .andExpect(jsonPath("$.errors[?(@.line == 5)].message").value("Já existe um produto com nome Monitor 27"))
+                .andExpect(jsonPath("$.errors[?(@.line == 6)].message").value("Categoria desconhecida: Cozinha"))
+                .andExpect(jsonPath("$.errors[?(@.line == 7)].message").value("price: Price deve ser >= 0.01"))
+                .andExpect(jsonPath("$.errors[?(@.line == 8)].message", contains(startsWith("JSON inválido"))));
+
+        assertThat(productExists("Monitor 27")).isTrue();
+        assertThat(productExists("Webcam HD")).isTrue();
+        Long mouseId = jdbcTemplate.queryForObject("SELECT id FROM tb_product WHERE name = 'Mouse Sem Fio'", Long.class);
+        assertThat(productRepository.findWithCategoriesById(mouseId).orElseThrow().getCategories())
+                .extracting("name")
+                .containsExactlyInAnyOrder("Informática", "Acessórios");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /products/import (csv): cabeçalho, campos entre aspas e categorias separadas por |")
+    void importCsv_ok() throws Exception {
+        String body = """
+                name,description,price,imgUrl,categories
+                "Teclado, Mecânico","Switch ""blue""\",399.90,https://example.com/t.jpg,Informática|Acessórios
+                Headset,,abc,,Acessórios
+                Mousepad,,29.90,,Acessórios
+                """;
+
+        mockMvc.perform(post("/products/import")
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("Preço inválido: abc"));
+
+        String description = jdbcTemplate.queryForObject(
+                "SELECT description FROM tb_product WHERE name = 'Teclado, Mecânico'", String.class);
+        assertThat(description).isEqualTo("Switch \"blue\"");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /products/import: nome já gravado ou repetido no mesmo lote conta como duplicado")
+    void import_duplicateNames() throws Exception {
+        String body = """
+                {"name":"PC Gamer","price":10.00,"categories":["Informática"]}
+                {"name":"Hub USB","price":59.90,"categories":["Acessórios"]}
+                {"name":"Hub USB","price":49.90,"categories":["Acessórios"]}
+                """;
+
+        mockMvc.perform(post("/products/import")
+                        .with(csrf())
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[?(@.line == 1)].message").value("Já existe um produto com nome PC Gamer"))
+                .andExpect(jsonPath("$.errors[?(@.line == 3)].message").value("Já existe um produto com nome Hub USB"));
+
+        assertThat(productExists("Hub USB")).isTrue();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /products/import: lote recusado pelo banco é refeito linha a linha e só a linha inválida falha")
+    void import_chunkRejected_retriesRowByRow() throws Exception {
+        String longUrl = "https://example.com/" + "a".repeat(300) + ".jpg";
+        String body = """
+                {"name":"Monitor 27","price":1499.90,"categories":["Informática"]}
+                {"name":"Webcam HD","price":249.90,"imgUrl":"%s","categories":["Informática"]}
+                {"name":"Mouse Sem Fio","price":89.90,"categories":["Acessórios"]}
+                """.formatted(longUrl);
+
+        mockMvc.perform(post("/products/import")
+                        .with(csrf())
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value(startsWith("Linha rejeitada pelo banco")));
+
+        assertThat(productExists("Monitor 27")).isTrue();
+        assertThat(productExists("Mouse Sem Fio")).isTrue();
+        assertThat(productExists("Webcam HD")).isFalse();
+    }
+
+    private boolean productExists(String name) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_product WHERE name = ?", Integer.class, name);
+        return count != null && count > 0;
+    }
+}
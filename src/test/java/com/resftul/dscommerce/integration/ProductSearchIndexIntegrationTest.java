@@ -0,0 +1,156 @@
+package com.resftul.dscommerce.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import com.resftul.dscommerce.search.CategoryBitmapIndex;
+import com.resftul.dscommerce.search.ProductNameIndex;
+import com.resftul.dscommerce.search.ProductSuggestIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@TestPropertySource(properties = "catalog.index.enabled=true")
+class ProductSearchIndexIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired private ProductNameIndex productNameIndex;
+    @Autowired private CategoryBitmapIndex categoryBitmapIndex;
+    @Autowired private ProductSuggestIndex productSuggestIndex;
+
+    // The context is shared between tests while @Sql wipes the tables, so the indexes restart from the seed
+    @BeforeEach
+    void rebuildIndexes() {
+        productNameIndex.rebuild();
+        categoryBitmapIndex.rebuild();
+        productSuggestIndex.rebuild();
+    }
+
+    private long create(String json) throws Exception {
+        String body = mockMvc.perform(post("/products").with(csrf()).contentType(APPLICATION_JSON).content(json))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.parse(body).read("$.id", Long.class);
+    }
+
+    private static String productJson(String name) {
+        return productJson(name, 1L);
+    }
+
+    private static String productJson(String name, long... categoryIds) {
+        StringBuilder categories = new StringBuilder();
+        for (long id : categoryIds) {
+            if (!categories.isEmpty()) categories.append(", ");
+            categories.append("{ \"id\": ").append(id).append(" }");
+        }
+        return """
+                {
+                  "name": "%s",
+                  "description": "d",
+                  "price": 199.90,
+                  "imgUrl": "https://example.com/p.jpg",
+                  "categories": [ %s ]
+                }
+                """.formatted(name, categories);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /products?name= -> resultados do índice acompanham POST, PUT e DELETE")
+    @Sql(scripts = {"/sql/products/clean.sql", "/sql/products/seed-categories-basic.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    void search_followsWrites() throws Exception {
+        long keyboard = create(productJson("Teclado Mecânico"));
+        long mouse = create(productJson("Mouse Mecânico"));
+
+        mockMvc.perform(get("/products").param("name", "MECÂ").param("sort", "name,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("Mouse Mecânico"))
+                .andExpect(jsonPath("$.page.totalElements").value(2));
+
+        mockMvc.perform(put("/products/{id}", keyboard).with(csrf()).contentType(APPLICATION_JSON).content(productJson("Teclado Office")))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/products/{id}", mouse).with(csrf()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/products").param("name", "mec"))
+                .andExpect(jsonPath("$.content.length()").value(0))
+                .andExpect(jsonPath("$.page.totalElements").value(0));
+        mockMvc.perform(get("/products").param("name", "office"))
+                .andExpect(jsonPath("$.content[0].id").value(keyboard));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /products?categoryId= -> filtra pelos bitmaps de categoria, intersecta com o nome e devolve facetas")
+    @Sql(scripts = {"/sql/products/clean.sql", "/sql/products/seed-categories-basic.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    void categoryFacets_followWrites() throws Exception {
+        create(productJson("PC Gamer", 1L));
+        long mouse = create(productJson("Mouse Gamer", 1L, 2L));
+        create(productJson("Mousepad", 2L));
+
+        mockMvc.perform(get("/products").param("categoryId", "2").param("sort", "name,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("Mouse Gamer"))
+                .andExpect(jsonPath("$.content[1].name").value("Mousepad"))
+                .andExpect(jsonPath("$.facets[0].categoryId").value(1))
+                .andExpect(jsonPath("$.facets[0].count").value(1))
+                .andExpect(jsonPath("$.facets[1].categoryId").value(2))
+                .andExpect(jsonPath("$.facets[1].count").value(2));
+
+        mockMvc.perform(get("/products").param("categoryId", "1", "2").param("name", "gamer"))
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.facets[0].count").value(2))
+                .andExpect(jsonPath("$.facets[1].count").value(1));
+
+        mockMvc.perform(put("/products/{id}", mouse).with(csrf()).contentType(APPLICATION_JSON).content(productJson("Mouse Gamer", 1L)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/products").param("categoryId", "2"))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("Mousepad"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /products/suggest -> trie acompanha inserções, renomeações e exclusões")
+    @Sql(scripts = {"/sql/products/clean.sql", "/sql/products/seed-categories-basic.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    void suggest_followsWrites() throws Exception {
+        long mouse = create(productJson("Mouse Gamer"));
+        long kit = create(productJson("Kit Teclado e Mouse"));
+
+        mockMvc.perform(get("/products/suggest").param("prefix", "mou"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("Kit Teclado e Mouse"))
+                .andExpect(jsonPath("$[1].name").value("Mouse Gamer"));
+
+        mockMvc.perform(put("/products/{id}", mouse).with(csrf()).contentType(APPLICATION_JSON).content(productJson("Monitor")))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/products/{id}", kit).with(csrf()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/products/suggest").param("prefix", "mo"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(mouse));
+    }
+}
@@ -0,0 +1,155 @@
+package com.resftul.dscommerce.integration;
+
+import com.resftul.dscommerce.event.OrderPlacedEvent;
+import com.resftul.dscommerce.rollup.SalesRollupAggregator;
+import com.resftul.dscommerce.util.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Intervalo longo: os testes gravam os contadores chamando flush() diretamente
+@SpringBootTest(properties = {
+        "sales.rollup.enabled=true",
+        "sales.rollup.flush-interval=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Sql(scripts = {"/sql/orders/clean.sql", "/sql/orders/seed-orders.sql"}, executionPhase = BEFORE_TEST_METHOD)
+class SalesRollupIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SalesRollupAggregator aggregator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private long rollupRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_sales_rollup", Long.class);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("backfill: pedidos já gravados viram baldes diários por produto e por categoria")
+    void backfill_rollsUpStoredOrders() throws Exception {
+        aggregator.backfill(Long.MAX_VALUE);
+
+        mockMvc.perform(get("/sales/products/{id}", 1L)
+                        .param("from", "2025-01-01T00:00:00Z")
+                        .param("to", "2025-01-04T00:00:00Z")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].bucketStart", contains("2025-01-01T00:00:00Z", "2025-01-03T00:00:00Z")))
+                .andExpect(jsonPath("$[0].units").value(1))
+                .andExpect(jsonPath("$[0].revenue").value(5999.90));
+
+        // Acessórios reúne os três produtos: o pedido 1 conta uma vez, com os dois itens somados
+        mockMvc.perform(get("/sales/categories/{id}", 2L)
+                        .param("from", "2025-01-01T00:00:00Z")
+                        .param("to", "2025-01-04T00:00:00Z")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].units").value(3))
+                .andExpect(jsonPath("$[0].revenue").value(6159.70))
+                .andExpect(jsonPath("$[0].orders").value(1))
+                .andExpect(jsonPath("$[2].revenue").value(6389.60));
+
+        mockMvc.perform(get("/sales/products/top").param("at", "2025-01-03T12:00:00Z").accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(3, 1)))
+                .andExpect(jsonPath("$[0].units").value(3));
+    }
+
+    @Test
+    @DisplayName("POST /orders: o pedido entra nos contadores em memória e aparece nos baldes após o flush")
+    void placedOrder_countedAfterFlush() throws Exception {
+        mockMvc.perform(post("/orders")
+                        .with(user("bruno@example.com").roles("CLIENT"))
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"items\": [ { \"productId\": 2, \"quantity\": 2 } ] }"))
+                .andExpect(status().isCreated());
+        assertThat(rollupRows()).isZero();
+
+        assertThat(aggregator.flush()).isEqualTo(4);
+
+        mockMvc.perform(get("/sales/products/{id}", 2L)
+                        .with(user("ana@example.com").roles("ADMIN"))
+                        .param("granularity", "HOUR")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].units").value(2))
+                .andExpect(jsonPath("$[0].revenue").value(159.80))
+                .andExpect(jsonPath("$[0].orders").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("volume: milhares de pedidos no mesmo período ocupam uma linha e são lidos com uma consulta")
+    void manyOrders_oneRowPerBucket() throws Exception {
+        Instant moment = Instant.parse("2025-02-01T10:30:00Z");
+        for (long id = 1; id <= 3; id++) {
+            for (int i = 0; i < 1_000; i++) aggregator.record(new OrderPlacedEvent(id, moment, Map.of(3L, 1), Map.of(3L, 12_990L), Map.of(3L, Set.of(2L))));
+            aggregator.flush();
+        }
+        // produto 3: hora e dia; categoria 2: hora e dia
+        assertThat(rollupRows()).isEqualTo(4);
+
+        StatementCounter statements = new StatementCounter(entityManagerFactory);
+        statements.reset();
+        mockMvc.perform(get("/sales/products/{id}", 3L)
+                        .param("granularity", "HOUR")
+                        .param("from", "2025-02-01T00:00:00Z")
+                        .param("to", "2025-02-02T00:00:00Z")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].bucketStart").value("2025-02-01T10:00:00Z"))
+                .andExpect(jsonPath("$[0].units").value(3_000))
+                .andExpect(jsonPath("$[0].revenue").value(389700.00))
+                .andExpect(jsonPath("$[0].orders").value(3_000));
+        assertThat(statements.count()).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /sales/products/{id} com mais de 366 dias -> 400")
+    void rangeTooWide_badRequest() throws Exception {
+        mockMvc.perform(get("/sales/products/{id}", 1L)
+                        .param("from", "2020-01-01T00:00:00Z")
+                        .param("to", "2025-01-01T00:00:00Z"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0].errorCode").value("INVALID_ARGUMENT"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.resftul.dscommerce.integration;
+
+import com.resftul.dscommerce.entity.Category;
+import com.resftul.dscommerce.entity.Role;
+import com.resftul.dscommerce.repository.CategoryRepository;
+import com.resftul.dscommerce.repository.ProductRepository;
+import com.resftul.dscommerce.repository.RoleRepository;
+import com.resftul.dscommerce.service.StockService;
+import com.resftul.dscommerce.util.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private StatementCounter statements;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Os scripts @Sql escrevem direto nas tabelas, então o cache começa vazio em cada teste
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statements = new StatementCounter(entityManagerFactory);
+    }
+
+    @Test
+    @DisplayName("Category: a segunda leitura por id vem da região category, sem statement")
+    @Sql(scripts = {"/sql/products/clean.sql", "/sql/products/seed-categories-basic.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    void category_servedFromRegion() {
+        categoryRepository.findById(1L).orElseThrow();
+
+        statements.reset();
+        Category cached = categoryRepository.findById(1L).orElseThrow();
+
+        assertThat(cached.getName()).isEqualTo("Informática");
+        assertThat(statements.count()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("category").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Role: findByAuthority resolve pelo cache de natural id, sem statement na segunda chamada")
+    @Sql(scripts = "/sql/users/clean.sql", statements = "INSERT INTO tb_role (authority) VALUES ('ROLE_CLIENT')",
+            executionPhase = BEFORE_TEST_METHOD)
+    void role_servedFromNaturalIdCache() {
+        Long id = roleRepository.findByAuthority("ROLE_CLIENT").orElseThrow().getId();
+
+        statements.reset();
+        Role cached = roleRepository.findByAuthority("ROLE_CLIENT").orElseThrow();
+
+        assertThat(cached.getId()).isEqualTo(id);
+        assertThat(statements.count()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("role").getHitCount()).isEqualTo(1);
+        assertThat(roleRepository.findByAuthority("ROLE_UNKNOWN")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Product: reservar estoque lê o valor novo e mantém as categorias do produto na região product-categories")
+    @Sql(scripts = {"/sql/products/clean.sql", "/sql/products/seed-product-1.sql"},
+            statements = "UPDATE tb_product SET stock = 10 WHERE id = 1", executionPhase = BEFORE_TEST_METHOD)
+    void product_stockUpdateKeepsCategoriesCached() {
+        transactionTemplate.executeWithoutResult(status ->
+                productRepository.findById(1L).orElseThrow().getCategories().size());
+
+        transactionTemplate.executeWithoutResult(status -> stockService.reserve(Map.of(1L, 3)));
+
+        statements.reset();
+        transactionTemplate.executeWithoutResult(status -> {
+            var product = productRepository.findById(1L).orElseThrow();
+            assertThat(product.getStock()).isEqualTo(7);
+            assertThat(product.getCategories()).extracting(Category::getName).containsExactly("Informática");
+        });
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("product-categories").getHitCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,163 @@
+package com.resftul.dscommerce.integration;
+
+import com.resftul.dscommerce.inventory.StockGate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Produto 1 passa pela reserva em memória (SKU quente); os demais vão direto ao UPDATE condicional
+@SpringBootTest(properties = "inventory.hot-products=1")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Sql(scripts = {"/sql/orders/clean.sql", "/sql/orders/seed-orders.sql"}, executionPhase = BEFORE_TEST_METHOD)
+class StockConcurrencyIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int ORDERS_PER_THREAD = 6;
+    private static final int STOCK = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StockGate stockGate;
+
+    private void setStock(long productId, int stock) throws Exception {
+        mockMvc.perform(put("/products/{id}/stock", productId)
+                        .with(user("ana@example.com").roles("ADMIN"))
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"stock\": " + stock + " }"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock").value(stock));
+    }
+
+    private int placeOrder(String items) throws Exception {
+        return mockMvc.perform(post("/orders")
+                        .with(user("bruno@example.com").roles("CLIENT"))
+                        .with(csrf())
+                        .contentType(APPLICATION_JSON)
+                        .content("{ \"items\": [" + items + "] }"))
+                .andReturn().getResponse().getStatus();
+    }
+
+    // Dispara todos os pedidos ao mesmo tempo e devolve os status HTTP
+    private List<Integer> placeConcurrently(String... itemsPerThread) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Integer>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                String items = itemsPerThread[t % itemsPerThread.length];
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<Integer> statuses = new ArrayList<>();
+                    for (int i = 0; i < ORDERS_PER_THREAD; i++) statuses.add(placeOrder(items));
+                    return statuses;
+                }));
+            }
+            start.countDown();
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<List<Integer>> future : futures) statuses.addAll(future.get());
+            return statuses;
+        }
+    }
+
+    private Integer stockOf(long productId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM tb_product WHERE id = ?", Integer.class, productId);
+    }
+
+    private long soldUnits(long productId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity), 0) FROM tb_order_item WHERE product_id = ? AND order_id > 3",
+                Long.class, productId);
+    }
+
+    @Test
+    @DisplayName("pedidos concorrentes pelo UPDATE condicional: vende exatamente o estoque, nunca mais")
+    void conditionalUpdate_neverOversells() throws Exception {
+        setStock(2L, STOCK);
+
+        List<Integer> statuses = placeConcurrently("{ \"productId\": 2, \"quantity\": 1 }");
+
+        assertThat(statuses).filteredOn(s -> s == 201).hasSize(STOCK);
+        assertThat(statuses).filteredOn(s -> s == 409).hasSize(THREADS * ORDERS_PER_THREAD - STOCK);
+        assertThat(stockOf(2L)).isZero();
+        assertThat(soldUnits(2L)).isEqualTo(STOCK);
+    }
+
+    @Test
+    @DisplayName("SKU quente com reserva em memória: vende exatamente o estoque e a memória termina zerada")
+    void hotSku_neverOversells() throws Exception {
+        setStock(1L, STOCK);
+
+        List<Integer> statuses = placeConcurrently("{ \"productId\": 1, \"quantity\": 1 }");
+
+        assertThat(statuses).filteredOn(s -> s == 201).hasSize(STOCK);
+        assertThat(stockOf(1L)).isZero();
+        assertThat(soldUnits(1L)).isEqualTo(STOCK);
+        assertThat(stockGate.available(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("itens em ordens opostas nos pedidos concorrentes não causam deadlock")
+    void oppositeItemOrder_noDeadlock() throws Exception {
+        setStock(2L, 1_000);
+        setStock(3L, 1_000);
+
+        List<Integer> statuses = placeConcurrently(
+                "{ \"productId\": 2, \"quantity\": 1 }, { \"productId\": 3, \"quantity\": 1 }",
+                "{ \"productId\": 3, \"quantity\": 1 }, { \"productId\": 2, \"quantity\": 1 }");
+
+        assertThat(statuses).containsOnly(201);
+        assertThat(stockOf(2L)).isEqualTo(1_000 - THREADS * ORDERS_PER_THREAD);
+        assertThat(stockOf(3L)).isEqualTo(1_000 - THREADS * ORDERS_PER_THREAD);
+    }
+
+    @Test
+    @DisplayName("falta em um item desfaz a baixa dos outros itens do mesmo pedido")
+    void shortfall_rollsBackOtherItems() throws Exception {
+        setStock(1L, 10);
+        setStock(3L, 0);
+
+        int status = placeOrder("{ \"productId\": 1, \"quantity\": 2 }, { \"productId\": 3, \"quantity\": 1 }");
+
+        assertThat(status).isEqualTo(409);
+        assertThat(stockOf(1L)).isEqualTo(10);
+        assertThat(stockGate.available(1L)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("produto sem estoque controlado continua vendendo sem limite")
+    void untrackedProduct_sellsWithoutLimit() throws Exception {
+        assertThat(stockOf(2L)).isNull();
+
+        assertThat(placeOrder("{ \"productId\": 2, \"quantity\": 500 }")).isEqualTo(201);
+        assertThat(stockOf(2L)).isNull();
+    }
+}
@@ -0,0 +1,130 @@
+package com.resftul.dscommerce.inventory;
+
+import com.resftul.dscommerce.event.StockChangedEvent;
+import com.resftul.dscommerce.event.StockReservedEvent;
+import com.resftul.dscommerce.event.StockRestockedEvent;
+import com.resftul.dscommerce.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class StockGateTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+
+    private StockGate gate(Duration reloadAfter) {
+        return new StockGate(Set.of(1L), 4, reloadAfter, productRepository);
+    }
+
+    @Test
+    @DisplayName("tryAcquire: produto sem linha no banco é lembrado e não consulta o banco a cada pedido")
+    void tryAcquire_untrackedProduct_loadedOnce() {
+        when(productRepository.findStockById(9L)).thenReturn(null);
+        StockGate gate = gate(Duration.ofHours(1));
+
+        assertThat(gate.tryAcquire(9L, 1)).isTrue();
+        assertThat(gate.tryAcquire(9L, 1)).isTrue();
+
+        verify(productRepository, times(1)).findStockById(9L);
+        assertThat(gate.available(9L)).isNull();
+    }
+
+    @Test
+    @DisplayName("tryAcquire: esgotado na memória com carga recente recusa sem reler o banco")
+    void tryAcquire_soldOut_recentLoad_rejectsWithoutReload() {
+        when(productRepository.findStockById(1L)).thenReturn(2);
+        StockGate gate = gate(Duration.ofHours(1));
+
+        assertThat(gate.tryAcquire(1L, 2)).isTrue();
+        assertThat(gate.tryAcquire(1L, 1)).isFalse();
+
+        verify(productRepository, times(1)).findStockById(1L);
+    }
+
+    @Test
+    @DisplayName("tryAcquire: esgotado na memória com carga antiga relê o banco antes de recusar")
+    void tryAcquire_soldOut_staleLoad_reloadsBeforeRejecting() {
+        when(productRepository.findStockById(1L)).thenReturn(2, 5);
+        StockGate gate = gate(Duration.ZERO);
+
+        assertThat(gate.tryAcquire(1L, 2)).isTrue();
+        gate.onReservationCommitted(new StockReservedEvent(Map.of(1L, 2)));
+
+        assertThat(gate.tryAcquire(1L, 3)).isTrue();
+
+        assertThat(gate.available(1L)).isEqualTo(2);
+        verify(productRepository, times(2)).findStockById(1L);
+    }
+
+    @Test
+    @DisplayName("tryAcquire: recarga que continua sem estoque recusa")
+    void tryAcquire_soldOut_reloadStillShort_rejects() {
+        when(productRepository.findStockById(1L)).thenReturn(1, 0);
+        StockGate gate = gate(Duration.ZERO);
+
+        assertThat(gate.tryAcquire(1L, 1)).isTrue();
+        assertThat(gate.tryAcquire(1L, 1)).isFalse();
+
+        assertThat(gate.available(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("tryAcquire: recarga desconta o que foi reservado e ainda não confirmou")
+    void tryAcquire_reload_subtractsUncommittedReservations() {
+        when(productRepository.findStockById(1L)).thenReturn(3, 3);
+        StockGate gate = gate(Duration.ZERO);
+        assertThat(gate.tryAcquire(1L, 3)).isTrue();
+
+        assertThat(gate.tryAcquire(1L, 1)).isFalse();
+        assertThat(gate.available(1L)).isZero();
+
+        gate.onReservationRolledBack(new StockReservedEvent(Map.of(1L, 3)));
+        assertThat(gate.available(1L)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("onReservationCommitted: unidades confirmadas deixam de ser descontadas na recarga (reposição em outra instância)")
+    void onReservationCommitted_settlesUncommittedUnits() {
+        when(productRepository.findStockById(1L)).thenReturn(3, 2);
+        StockGate gate = gate(Duration.ZERO);
+        assertThat(gate.tryAcquire(1L, 3)).isTrue();
+        gate.onReservationCommitted(new StockReservedEvent(Map.of(1L, 3)));
+
+        assertThat(gate.tryAcquire(1L, 1)).isTrue();
+        assertThat(gate.available(1L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("onStockChanged: descarta o contador e a próxima reserva lê o estoque gravado")
+    void onStockChanged_reloadsOnNextReservation() {
+        when(productRepository.findStockById(1L)).thenReturn(1, 10);
+        StockGate gate = gate(Duration.ofHours(1));
+        assertThat(gate.tryAcquire(1L, 1)).isTrue();
+        gate.onReservationCommitted(new StockReservedEvent(Map.of(1L, 1)));
+
+        gate.onStockChanged(new StockChangedEvent(1L, 10));
+
+        assertThat(gate.tryAcquire(1L, 4)).isTrue();
+        assertThat(gate.available(1L)).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("onRestocked: pedidos cancelados descartam o contador e a próxima reserva vê as unidades devolvidas")
+    void onRestocked_reloadsOnNextReservation() {
+        when(productRepository.findStockById(1L)).thenReturn(1, 3);
+        StockGate gate = gate(Duration.ofHours(1));
+        assertThat(gate.tryAcquire(1L, 1)).isTrue();
+        gate.onReservationCommitted(new StockReservedEvent(Map.of(1L, 1)));
+
+        gate.onRestocked(new StockRestockedEvent(List.of(1L)));
+
+        assertThat(gate.tryAcquire(1L, 3)).isTrue();
+    }
+}
@@ -0,0 +1,76 @@
+package com.resftul.dscommerce.inventory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedCounterTest {
+
+    @Test
+    @DisplayName("construtor: distribui o total entre as faixas sem perder unidades")
+    void constructor_spreadsTotal() {
+        assertThat(new StripedCounter(103, 16).available()).isEqualTo(103);
+        assertThat(new StripedCounter(3, 16).available()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("tryAcquire: quantidade maior que qualquer faixa é reunida de várias; falta devolve tudo")
+    void tryAcquire_acrossStripes() {
+        StripedCounter counter = new StripedCounter(20, 4);
+
+        assertThat(counter.tryAcquire(12)).isTrue();
+        assertThat(counter.available()).isEqualTo(8);
+        assertThat(counter.tryAcquire(9)).isFalse();
+        assertThat(counter.available()).isEqualTo(8);
+        assertThat(counter.tryAcquire(8)).isTrue();
+        assertThat(counter.available()).isZero();
+    }
+
+    @Test
+    @DisplayName("tryAcquire concorrente: nunca concede mais unidades do que existem")
+    void concurrentAcquire_neverOversells() throws Exception {
+        StripedCounter counter = new StripedCounter(1_000, 8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int t = 0; t < 16; t++) {
+                int quantity = 1 + t % 3;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int granted = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (counter.tryAcquire(quantity)) granted += quantity;
+                    }
+                    return granted;
+                }));
+            }
+            start.countDown();
+            int granted = 0;
+            for (Future<Integer> result : results) granted += result.get();
+
+            assertThat(granted + counter.available()).isEqualTo(1_000);
+            assertThat(counter.available()).isLessThan(3);
+        }
+    }
+
+    @Test
+    @DisplayName("release: unidades devolvidas voltam a ficar disponíveis")
+    void release_returnsUnits() {
+        StripedCounter counter = new StripedCounter(2, 4);
+        assertThat(counter.tryAcquire(2)).isTrue();
+
+        counter.release(2);
+
+        assertThat(counter.available()).isEqualTo(2);
+        assertThat(counter.tryAcquire(2)).isTrue();
+    }
+}
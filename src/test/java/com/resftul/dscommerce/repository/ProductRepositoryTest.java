@@ -1,5 +1,8 @@
 package com.resftul.dscommerce.repository;
 
+import com.resftul.dscommerce.dto.CategoryFacetDTO;
+import com.resftul.dscommerce.dto.product.ProductMinDTO;
+import com.resftul.dscommerce.dto.product.ProductSuggestionDTO;
 import com.resftul.dscommerce.entity.Category;
 import com.resftul.dscommerce.entity.Product;
 import org.junit.jupiter.api.*;
@@ -10,8 +13,10 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -19,6 +24,7 @@ import jakarta.persistence.PersistenceUnitUtil;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -104,34 +110,132 @@ class ProductRepositoryTest {
     }
 
     @Test
-    @DisplayName("searchByName: LIKE case-insensitive e paginação")
-    void searchByName_like_case_insensitive_and_paged() {
+    @DisplayName("findWithCategoriesById/findAllWithCategoriesByIdIn: entity graph já traz as categorias carregadas")
+    void withCategories_entityGraph_loadsCategories() {
+        var info = cat("Informática");
+        var games = cat("Games");
+        Product p1 = prod("Notebook", new BigDecimal("5499.90"), "d", null, info, games);
+        Product p2 = prod("Console", new BigDecimal("3999.90"), "d", null, games);
+        testEntityManager.clear();
+
+        Product found = productRepository.findWithCategoriesById(p1.getId()).orElseThrow();
+        assertThat(persistenceUnitUtil.isLoaded(found, "categories")).isTrue();
+        assertThat(found.getCategories()).hasSize(2);
+
+        testEntityManager.clear();
+        List<Product> all = productRepository.findAllWithCategoriesByIdIn(List.of(p1.getId(), p2.getId()));
+        assertThat(all).hasSize(2)
+                .allSatisfy(p -> assertThat(persistenceUnitUtil.isLoaded(p, "categories")).isTrue());
+    }
+
+    @Test
+    @DisplayName("searchMinByNameAndCategories/countByCategory: filtra por qualquer categoria e conta facetas do resultado")
+    void searchByNameAndCategories_withFacets() {
+        var info = cat("Informática");
+        var acc = cat("Acessórios");
+        var games = cat("Games");
+        prod("PC Gamer", new BigDecimal("5000.00"), "d", null, info, games);
+        prod("Mouse Gamer", new BigDecimal("200.00"), "d", null, acc, games);
+        prod("Mousepad", new BigDecimal("50.00"), "d", null, acc);
+        prod("Notebook", new BigDecimal("4000.00"), "d", null, info);
+        testEntityManager.clear();
+
+        Page<ProductMinDTO> page = productRepository.searchMinByNameAndCategories(
+                "mouse", List.of(acc.getId(), games.getId()), PageRequest.of(0, 10, Sort.by("name")));
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(ProductMinDTO::getName).containsExactly("Mouse Gamer", "Mousepad");
+
+        List<CategoryFacetDTO> facets = productRepository.countByCategory("", List.of(games.getId()));
+        assertThat(facets).extracting(CategoryFacetDTO::getCategoryId)
+                .containsExactly(info.getId(), acc.getId(), games.getId());
+        assertThat(facets).extracting(CategoryFacetDTO::getCount).containsExactly(1L, 1L, 2L);
+    }
+
+    @Test
+    @DisplayName("suggestByNamePrefix: prefixo case-insensitive ordenado por nome e limitado")
+    void suggestByNamePrefix() {
+        var info = cat("Informática");
+        prod("Mousepad", new BigDecimal("50.00"), "d", null, info);
+        prod("Mouse Gamer", new BigDecimal("200.00"), "d", null, info);
+        prod("Kit Teclado e Mouse", new BigDecimal("300.00"), "d", null, info);
+        prod("Monitor", new BigDecimal("900.00"), "d", null, info);
+        testEntityManager.clear();
+
+        assertThat(productRepository.suggestByNamePrefix("MOUSE", Limit.of(10)))
+                .extracting(ProductSuggestionDTO::getName)
+                .containsExactly("Mouse Gamer", "Mousepad");
+        assertThat(productRepository.suggestByNamePrefix("mo", Limit.of(2)))
+                .extracting(ProductSuggestionDTO::getName)
+                .containsExactly("Monitor", "Mouse Gamer");
+    }
+
+    @Test
+    @DisplayName("searchMinByName: LIKE case-insensitive e paginação")
+    void searchMinByName_like_case_insensitive_and_paged() {
         prod("PC Gamer", new BigDecimal("3500.00"), "d", null);
         prod("pc office", new BigDecimal("2500.00"), "d", null);
         prod("Notebook", new BigDecimal("5499.90"), "d", null);
         testEntityManager.clear();
 
-        Page<Product> page = productRepository.searchByName("pC", PageRequest.of(0, 2));
+        Page<ProductMinDTO> page = productRepository.searchMinByName("pC", PageRequest.of(0, 2));
 
         assertThat(page.getTotalElements()).isEqualTo(2);
         assertThat(page.getNumber()).isEqualTo(0);
         assertThat(page.getSize()).isEqualTo(2);
 
-        var names = page.map(Product::getName).getContent();
+        var names = page.map(ProductMinDTO::getName).getContent();
         assertThat(names).containsExactlyInAnyOrder("PC Gamer", "pc office");
     }
 
     @Test
-    @DisplayName("searchByName: retorna vazio quando não há match")
-    void searchByName_empty_when_no_match() {
+    @DisplayName("searchMinByName: projeta id, name, price e imgUrl direto no DTO, com ordenação e contagem")
+    void searchMinByName_projects_sorted_page() {
+        prod("PC Gamer", new BigDecimal("3500.00"), "descrição longa", "https://img/pc.jpg");
+        prod("pc office", new BigDecimal("2500.00"), "d", null);
+        prod("Notebook", new BigDecimal("5499.90"), "d", null);
+        testEntityManager.clear();
+
+        Page<ProductMinDTO> page = productRepository.searchMinByName("pC", PageRequest.of(0, 1, Sort.by("price")));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).singleElement().satisfies(dto -> {
+            assertThat(dto.getName()).isEqualTo("pc office");
+            assertThat(dto.getPrice()).isEqualByComparingTo("2500.00");
+        });
+
+        Page<ProductMinDTO> next = productRepository.searchMinByName("pC", PageRequest.of(1, 1, Sort.by("price")));
+        assertThat(next.getContent()).singleElement().satisfies(dto ->
+                assertThat(dto.getImgUrl()).isEqualTo("https://img/pc.jpg"));
+    }
+
+    @Test
+    @DisplayName("searchMinByName: retorna vazio quando não há match")
+    void searchMinByName_empty_when_no_match() {
         prod("Mouse USB", new BigDecimal("79.90"), "d", null);
         testEntityManager.clear();
 
-        Page<Product> page = productRepository.searchByName("teclado", PageRequest.of(0, 5));
+        Page<ProductMinDTO> page = productRepository.searchMinByName("teclado", PageRequest.of(0, 5));
         assertThat(page.getTotalElements()).isZero();
         assertThat(page.getContent()).isEmpty();
     }
 
+    @Test
+    @DisplayName("searchByNameFirst/After: keyset percorre resultados ordenados por nome sem repetir nem pular")
+    void searchByName_keyset_walks_all_rows_in_order() {
+        prod("PC Gamer", new BigDecimal("3500.00"), "d", null);
+        prod("pc office", new BigDecimal("2500.00"), "d", null);
+        prod("PC Alfa", new BigDecimal("1500.00"), "d", null);
+        prod("Notebook", new BigDecimal("5499.90"), "d", null);
+        testEntityManager.clear();
+
+        List<ProductMinDTO> first = productRepository.searchByNameFirst("pc", Limit.of(2));
+        assertThat(first).extracting(ProductMinDTO::getName).containsExactly("PC Alfa", "PC Gamer");
+
+        ProductMinDTO last = first.getLast();
+        List<ProductMinDTO> second = productRepository.searchByNameAfter("pc", last.getName(), last.getId(), Limit.of(2));
+        assertThat(second).extracting(ProductMinDTO::getName).containsExactly("pc office");
+    }
+
     @Test
     @DisplayName("findById: retorna Optional presente quando o id existe")
     void findById_returnsPresentOptional_whenIdExists() {
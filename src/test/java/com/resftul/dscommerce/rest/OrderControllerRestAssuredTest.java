@@ -334,6 +334,7 @@ class OrderControllerRestAssuredTest {
     void GET_orders__ShouldReturnOk_WhenAdminToken() {
         String adminEmail = uniqueEmail("order-admin");
         createUserAndReturnId("Order Admin", adminEmail);
+        Instant createdFrom = Instant.now().minusSeconds(60);
 
         issueJwt(adminEmail, "CLIENT");
         Long orderId = createOrderAsClientAndReturnId(adminEmail);
@@ -342,14 +343,16 @@ class OrderControllerRestAssuredTest {
 
         given().spec(requestSpecification)
                 .header("Authorization", bearer(adminToken))
+                .queryParam("from", createdFrom.toString())
+                .queryParam("size", 500)
                 .when()
                 .get(ORDERS)
                 .then()
                 .statusCode(200)
                 .contentType(JSON)
-                .body("$", notNullValue())
-                .body("$", hasSize(greaterThanOrEqualTo(1)))
-                .body("id", hasItem(orderId.intValue()));
+                .body("content", notNullValue())
+                .body("content", hasSize(greaterThanOrEqualTo(1)))
+                .body("content.id", hasItem(orderId.intValue()));
     }
 
     @Test
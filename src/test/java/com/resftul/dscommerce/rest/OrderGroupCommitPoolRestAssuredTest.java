@@ -0,0 +1,100 @@
+package com.resftul.dscommerce.rest;
+
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.http.ContentType.JSON;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+// Mais requisições simultâneas do que conexões: nenhuma pode segurar a sua enquanto espera o commit do grupo
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+        "orders.group-commit.enabled=true",
+        "orders.group-commit.linger=200ms",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=2000"
+})
+@ActiveProfiles("h2")
+@Sql(scripts = {"/sql/orders/clean.sql", "/sql/orders/seed-orders.sql"}, executionPhase = BEFORE_TEST_METHOD)
+class OrderGroupCommitPoolRestAssuredTest {
+
+    private static final int CONCURRENT_POSTS = 4;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    private RequestSpecification requestSpecification;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtDecoder.decode(anyString())).thenAnswer(invocation -> Jwt.withTokenValue(invocation.getArgument(0))
+                .header("alg", "HS256")
+                .subject("bruno@example.com")
+                .claim("authorities", List.of("ROLE_CLIENT"))
+                .build());
+        requestSpecification = new RequestSpecBuilder()
+                .setPort(port)
+                .setAccept(JSON)
+                .build();
+    }
+
+    @Test
+    @DisplayName("POST /orders concorrentes com pool de 2 conexões -> todas 201, sem esgotar o pool")
+    void concurrentPosts_smallPool_allCreated() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        try (ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_POSTS)) {
+            for (int i = 0; i < CONCURRENT_POSTS; i++) {
+                statuses.add(clients.submit(() -> {
+                    start.await(5, SECONDS);
+                    return given().spec(requestSpecification)
+                            .header("Authorization", "Bearer test-token")
+                            .contentType(JSON)
+                            .body("""
+                                    { "items": [ { "productId": 3, "quantity": 1 } ] }
+                                    """)
+                            .when()
+                            .post("/orders")
+                            .then()
+                            .extract()
+                            .statusCode();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> status : statuses) assertThat(status.get(30, SECONDS)).isEqualTo(201);
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_order", Long.class))
+                .isEqualTo(3L + CONCURRENT_POSTS);
+    }
+}
@@ -0,0 +1,201 @@
+package com.resftul.dscommerce.rollup;
+
+import com.resftul.dscommerce.entity.SalesRollup;
+import com.resftul.dscommerce.entity.SalesRollupPK;
+import com.resftul.dscommerce.event.OrderPlacedEvent;
+import com.resftul.dscommerce.repository.SalesRollupBatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static com.resftul.dscommerce.entity.SalesDimension.CATEGORY;
+import static com.resftul.dscommerce.entity.SalesDimension.PRODUCT;
+import static com.resftul.dscommerce.entity.SalesGranularity.DAY;
+import static com.resftul.dscommerce.entity.SalesGranularity.HOUR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalesRollupAggregatorTest {
+
+    private static final Instant MOMENT = Instant.parse("2025-01-02T10:15:00Z");
+    private static final Instant HOUR_START = Instant.parse("2025-01-02T10:00:00Z");
+    private static final Instant DAY_START = Instant.parse("2025-01-02T00:00:00Z");
+
+    @Mock private SalesRollupBatchRepository batchRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SalesRollupAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new SalesRollupAggregator(true, Duration.ofHours(1), batchRepository, transactionManager);
+    }
+
+    private static OrderPlacedEvent order(long id, Instant moment, Map<Long, Integer> quantities, Map<Long, Long> cents) {
+        return order(id, moment, quantities, cents, Map.of());
+    }
+
+    private static OrderPlacedEvent order(long id, Instant moment, Map<Long, Integer> quantities, Map<Long, Long> cents,
+                                          Map<Long, Set<Long>> categories) {
+        return new OrderPlacedEvent(id, moment, quantities, cents, categories);
+    }
+
+    private void transactionsRun() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SalesRollup> flushed() {
+        ArgumentCaptor<List<SalesRollup>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository, atLeastOnce()).addAll(deltas.capture(), anyInt());
+        return deltas.getValue();
+    }
+
+    private static SalesRollup find(List<SalesRollup> deltas, SalesRollupPK id) {
+        return deltas.stream().filter(d -> d.getId().equals(id)).findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("flush: um pedido vira contadores por produto e categoria, em balde horário e diário")
+    void flush_productAndCategoryBuckets() {
+        aggregator.record(order(1L, MOMENT, Map.of(1L, 1, 2L, 2), Map.of(1L, 599_990L, 2L, 15_980L),
+                Map.of(1L, Set.of(10L, 20L), 2L, Set.of(20L))));
+        int buckets = aggregator.flush();
+
+        List<SalesRollup> deltas = flushed();
+        assertThat(buckets).isEqualTo(8);
+        assertThat(deltas).extracting(d -> d.getId().getDimension(), d -> d.getId().getDimensionId(),
+                        d -> d.getId().getGranularity(), d -> d.getId().getBucketStart())
+                .containsExactlyInAnyOrder(
+                        tuple(PRODUCT, 1L, HOUR, HOUR_START), tuple(PRODUCT, 1L, DAY, DAY_START),
+                        tuple(PRODUCT, 2L, HOUR, HOUR_START), tuple(PRODUCT, 2L, DAY, DAY_START),
+                        tuple(CATEGORY, 10L, HOUR, HOUR_START), tuple(CATEGORY, 10L, DAY, DAY_START),
+                        tuple(CATEGORY, 20L, HOUR, HOUR_START), tuple(CATEGORY, 20L, DAY, DAY_START));
+
+        SalesRollup shared = find(deltas, new SalesRollupPK(CATEGORY, 20L, DAY, DAY_START));
+        assertThat(shared.getUnits()).isEqualTo(3);
+        assertThat(shared.getRevenueCents()).isEqualTo(615_970L);
+        assertThat(shared.getOrders()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("flush: pedidos do mesmo período somam no mesmo balde; períodos diferentes ficam separados")
+    void flush_aggregatesWithinBucket() {
+        for (long id = 1; id <= 100; id++) aggregator.record(order(id, MOMENT, Map.of(1L, 2), Map.of(1L, 1_000L)));
+        aggregator.record(order(101L, MOMENT.plus(Duration.ofHours(1)), Map.of(1L, 1), Map.of(1L, 500L)));
+        aggregator.flush();
+
+        List<SalesRollup> deltas = flushed();
+        assertThat(deltas).hasSize(3);
+        SalesRollup hour = find(deltas, new SalesRollupPK(PRODUCT, 1L, HOUR, HOUR_START));
+        assertThat(hour.getUnits()).isEqualTo(200);
+        assertThat(hour.getRevenueCents()).isEqualTo(100_000L);
+        assertThat(hour.getOrders()).isEqualTo(100);
+        assertThat(find(deltas, new SalesRollupPK(PRODUCT, 1L, DAY, DAY_START)).getOrders()).isEqualTo(101);
+    }
+
+    @Test
+    @DisplayName("flush: falha na gravação devolve os contadores para a próxima tentativa, sem perder nem duplicar")
+    void flush_failure_keepsCountersForRetry() {
+        aggregator.record(order(1L, MOMENT, Map.of(1L, 1), Map.of(1L, 1_000L)));
+        doThrow(new DataIntegrityViolationException("duplicate")).doNothing().when(batchRepository).addAll(anyList(), anyInt());
+
+        assertThrows(DataIntegrityViolationException.class, aggregator::flush);
+        aggregator.record(order(2L, MOMENT, Map.of(1L, 1), Map.of(1L, 1_000L)));
+        aggregator.flush();
+
+        SalesRollup hour = find(flushed(), new SalesRollupPK(PRODUCT, 1L, HOUR, HOUR_START));
+        assertThat(hour.getUnits()).isEqualTo(2);
+        assertThat(hour.getOrders()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("flush: sem vendas pendentes não acessa o banco")
+    void flush_nothingPending() {
+        assertThat(aggregator.flush()).isZero();
+        verifyNoInteractions(batchRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("start: a instância que grava o marcador reconstrói os pedidos até a marca e ignora os eventos deles")
+    void start_claimsBackfill_replaysUpToMark() {
+        transactionsRun();
+        when(batchRepository.isEmpty()).thenReturn(true);
+        when(batchRepository.maxOrderId()).thenReturn(2L);
+        doAnswer(inv -> {
+            inv.<Consumer<OrderPlacedEvent>>getArgument(2)
+                    .accept(order(2L, MOMENT, Map.of(1L, 1), Map.of(1L, 100L)));
+            return null;
+        }).when(batchRepository).forEachPlacedOrder(eq(2L), anyInt(), any());
+
+        aggregator.start();
+        try {
+            verify(batchRepository).insertBackfillMarker(2L);
+            aggregator.onOrderPlaced(order(2L, MOMENT, Map.of(1L, 1), Map.of(1L, 100L)));
+            aggregator.onOrderPlaced(order(3L, MOMENT, Map.of(1L, 1), Map.of(1L, 100L)));
+            aggregator.flush();
+        } finally {
+            aggregator.stop();
+        }
+
+        assertThat(find(flushed(), new SalesRollupPK(PRODUCT, 1L, HOUR, HOUR_START)).getOrders()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("start: marcador já gravado por outra instância -> não reconstrói e usa a marca dela")
+    void start_claimLost_usesStoredMark() {
+        transactionsRun();
+        when(batchRepository.isEmpty()).thenReturn(true);
+        doThrow(new DuplicateKeyException("marker")).when(batchRepository).insertBackfillMarker(anyLong());
+        when(batchRepository.findBackfillMark()).thenReturn(5L);
+
+        aggregator.start();
+        try {
+            aggregator.onOrderPlaced(order(5L, MOMENT, Map.of(1L, 1), Map.of(1L, 100L)));
+            assertThat(aggregator.flush()).isZero();
+            aggregator.onOrderPlaced(order(6L, MOMENT, Map.of(1L, 1), Map.of(1L, 100L)));
+            assertThat(aggregator.flush()).isEqualTo(2);
+        } finally {
+            aggregator.stop();
+        }
+
+        verify(batchRepository, never()).forEachPlacedOrder(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("start: com baldes já gravados o marcador fica em 0 e todos os pedidos novos contam")
+    void start_rollupsPresent_noBackfill() {
+        transactionsRun();
+        when(batchRepository.isEmpty()).thenReturn(false);
+
+        aggregator.start();
+        aggregator.stop();
+
+        verify(batchRepository).insertBackfillMarker(0L);
+        verify(batchRepository, never()).maxOrderId();
+        verify(batchRepository, never()).forEachPlacedOrder(anyLong(), anyInt(), any());
+    }
+}
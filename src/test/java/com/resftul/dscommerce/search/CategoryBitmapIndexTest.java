@@ -0,0 +1,100 @@
+package com.resftul.dscommerce.search;
+
+import com.resftul.dscommerce.dto.CategoryFacetDTO;
+import com.resftul.dscommerce.event.ProductChangedEvent;
+import com.resftul.dscommerce.projections.ProductCategoryProjection;
+import com.resftul.dscommerce.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryBitmapIndexTest {
+
+    @Mock private ProductRepository productRepository;
+
+    private CategoryBitmapIndex index;
+
+    private static ProductCategoryProjection link(Long productId, Long categoryId) {
+        return new ProductCategoryProjection() {
+            @Override public Long getProductId() { return productId; }
+            @Override public Long getCategoryId() { return categoryId; }
+        };
+    }
+
+    private static List<Long> facetCounts(List<CategoryFacetDTO> facets) {
+        return facets.stream().map(CategoryFacetDTO::getCount).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new CategoryBitmapIndex(productRepository, true);
+        when(productRepository.streamAllCategoryLinks()).thenReturn(Stream.of(
+                link(1L, 1L),
+                link(2L, 1L),
+                link(2L, 2L),
+                link(3L, 2L),
+                link(4L, 3L)
+        ));
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("anyOf: união dos bitmaps das categorias pedidas; categoria inexistente não contribui")
+    void anyOf_union() {
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.anyOf(Set.of(1L, 2L)).toArray()).containsExactly(1, 2, 3);
+        assertThat(index.anyOf(Set.of(99L)).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("anyOf: devolve cópia; alterar o resultado não afeta o índice")
+    void anyOf_returnsCopy() {
+        RoaringBitmap result = index.anyOf(Set.of(1L));
+        result.and(RoaringBitmap.bitmapOf(1));
+
+        assertThat(index.anyOf(Set.of(1L)).toArray()).containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("facets: contagem por categoria sobre o conjunto de resultado, omitindo categorias zeradas")
+    void facets_countsOverResultSet() {
+        List<CategoryFacetDTO> facets = index.facets(RoaringBitmap.bitmapOf(2, 3));
+
+        assertThat(facets).extracting(CategoryFacetDTO::getCategoryId).containsExactly(1L, 2L);
+        assertThat(facetCounts(facets)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("onProductChanged: move o produto entre categorias e remove ao excluir")
+    void onProductChanged_keepsBitmapsInSync() {
+        index.onProductChanged(ProductChangedEvent.saved(2L, "PC", Set.of(3L)));
+        index.onProductChanged(ProductChangedEvent.saved(5L, "Novo", Set.of(1L)));
+        index.onProductChanged(ProductChangedEvent.deleted(3L));
+
+        assertThat(index.anyOf(Set.of(1L)).toArray()).containsExactly(1, 5);
+        assertThat(index.anyOf(Set.of(2L)).isEmpty()).isTrue();
+        assertThat(index.anyOf(Set.of(3L)).toArray()).containsExactly(2, 4);
+    }
+
+    @Test
+    @DisplayName("desabilitado: não constrói nem consulta o repositório")
+    void disabled_doesNothing() {
+        var disabled = new CategoryBitmapIndex(productRepository, false);
+        disabled.rebuild();
+        disabled.onProductChanged(ProductChangedEvent.deleted(1L));
+
+        assertThat(disabled.isReady()).isFalse();
+    }
+}
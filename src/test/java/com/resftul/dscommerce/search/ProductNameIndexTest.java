@@ -0,0 +1,147 @@
+package com.resftul.dscommerce.search;
+
+import com.resftul.dscommerce.event.ProductChangedEvent;
+import com.resftul.dscommerce.projections.ProductNameProjection;
+import com.resftul.dscommerce.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+
+@ExtendWith(MockitoExtension.class)
+class ProductNameIndexTest {
+
+    @Mock private ProductRepository productRepository;
+
+    private ProductNameIndex index;
+
+    private static ProductNameProjection row(Long id, String name) {
+        return new ProductNameProjection() {
+            @Override public Long getId() { return id; }
+            @Override public String getName() { return name; }
+        };
+    }
+
+    private List<Long> ids(String term, Pageable pageable) {
+        return index.search(term, pageable).getContent();
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductNameIndex(productRepository, true);
+        when(productRepository.streamAllNames()).thenReturn(Stream.of(
+                row(1L, "PC Gamer"),
+                row(2L, "pc office"),
+                row(3L, "Notebook"),
+                row(4L, "Mouse Gamer RGB")
+        ));
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("search: substring case-insensitive com ids em ordem crescente quando sem ordenação")
+    void search_substring_caseInsensitive() {
+        assertThat(ids("GAMER", Pageable.unpaged())).containsExactly(1L, 4L);
+        assertThat(ids("ote", Pageable.unpaged())).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("search: termos curtos (< 3 caracteres) usam postings de 1 e 2 caracteres")
+    void search_shortTerm() {
+        assertThat(ids("pC", Pageable.unpaged())).containsExactly(1L, 2L);
+        assertThat(ids("r", Pageable.unpaged())).containsExactly(1L, 4L);
+        assertThat(ids("zz", Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("search: trigramas em comum sem adjacência não geram falso positivo")
+    void search_confirmsSubstring() {
+        assertThat(ids("GAMER PC", Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("search: ordena por name desc quando solicitado")
+    void search_sortedByName() {
+        assertThat(ids("er", Pageable.unpaged(Sort.by(DESC, "name")))).containsExactly(1L, 4L);
+        assertThat(ids("o", Pageable.unpaged(Sort.by("name")))).containsExactly(4L, 3L, 2L);
+    }
+
+    @Test
+    @DisplayName("search: devolve só a fatia pedida com o total de correspondências, em ordem de name ou id")
+    void search_paged() {
+        Page<Long> byName = index.search("o", PageRequest.of(1, 2, Sort.by("name")));
+        assertThat(byName.getContent()).containsExactly(2L);
+        assertThat(byName.getTotalElements()).isEqualTo(3);
+
+        assertThat(index.search("o", PageRequest.of(0, 2, Sort.by(DESC, "name"))).getContent()).containsExactly(2L, 3L);
+        assertThat(index.search("o", PageRequest.of(0, 2, Sort.by(DESC, "id"))).getContent()).containsExactly(4L, 3L);
+        assertThat(index.search("o", PageRequest.of(1, 2)).getContent()).containsExactly(4L);
+        assertThat(index.search("o", PageRequest.of(5, 2)).getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("page: ids desconhecidos pelo índice são ignorados no total e na página")
+    void page_dropsUnknownIds() {
+        Page<Long> page = index.page(RoaringBitmap.bitmapOf(1, 3, 99), PageRequest.of(0, 10, Sort.by("name")));
+        assertThat(page.getContent()).containsExactly(3L, 1L);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("page: poucas correspondências num catálogo grande são ordenadas diretamente, com o mesmo resultado")
+    void page_sparseMatches() {
+        for (long id = 10; id < 100; id++) index.onProductChanged(ProductChangedEvent.saved(id, "Item " + id, Set.of()));
+
+        assertThat(ids("gamer", Pageable.unpaged(Sort.by(DESC, "name")))).containsExactly(1L, 4L);
+        assertThat(ids("gamer", PageRequest.of(1, 1, Sort.by("name")))).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("onProductChanged: insert, rename e delete mantêm o índice atualizado")
+    void onProductChanged_keepsIndexCurrent() {
+        index.onProductChanged(ProductChangedEvent.saved(5L, "Gamer Chair", Set.of()));
+        assertThat(ids("gamer", Pageable.unpaged())).containsExactly(1L, 4L, 5L);
+
+        index.onProductChanged(ProductChangedEvent.saved(1L, "Desktop", Set.of()));
+        assertThat(ids("gamer", Pageable.unpaged())).containsExactly(4L, 5L);
+        assertThat(ids("desk", Pageable.unpaged())).containsExactly(1L);
+
+        index.onProductChanged(ProductChangedEvent.deleted(4L));
+        assertThat(ids("gamer", Pageable.unpaged())).containsExactly(5L);
+        assertThat(ids("e", Pageable.unpaged(Sort.by("name")))).containsExactly(1L, 5L, 3L, 2L);
+    }
+
+    @Test
+    @DisplayName("canServe: só atende termos não vazios e ordenações por id ou name")
+    void canServe_rules() {
+        assertThat(index.canServe("pc", Sort.unsorted())).isTrue();
+        assertThat(index.canServe("pc", Sort.by("name"))).isTrue();
+        assertThat(index.canServe("", Sort.unsorted())).isFalse();
+        assertThat(index.canServe("pc", Sort.by("price"))).isFalse();
+        assertThat(index.canServe("pc", Sort.by("name", "id"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("desabilitado: não consulta o banco e nunca atende buscas")
+    void disabled_neverServes() {
+        var disabled = new ProductNameIndex(productRepository, false);
+        disabled.rebuild();
+        assertThat(disabled.canServe("pc", Sort.unsorted())).isFalse();
+    }
+}
@@ -0,0 +1,142 @@
+package com.resftul.dscommerce.search;
+
+import com.resftul.dscommerce.dto.product.ProductSuggestionDTO;
+import com.resftul.dscommerce.event.OrderPlacedEvent;
+import com.resftul.dscommerce.event.ProductChangedEvent;
+import com.resftul.dscommerce.projections.ProductNameProjection;
+import com.resftul.dscommerce.projections.ProductSalesProjection;
+import com.resftul.dscommerce.repository.OrderItemRepository;
+import com.resftul.dscommerce.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSuggestIndexTest {
+
+    @Mock private ProductRepository productRepository;
+    @Mock private OrderItemRepository orderItemRepository;
+
+    private ProductSuggestIndex index;
+
+    private static ProductNameProjection row(Long id, String name) {
+        return new ProductNameProjection() {
+            @Override public Long getId() { return id; }
+            @Override public String getName() { return name; }
+        };
+    }
+
+    private static ProductSalesProjection sales(Long productId, Long quantity) {
+        return new ProductSalesProjection() {
+            @Override public Long getProductId() { return productId; }
+            @Override public Long getQuantity() { return quantity; }
+        };
+    }
+
+    private List<Long> ids(String prefix) {
+        return index.suggest(prefix, ProductSuggestIndex.MAX_SUGGESTIONS)
+                .stream()
+                .map(ProductSuggestionDTO::getId)
+                .toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSuggestIndex(productRepository, orderItemRepository, true);
+        when(orderItemRepository.sumQuantityByProduct()).thenReturn(List.of(sales(2L, 5L), sales(3L, 1L)));
+        when(productRepository.streamAllNames()).thenReturn(Stream.of(
+                row(1L, "Mouse Gamer"),
+                row(2L, "Mousepad"),
+                row(3L, "Monitor 27\""),
+                row(4L, "Kit Teclado e Mouse"),
+                row(5L, "Câmera Wi-Fi")
+        ));
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("suggest: ordena por popularidade e desempata pelo nome normalizado")
+    void suggest_rankedByPopularity() {
+        assertThat(ids("mo")).containsExactly(2L, 3L, 4L, 1L);
+        assertThat(ids("MOUSE")).containsExactly(2L, 4L, 1L);
+    }
+
+    @Test
+    @DisplayName("suggest: casa o início de qualquer palavra, ignorando acentos e espaços extras")
+    void suggest_wordStartsAndAccents() {
+        assertThat(ids("teclado  e")).containsExactly(4L);
+        assertThat(ids("camera")).containsExactly(5L);
+        assertThat(index.suggest("câm", 10)).containsExactly(new ProductSuggestionDTO(5L, "Câmera Wi-Fi"));
+        assertThat(ids("ouse")).isEmpty();
+        assertThat(ids(" ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("suggest: respeita o limite pedido")
+    void suggest_limit() {
+        assertThat(index.suggest("m", 2)).extracting(ProductSuggestionDTO::getId).containsExactly(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("onOrderPlaced: vendas sobem o produto no ranking de todos os prefixos")
+    void onOrderPlaced_promotes() {
+        index.onOrderPlaced(new OrderPlacedEvent(10L, Instant.now(), Map.of(1L, 10), Map.of(1L, 100_000L), Map.of()));
+
+        assertThat(ids("mouse")).containsExactly(1L, 2L, 4L);
+        assertThat(ids("gam")).containsExactly(1L);
+        assertThat(ids("m").getFirst()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("onProductChanged: renomear e excluir atualizam o trie incrementalmente")
+    void onProductChanged_keepsInSync() {
+        index.onProductChanged(ProductChangedEvent.saved(2L, "Tapete de Mesa", Set.of()));
+        assertThat(ids("mousep")).isEmpty();
+        assertThat(ids("mouse")).containsExactly(4L, 1L);
+        assertThat(ids("mesa")).containsExactly(2L);
+
+        index.onProductChanged(ProductChangedEvent.deleted(4L));
+        assertThat(ids("mouse")).containsExactly(1L);
+        assertThat(ids("kit")).isEmpty();
+
+        index.onProductChanged(ProductChangedEvent.saved(6L, "Mouse Sem Fio", Set.of()));
+        assertThat(ids("mouse")).containsExactly(1L, 6L);
+    }
+
+    @Test
+    @DisplayName("onProductChanged: cada nó guarda no máximo MAX_SUGGESTIONS e repõe candidatos após exclusões")
+    void topK_refillsAfterRemoval() {
+        for (long id = 100; id < 115; id++) {
+            index.onProductChanged(ProductChangedEvent.saved(id, "Cabo " + id, Set.of()));
+        }
+        assertThat(ids("cabo")).hasSize(ProductSuggestIndex.MAX_SUGGESTIONS).startsWith(100L, 101L);
+
+        for (long id = 100; id < 110; id++) {
+            index.onProductChanged(ProductChangedEvent.deleted(id));
+        }
+        assertThat(ids("cabo")).containsExactly(110L, 111L, 112L, 113L, 114L);
+    }
+
+    @Test
+    @DisplayName("desabilitado: não carrega nada e nunca fica pronto")
+    void disabled_neverReady() {
+        var disabled = new ProductSuggestIndex(productRepository, orderItemRepository, false);
+        disabled.rebuild();
+        disabled.onProductChanged(ProductChangedEvent.saved(9L, "Mouse", Set.of()));
+
+        assertThat(disabled.isReady()).isFalse();
+        assertThat(disabled.suggest("mouse", 10)).isEmpty();
+    }
+}
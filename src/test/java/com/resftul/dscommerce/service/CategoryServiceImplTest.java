@@ -1,15 +1,18 @@
 package com.resftul.dscommerce.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.resftul.dscommerce.dto.CategoryDTO;
 import com.resftul.dscommerce.entity.Category;
 import com.resftul.dscommerce.repository.CategoryRepository;
 import com.resftul.dscommerce.service.impl.CategoryServiceImpl;
+import com.resftul.dscommerce.snapshot.CategorySnapshot;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -23,9 +26,15 @@ class CategoryServiceImplTest {
     @Mock
     private CategoryRepository categoryRepository;
 
-    @InjectMocks
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     private CategoryServiceImpl categoryService;
 
+    @BeforeEach
+    void setUp() {
+        categoryService = new CategoryServiceImpl(categoryRepository, objectMapper, false);
+    }
+
     private static Category category(Long id, String name) {
         return new Category(
                 id,
@@ -38,7 +47,7 @@ class CategoryServiceImplTest {
     void findAll_ok() {
         var category1 = category(1L, "Informática");
         var category2 = category(2L, "Eletrônicos");
-        when(categoryRepository.findAll()).thenReturn(List.of(category1, category2));
+        when(categoryRepository.findAll(Sort.by("id"))).thenReturn(List.of(category1, category2));
 
         List<CategoryDTO> out = categoryService.findAll();
 
@@ -46,19 +55,49 @@ class CategoryServiceImplTest {
                 new CategoryDTO(1L, "Informática"),
                 new CategoryDTO(2L, "Eletrônicos")
         );
-        verify(categoryRepository).findAll();
+        verify(categoryRepository).findAll(Sort.by("id"));
         verifyNoMoreInteractions(categoryRepository);
     }
 
     @Test
     @DisplayName("findAll: retorna lista vazia quando repositório não possui registros")
     void findAll_empty() {
-        when(categoryRepository.findAll()).thenReturn(emptyList());
+        when(categoryRepository.findAll(Sort.by("id"))).thenReturn(emptyList());
 
         List<CategoryDTO> out = categoryService.findAll();
 
         assertThat(out).isEmpty();
-        verify(categoryRepository).findAll();
+        verify(categoryRepository).findAll(Sort.by("id"));
         verifyNoMoreInteractions(categoryRepository);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("snapshot: após refresh serve o mesmo snapshot sem consultar o repositório")
+    void snapshot_reusedAfterRefresh() {
+        var enabled = new CategoryServiceImpl(categoryRepository, objectMapper, true);
+        when(categoryRepository.findAll(Sort.by("id"))).thenReturn(List.of(category(1L, "Informática")));
+
+        enabled.refresh();
+        CategorySnapshot first = enabled.snapshot();
+        CategorySnapshot second = enabled.snapshot();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.identity().body()).asString().isEqualTo("[\"Informática\"]");
+        assertThat(first.identity().eTag()).startsWith("\"c-").endsWith("\"");
+        verify(categoryRepository, times(1)).findAll(Sort.by("id"));
+    }
+
+    @Test
+    @DisplayName("snapshot: desabilitado, renderiza a partir do banco a cada chamada e refresh não faz nada")
+    void snapshot_disabled_rendersEachTime() {
+        when(categoryRepository.findAll(Sort.by("id"))).thenReturn(List.of(category(1L, "Informática")));
+
+        categoryService.refresh();
+        CategorySnapshot first = categoryService.snapshot();
+        CategorySnapshot second = categoryService.snapshot();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.identity().eTag()).isEqualTo(first.identity().eTag());
+        verify(categoryRepository, times(2)).findAll(Sort.by("id"));
+    }
+}
@@ -1,28 +1,43 @@
 package com.resftul.dscommerce.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.resftul.dscommerce.dto.order.OrderDTO;
+import com.resftul.dscommerce.dto.order.OrderFilter;
 import com.resftul.dscommerce.dto.order.OrderItemDTO;
+import com.resftul.dscommerce.dto.order.OrderRevenueDTO;
 import com.resftul.dscommerce.entity.*;
+import com.resftul.dscommerce.event.OrderPlacedEvent;
+import com.resftul.dscommerce.exception.InsufficientStockException;
 import com.resftul.dscommerce.exception.ResourceNotFoundException;
-import com.resftul.dscommerce.repository.OrderItemRepository;
+import com.resftul.dscommerce.ingest.OrderGroupCommitter;
+import com.resftul.dscommerce.pagination.Cursor;
+import com.resftul.dscommerce.pagination.CursorPage;
+import com.resftul.dscommerce.projections.OrderRevenueProjection;
 import com.resftul.dscommerce.repository.OrderRepository;
 import com.resftul.dscommerce.repository.ProductRepository;
 import com.resftul.dscommerce.service.impl.OrderServiceImpl;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static com.resftul.dscommerce.entity.OrderStatus.WAITING_PAYMENT;
 import static java.math.BigDecimal.valueOf;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.Instant.parse;
-import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,9 +48,13 @@ class OrderServiceImplTest {
 
     @Mock private OrderRepository orderRepository;
     @Mock private ProductRepository productRepository;
-    @Mock private OrderItemRepository orderItemRepository;
+    @Mock private StockService stockService;
     @Mock private UserService userService;
     @Mock private AuthService authService;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private OrderGroupCommitter orderGroupCommitter;
+    @Mock private EntityManager entityManager;
+    @Spy private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
 
     @InjectMocks private OrderServiceImpl orderServiceImpl;
 
@@ -81,7 +100,7 @@ class OrderServiceImplTest {
     void findById_ok() {
         var client = user(10L, "Ana", "ana@example.com", role("ROLE_CLIENT"));
         var persisted = order(100L, client, OrderStatus.PAID, parse("2024-01-01T10:00:00Z"));
-        when(orderRepository.findById(100L)).thenReturn(Optional.of(persisted));
+        when(orderRepository.findWithDetailsById(100L)).thenReturn(Optional.of(persisted));
         doNothing().when(authService).validateSelfOrAdmin(10L);
 
         OrderDTO out = orderServiceImpl.findById(100L);
@@ -94,7 +113,7 @@ class OrderServiceImplTest {
     @Test
     @DisplayName("findById: lança ResourceNotFoundException quando id não existe")
     void findById_notFound() {
-        when(orderRepository.findById(404L)).thenReturn(Optional.empty());
+        when(orderRepository.findWithDetailsById(404L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> orderServiceImpl.findById(404L));
         verify(authService, never()).validateSelfOrAdmin(anyLong());
     }
@@ -107,15 +126,15 @@ class OrderServiceImplTest {
 
         var product1 = product(1L, "Notebook", valueOf(100.00));
         var product2 = product(2L, "Mouse", valueOf(50.00));
-        when(productRepository.getReferenceById(1L)).thenReturn(product1);
-        when(productRepository.getReferenceById(2L)).thenReturn(product2);
+        product1.getCategories().add(new Category(7L, "Informática"));
+        product1.setStock(10);
+        when(productRepository.findAllWithCategoriesByIdIn(Set.of(1L, 2L))).thenReturn(List.of(product2, product1));
 
         when(orderRepository.save(any(Order.class))).thenAnswer(inv -> {
             Order o = inv.getArgument(0);
             o.setId(999L);
             return o;
         });
-        when(orderItemRepository.saveAll(any())).thenReturn(emptyList());
 
         OrderDTO orderDTO = new OrderDTO();
         orderDTO.getItems().add(itemDto(1L, 2));
@@ -125,46 +144,225 @@ class OrderServiceImplTest {
 
         assertThat(out.getId()).isEqualTo(999L);
         assertThat(out.getStatus()).isEqualTo(WAITING_PAYMENT);
-        assertThat(out.getTotal()).isEqualTo(2 * 100.0 + 3 * 50.0);
+        assertThat(out.getTotal()).isEqualByComparingTo("350.00");
 
         verify(userService).authenticated();
-        verify(productRepository).getReferenceById(1L);
-        verify(productRepository).getReferenceById(2L);
-        verify(orderRepository).save(any(Order.class));
-        verify(orderItemRepository).saveAll(any());
+        verify(productRepository).findAllWithCategoriesByIdIn(Set.of(1L, 2L));
+        verify(productRepository, never()).getReferenceById(anyLong());
+        var inOrder = inOrder(stockService, orderRepository);
+        inOrder.verify(stockService).reserve(Map.of(1L, 2));
+        inOrder.verify(orderRepository).save(argThat((Order o) -> o.getItems().size() == 2));
+        verify(eventPublisher).publishEvent(argThat((OrderPlacedEvent e) -> e.orderId() == 999L
+                && e.moment() != null
+                && e.quantitiesByProduct().equals(Map.of(1L, 2, 2L, 3))
+                && e.subTotalCentsByProduct().equals(Map.of(1L, 20_000L, 2L, 15_000L))
+                && e.categoryIdsByProduct().equals(Map.of(1L, Set.of(7L), 2L, Set.of()))));
     }
 
     @Test
-    @DisplayName("listAll: quando CLIENT, retorna apenas pedidos do próprio usuário")
-    void listAll_nonAdmin_onlyOwnOrders() {
+    @DisplayName("insert: total gravado no pedido em centavos exatos, sem erro de ponto flutuante")
+    void insert_totalCentsExact() {
+        when(userService.authenticated()).thenReturn(user(20L, "Bob", "bob@example.com", role("ROLE_CLIENT")));
+        var cable = product(1L, "Cabo", new BigDecimal("0.10"));
+        var adapter = product(2L, "Adaptador", new BigDecimal("0.20"));
+        when(productRepository.findAllWithCategoriesByIdIn(Set.of(1L, 2L))).thenReturn(List.of(cable, adapter));
+        when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.getItems().add(itemDto(1L, 3));
+        orderDTO.getItems().add(itemDto(2L, 1));
+
+        OrderDTO out = orderServiceImpl.insert(orderDTO);
+
+        assertThat(out.getTotal()).isEqualTo(new BigDecimal("0.50"));
+        verify(orderRepository).save(argThat((Order o) -> o.getTotalCents() == 50L));
+    }
+
+    @Test
+    @DisplayName("insert: ids de produto inexistentes falham antes de salvar, listando todos os ids desconhecidos")
+    void insert_unknownProducts_failsFastListingIds() {
+        when(userService.authenticated()).thenReturn(user(20L, "Bob", "bob@example.com", role("ROLE_CLIENT")));
+        when(productRepository.findAllWithCategoriesByIdIn(Set.of(1L, 7L, 9L)))
+                .thenReturn(List.of(product(1L, "Notebook", valueOf(100.00))));
+
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.getItems().add(new OrderItemDTO(9L, null, null, 1, null));
+        orderDTO.getItems().add(new OrderItemDTO(1L, null, null, 2, null));
+        orderDTO.getItems().add(new OrderItemDTO(7L, null, null, 1, null));
+
+        var ex = assertThrows(ResourceNotFoundException.class, () -> orderServiceImpl.insert(orderDTO));
+
+        assertThat(ex.getMessage()).isEqualTo("Produtos não encontrados: [9, 7]");
+        verifyNoInteractions(orderRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("submit: valida e monta o pedido, mas delega a gravação ao group commit")
+    void submit_handsOrderToGroupCommitter() {
+        when(userService.authenticated()).thenReturn(user(20L, "Bob", "bob@example.com", role("ROLE_CLIENT")));
+        when(productRepository.findAllWithCategoriesByIdIn(Set.of(1L))).thenReturn(List.of(product(1L, "Notebook", valueOf(100.00))));
+        when(orderGroupCommitter.submit(any(Order.class))).thenAnswer(inv -> {
+            Order o = inv.getArgument(0);
+            o.setId(1234L);
+            return CompletableFuture.completedFuture(o);
+        });
+
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.getItems().add(new OrderItemDTO(1L, null, null, 2, null));
+
+        OrderDTO out = orderServiceImpl.submit(orderDTO).join();
+
+        assertThat(out.getId()).isEqualTo(1234L);
+        assertThat(out.getItems()).singleElement().satisfies(item -> assertThat(item.getQuantity()).isEqualTo(2));
+        verify(orderGroupCommitter).submit(argThat((Order o) -> o.getClient().getId() == 20L && o.getItems().size() == 1));
+        verifyNoInteractions(orderRepository, eventPublisher, stockService);
+    }
+
+    @Test
+    @DisplayName("insert: estoque insuficiente impede a gravação do pedido")
+    void insert_insufficientStock_doesNotSave() {
+        when(userService.authenticated()).thenReturn(user(20L, "Bob", "bob@example.com", role("ROLE_CLIENT")));
+        var notebook = product(1L, "Notebook", valueOf(100.00));
+        notebook.setStock(3);
+        when(productRepository.findAllWithCategoriesByIdIn(Set.of(1L))).thenReturn(List.of(notebook));
+        doThrow(new InsufficientStockException(1L)).when(stockService).reserve(Map.of(1L, 5));
+
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.getItems().add(new OrderItemDTO(1L, null, null, 5, null));
+
+        var ex = assertThrows(InsufficientStockException.class, () -> orderServiceImpl.insert(orderDTO));
+
+        assertThat(ex.getProductId()).isEqualTo(1L);
+        verifyNoInteractions(orderRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("findAll: primeira página busca size+1 ids, carrega detalhes na ordem do keyset e gera cursor")
+    void findAll_firstPage_loadsInKeysetOrderAndEmitsCursor() {
+        var client = user(30L, "Carol", "carol@example.com", role("ROLE_CLIENT"));
+        var order1 = order(1001L, client, OrderStatus.PAID, parse("2024-02-01T00:00:00Z"));
+        var order2 = order(1002L, client, OrderStatus.PAID, parse("2024-02-05T00:00:00Z"));
+        var filter = new OrderFilter(OrderStatus.PAID, 30L, null, null);
+        when(orderRepository.findIdsFirst(OrderStatus.PAID, 30L, null, null, Limit.of(3)))
+                .thenReturn(List.of(1001L, 1002L, 1003L));
+        when(orderRepository.findAllWithDetailsByIdIn(List.of(1001L, 1002L)))
+                .thenReturn(List.of(order2, order1));
+
+        CursorPage<OrderDTO> page = orderServiceImpl.findAll(filter, null, 2);
+
+        assertThat(page.content()).extracting(OrderDTO::getId).containsExactly(1001L, 1002L);
+        assertThat(page.size()).isEqualTo(2);
+        Cursor next = Cursor.decode(page.nextCursor());
+        assertThat(next.id()).isEqualTo(1002L);
+        assertThat(next.key()).isEqualTo("2024-02-05T00:00:00Z");
+    }
+
+    @Test
+    @DisplayName("findAll: página seguinte usa momento e id do cursor; última página não tem cursor")
+    void findAll_afterCursor_lastPage() {
+        var client = user(30L, "Carol", "carol@example.com", role("ROLE_CLIENT"));
+        var order3 = order(1003L, client, OrderStatus.SHIPPED, parse("2024-02-07T00:00:00Z"));
+        String after = new Cursor("2024-02-05T00:00:00Z", 1002L).encode();
+        when(orderRepository.findIdsAfter(
+                null, null, null, null, parse("2024-02-05T00:00:00Z"), 1002L, Limit.of(3)))
+                .thenReturn(List.of(1003L));
+        when(orderRepository.findAllWithDetailsByIdIn(List.of(1003L))).thenReturn(List.of(order3));
+
+        CursorPage<OrderDTO> page = orderServiceImpl.findAll(OrderFilter.none(), after, 2);
+
+        assertThat(page.content()).extracting(OrderDTO::getId).containsExactly(1003L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("findAll: sem resultados não consulta os detalhes")
+    void findAll_empty_skipsDetailsQuery() {
+        when(orderRepository.findIdsFirst(null, null, null, null, Limit.of(21))).thenReturn(List.of());
+
+        CursorPage<OrderDTO> page = orderServiceImpl.findAll(OrderFilter.none(), "", 20);
+
+        assertThat(page.content()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+        verify(orderRepository, never()).findAllWithDetailsByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("findAll: cursor com momento inválido lança IllegalArgumentException")
+    void findAll_cursorWithInvalidMoment_throws() {
+        String after = new Cursor("not-an-instant", 1L).encode();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> orderServiceImpl.findAll(OrderFilter.none(), after, 20));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("findMine: pedidos do usuário autenticado, mais recentes primeiro, com cursor")
+    void findMine_firstPage_newestFirst() {
+        var client = user(30L, "Carol", "carol@example.com", role("ROLE_CLIENT"));
+        var older = order(1001L, client, OrderStatus.PAID, parse("2024-02-01T00:00:00Z"));
+        var newer = order(1002L, client, OrderStatus.PAID, parse("2024-02-05T00:00:00Z"));
+        when(userService.authenticated()).thenReturn(client);
+        when(orderRepository.findIdsByClientFirst(30L, Limit.of(3))).thenReturn(List.of(1002L, 1001L, 1000L));
+        when(orderRepository.findAllWithDetailsByIdIn(List.of(1002L, 1001L))).thenReturn(List.of(older, newer));
+
+        CursorPage<OrderDTO> page = orderServiceImpl.findMine(null, 2);
+
+        assertThat(page.content()).extracting(OrderDTO::getId).containsExactly(1002L, 1001L);
+        assertThat(Cursor.decode(page.nextCursor())).isEqualTo(new Cursor("2024-02-01T00:00:00Z", 1001L));
+    }
+
+    @Test
+    @DisplayName("findMine: página seguinte busca pedidos anteriores ao cursor do próprio cliente")
+    void findMine_afterCursor_usesClientAndCursor() {
         var client = user(30L, "Carol", "carol@example.com", role("ROLE_CLIENT"));
-        var order1 = order(1001L, client, OrderStatus.WAITING_PAYMENT, parse("2024-02-01T00:00:00Z"));
-        var order2 = order(1002L, client, OrderStatus.DELIVERED, parse("2024-02-05T00:00:00Z"));
-        client.getOrders().add(order1);
-        client.getOrders().add(order2);
+        var oldest = order(1000L, client, OrderStatus.DELIVERED, parse("2024-01-20T00:00:00Z"));
+        String after = new Cursor("2024-02-01T00:00:00Z", 1001L).encode();
         when(userService.authenticated()).thenReturn(client);
+        when(orderRepository.findIdsByClientBefore(30L, parse("2024-02-01T00:00:00Z"), 1001L, Limit.of(3)))
+                .thenReturn(List.of(1000L));
+        when(orderRepository.findAllWithDetailsByIdIn(List.of(1000L))).thenReturn(List.of(oldest));
 
-        List<OrderDTO> out = orderServiceImpl.listAll();
+        CursorPage<OrderDTO> page = orderServiceImpl.findMine(after, 2);
 
-        assertThat(out).hasSize(2);
-        assertThat(out).extracting(OrderDTO::getId).containsExactlyInAnyOrder(1001L, 1002L);
-        verify(orderRepository, never()).findAll();
+        assertThat(page.content()).extracting(OrderDTO::getId).containsExactly(1000L);
+        assertThat(page.nextCursor()).isNull();
     }
 
     @Test
-    @DisplayName("listAll: quando ADMIN, retorna todos os pedidos do repositório")
-    void listAll_admin_returnsAll() {
-        var admin = user(40L, "Dave", "dave@example.com", role("ROLE_ADMIN"));
-        when(userService.authenticated()).thenReturn(admin);
+    @DisplayName("exportNdjson: escreve um pedido por linha e limpa o contexto de persistência por bloco")
+    void exportNdjson_writesOneLinePerOrder() {
+        var client = user(30L, "Carol", "carol@example.com", role("ROLE_CLIENT"));
+        var order1 = order(1001L, client, OrderStatus.PAID, parse("2024-02-01T00:00:00Z"));
+        var order2 = order(1002L, client, OrderStatus.SHIPPED, parse("2024-02-05T00:00:00Z"));
+        when(orderRepository.findIdsFirst(isNull(), isNull(), isNull(), isNull(), any(Limit.class)))
+                .thenReturn(List.of(1001L, 1002L));
+        when(orderRepository.findAllWithDetailsByIdIn(List.of(1001L, 1002L)))
+                .thenReturn(List.of(order1, order2));
+        var out = new ByteArrayOutputStream();
 
-        var orderA = order(2001L, admin, OrderStatus.PAID, parse("2024-03-10T00:00:00Z"));
-        var orderB = order(2002L, admin, OrderStatus.SHIPPED, parse("2024-03-12T00:00:00Z"));
-        when(orderRepository.findAll()).thenReturn(List.of(orderA, orderB));
+        orderServiceImpl.exportNdjson(OrderFilter.none(), out);
+
+        String[] lines = out.toString(UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"id\":1001").contains("\"status\":\"PAID\"");
+        assertThat(lines[1]).contains("\"id\":1002");
+        verify(entityManager).clear();
+        verify(orderRepository, never()).findIdsAfter(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("revenue: soma a coluna total dos pedidos filtrados e devolve em reais")
+    void revenue_sumsPersistedTotals() {
+        var from = parse("2025-01-01T00:00:00Z");
+        OrderRevenueProjection projection = mock(OrderRevenueProjection.class);
+        when(projection.getOrders()).thenReturn(2L);
+        when(projection.getTotalCents()).thenReturn(659940L);
+        when(orderRepository.sumRevenue(WAITING_PAYMENT, null, from, null)).thenReturn(projection);
 
-        List<OrderDTO> out = orderServiceImpl.listAll();
+        OrderRevenueDTO out = orderServiceImpl.revenue(new OrderFilter(WAITING_PAYMENT, null, from, null));
 
-        assertThat(out).hasSize(2);
-        assertThat(out).extracting(OrderDTO::getId).containsExactlyInAnyOrder(2001L, 2002L);
-        verify(orderRepository).findAll();
+        assertThat(out.getOrders()).isEqualTo(2L);
+        assertThat(out.getTotal()).isEqualTo(new BigDecimal("6599.40"));
     }
 }
@@ -0,0 +1,163 @@
+package com.resftul.dscommerce.service;
+
+import com.resftul.dscommerce.dto.order.OrderBulkStatusDTO;
+import com.resftul.dscommerce.dto.order.OrderBulkStatusReport;
+import com.resftul.dscommerce.dto.order.OrderDTO;
+import com.resftul.dscommerce.dto.order.OrderStatusDTO;
+import com.resftul.dscommerce.entity.Order;
+import com.resftul.dscommerce.entity.OrderStatus;
+import com.resftul.dscommerce.entity.Role;
+import com.resftul.dscommerce.entity.User;
+import com.resftul.dscommerce.exception.InvalidStatusTransitionException;
+import com.resftul.dscommerce.exception.ResourceNotFoundException;
+import com.resftul.dscommerce.repository.OrderRepository;
+import com.resftul.dscommerce.service.impl.OrderStatusServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.resftul.dscommerce.entity.OrderStatus.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusServiceImplTest {
+
+    @Mock private OrderRepository orderRepository;
+    @Mock private StockService stockService;
+    @Mock private TransactionTemplate transactionTemplate;
+
+    private OrderStatusServiceImpl orderStatusService;
+
+    @BeforeEach
+    void setUp() {
+        orderStatusService = new OrderStatusServiceImpl(orderRepository, stockService, transactionTemplate, 2);
+    }
+
+    private static Order order(Long id, OrderStatus status, long version) {
+        Order order = new Order(id, Instant.parse("2025-01-01T00:00:00Z"), status, new User(2L, "Bruno", "bruno@example.com", new Role[0]));
+        order.setVersion(version);
+        return order;
+    }
+
+    private void runChunksInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("transition: muda o status, grava com flush e devolve o pedido")
+    void transition_ok() {
+        Order order = order(1L, PAID, 3L);
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
+
+        OrderDTO out = orderStatusService.transition(1L, new OrderStatusDTO(SHIPPED, 3L));
+
+        assertThat(out.getStatus()).isEqualTo(SHIPPED);
+        verify(orderRepository).saveAndFlush(order);
+        verifyNoInteractions(stockService);
+    }
+
+    @Test
+    @DisplayName("transition: cancelamento devolve ao estoque o que o pedido reservou")
+    void transition_canceled_restocks() {
+        Order order = order(1L, PAID, 3L);
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order));
+
+        orderStatusService.transition(1L, new OrderStatusDTO(CANCELED, 3L));
+
+        var inOrder = inOrder(orderRepository, stockService);
+        inOrder.verify(orderRepository).saveAndFlush(order);
+        inOrder.verify(stockService).restock(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("transition: versão informada diferente da atual -> conflito sem gravar")
+    void transition_staleVersion_conflict() {
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order(1L, PAID, 4L)));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> orderStatusService.transition(1L, new OrderStatusDTO(SHIPPED, 3L)));
+        verify(orderRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("transition: transição inválida -> InvalidStatusTransitionException sem gravar")
+    void transition_invalid() {
+        when(orderRepository.findWithDetailsById(1L)).thenReturn(Optional.of(order(1L, DELIVERED, 0L)));
+
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> orderStatusService.transition(1L, new OrderStatusDTO(CANCELED, null)));
+        verify(orderRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("transition: pedido inexistente -> ResourceNotFoundException")
+    void transition_notFound() {
+        when(orderRepository.findWithDetailsById(404L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> orderStatusService.transition(404L, new OrderStatusDTO(PAID, null)));
+    }
+
+    @Test
+    @DisplayName("transitionAll: ids sem repetição em blocos, um UPDATE por bloco e rejeitados no relatório")
+    void transitionAll_chunks() {
+        runChunksInline();
+        Set<OrderStatus> sources = Set.of(PAID);
+        when(orderRepository.lockIdsInStatus(List.of(1L, 2L), sources)).thenReturn(List.of(1L, 2L));
+        when(orderRepository.updateStatus(List.of(1L, 2L), SHIPPED, sources)).thenReturn(2);
+        when(orderRepository.lockIdsInStatus(List.of(3L, 4L), sources)).thenReturn(List.of(4L));
+        when(orderRepository.updateStatus(List.of(4L), SHIPPED, sources)).thenReturn(1);
+        when(orderRepository.lockIdsInStatus(List.of(5L), sources)).thenReturn(List.of());
+
+        OrderBulkStatusReport report = orderStatusService.transitionAll(
+                new OrderBulkStatusDTO(SHIPPED, List.of(1L, 2L, 2L, 3L, 4L, 5L)));
+
+        assertThat(report.getRequested()).isEqualTo(5);
+        assertThat(report.getUpdated()).isEqualTo(3);
+        assertThat(report.getRejected()).isEqualTo(2);
+        assertThat(report.getRejectedIds()).containsExactly(3L, 5L);
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(orderRepository, never()).findAllById(any());
+        verifyNoInteractions(stockService);
+    }
+
+    @Test
+    @DisplayName("transitionAll: cancelamento em massa devolve o estoque só dos pedidos travados e cancelados")
+    void transitionAll_canceled_restocksEligible() {
+        runChunksInline();
+        Set<OrderStatus> sources = OrderStatus.sourcesOf(CANCELED);
+        when(orderRepository.lockIdsInStatus(List.of(1L, 2L), sources)).thenReturn(List.of(2L));
+        when(orderRepository.updateStatus(List.of(2L), CANCELED, sources)).thenReturn(1);
+        when(orderRepository.lockIdsInStatus(List.of(3L), sources)).thenReturn(List.of());
+
+        orderStatusService.transitionAll(new OrderBulkStatusDTO(CANCELED, List.of(1L, 2L, 3L)));
+
+        verify(stockService).restock(List.of(2L));
+        verifyNoMoreInteractions(stockService);
+    }
+
+    @Test
+    @DisplayName("transitionAll: destino sem origem possível rejeita tudo sem consultar o banco")
+    void transitionAll_unreachableTarget() {
+        OrderBulkStatusReport report = orderStatusService.transitionAll(
+                new OrderBulkStatusDTO(WAITING_PAYMENT, List.of(1L, 2L)));
+
+        assertThat(report.getUpdated()).isZero();
+        assertThat(report.getRejectedIds()).containsExactly(1L, 2L);
+        verifyNoInteractions(orderRepository, transactionTemplate);
+    }
+}
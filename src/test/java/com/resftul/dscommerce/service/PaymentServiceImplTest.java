@@ -0,0 +1,146 @@
+package com.resftul.dscommerce.service;
+
+import com.resftul.dscommerce.dto.order.OrderDTO;
+import com.resftul.dscommerce.entity.Order;
+import com.resftul.dscommerce.entity.OrderStatus;
+import com.resftul.dscommerce.entity.Role;
+import com.resftul.dscommerce.entity.User;
+import com.resftul.dscommerce.exception.InvalidStatusTransitionException;
+import com.resftul.dscommerce.exception.PaymentDeclinedException;
+import com.resftul.dscommerce.payment.PaymentAuthorization;
+import com.resftul.dscommerce.payment.PaymentGateway;
+import com.resftul.dscommerce.repository.OrderRepository;
+import com.resftul.dscommerce.service.impl.PaymentServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.resftul.dscommerce.entity.OrderStatus.*;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceImplTest {
+
+    private static final PaymentAuthorization AUTHORIZATION =
+            new PaymentAuthorization("tx-1", Instant.parse("2025-01-02T12:00:00Z"));
+
+    @Mock private OrderRepository orderRepository;
+    @Mock private AuthService authService;
+    @Mock private PaymentGateway paymentGateway;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private PaymentServiceImpl paymentService;
+
+    @BeforeEach
+    void setUp() {
+        paymentService = new PaymentServiceImpl(orderRepository, authService, paymentGateway, executor, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    private static Order order(OrderStatus status) {
+        Order order = new Order(7L, Instant.parse("2025-01-02T10:00:00Z"), status,
+                new User(2L, "Bruno", "bruno@example.com", new Role[0]));
+        order.setTotalCents(20_980L);
+        return order;
+    }
+
+    private static Throwable causeOf(Runnable call) {
+        return assertThrows(CompletionException.class, call::run).getCause();
+    }
+
+    @Test
+    @DisplayName("pay: cobra o total do pedido, grava o pagamento e muda o pedido para PAID")
+    void pay_ok() {
+        Order order = order(WAITING_PAYMENT);
+        when(orderRepository.findById(7L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithDetailsById(7L)).thenReturn(Optional.of(order));
+        when(paymentGateway.authorize(7L, new BigDecimal("209.80"))).thenReturn(AUTHORIZATION);
+
+        OrderDTO out = paymentService.pay(7L).join();
+
+        assertThat(out.getStatus()).isEqualTo(PAID);
+        assertThat(order.getPayment().getTransactionId()).isEqualTo("tx-1");
+        assertThat(order.getPayment().getMoment()).isEqualTo(AUTHORIZATION.authorizedAt());
+        verify(authService).validateSelfOrAdmin(2L);
+        verify(orderRepository).flush();
+        verify(transactionManager, times(2)).commit(any());
+        verify(paymentGateway, never()).cancel(any());
+    }
+
+    @Test
+    @DisplayName("pay: pedido que não aceita pagamento falha antes de chamar o gateway")
+    void pay_notPayable_skipsGateway() {
+        when(orderRepository.findById(7L)).thenReturn(Optional.of(order(SHIPPED)));
+
+        assertThat(causeOf(() -> paymentService.pay(7L).join())).isInstanceOf(InvalidStatusTransitionException.class);
+        verifyNoInteractions(paymentGateway);
+    }
+
+    @Test
+    @DisplayName("pay: recusa do gateway não grava nada")
+    void pay_declined() {
+        when(orderRepository.findById(7L)).thenReturn(Optional.of(order(WAITING_PAYMENT)));
+        when(paymentGateway.authorize(anyLong(), any())).thenThrow(new PaymentDeclinedException(7L));
+
+        assertThat(causeOf(() -> paymentService.pay(7L).join())).isInstanceOf(PaymentDeclinedException.class);
+        verify(orderRepository, never()).findWithDetailsById(anyLong());
+    }
+
+    @Test
+    @DisplayName("pay: pedido cancelado durante a cobrança -> autorização é estornada no gateway")
+    void pay_orderChangedDuringCharge_cancelsAuthorization() {
+        when(orderRepository.findById(7L)).thenReturn(Optional.of(order(WAITING_PAYMENT)));
+        when(orderRepository.findWithDetailsById(7L)).thenReturn(Optional.of(order(CANCELED)));
+        when(paymentGateway.authorize(anyLong(), any())).thenReturn(AUTHORIZATION);
+
+        assertThat(causeOf(() -> paymentService.pay(7L).join())).isInstanceOf(InvalidStatusTransitionException.class);
+        verify(paymentGateway).cancel(AUTHORIZATION);
+    }
+
+    @Test
+    @DisplayName("pay: segunda cobrança do mesmo pedido em andamento é recusada")
+    void pay_concurrentForSameOrder_rejected() throws Exception {
+        CountDownLatch charging = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Order order = order(WAITING_PAYMENT);
+        when(orderRepository.findById(7L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithDetailsById(7L)).thenReturn(Optional.of(order));
+        when(paymentGateway.authorize(anyLong(), any())).thenAnswer(inv -> {
+            charging.countDown();
+            release.await(5, SECONDS);
+            return AUTHORIZATION;
+        });
+
+        var first = paymentService.pay(7L);
+        assertThat(charging.await(5, SECONDS)).isTrue();
+        var second = paymentService.pay(7L);
+
+        assertThat(causeOf(second::join)).hasMessageContaining("em andamento");
+        release.countDown();
+        assertThat(first.join().getStatus()).isEqualTo(PAID);
+        verify(paymentGateway, times(1)).authorize(anyLong(), any());
+    }
+}
@@ -1,27 +1,44 @@
 package com.resftul.dscommerce.service;
 
 import com.resftul.dscommerce.dto.CategoryDTO;
+import com.resftul.dscommerce.dto.CategoryFacetDTO;
 import com.resftul.dscommerce.dto.product.ProductDTO;
 import com.resftul.dscommerce.dto.product.ProductMinDTO;
+import com.resftul.dscommerce.dto.product.ProductSuggestionDTO;
 import com.resftul.dscommerce.entity.Product;
+import com.resftul.dscommerce.event.ProductChangedEvent;
 import com.resftul.dscommerce.exception.ProductAlreadyExistsException;
 import com.resftul.dscommerce.exception.ResourceNotFoundException;
 import com.resftul.dscommerce.mapper.ProductMapper;
+import com.resftul.dscommerce.pagination.Cursor;
+import com.resftul.dscommerce.pagination.CursorPage;
+import com.resftul.dscommerce.pagination.FacetedPage;
 import com.resftul.dscommerce.repository.ProductRepository;
+import com.resftul.dscommerce.search.CategoryBitmapIndex;
+import com.resftul.dscommerce.search.ProductNameIndex;
+import com.resftul.dscommerce.search.ProductSuggestIndex;
 import com.resftul.dscommerce.service.impl.ProductServiceImpl;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.*;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
+import static com.resftul.dscommerce.config.CacheConfig.PRODUCTS_CACHE;
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -33,6 +50,11 @@ class ProductServiceImplTest {
 
     @Mock private ProductRepository productRepository;
     @Mock private ProductMapper productMapper;
+    @Mock private ProductNameIndex productNameIndex;
+    @Mock private CategoryBitmapIndex categoryBitmapIndex;
+    @Mock private ProductSuggestIndex productSuggestIndex;
+    @Mock private CacheManager cacheManager;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks private ProductServiceImpl productService;
 
@@ -57,6 +79,15 @@ class ProductServiceImplTest {
         );
     }
 
+    private static DataIntegrityViolationException constraintViolation(String constraintName) {
+        return new DataIntegrityViolationException("constraint violation",
+                new ConstraintViolationException("violation", new SQLException(), constraintName));
+    }
+
+    private static ProductMinDTO min(Long id, String name) {
+        return new ProductMinDTO(id, name, new BigDecimal("123.45"), "https://img");
+    }
+
     private void stubMapperCopy() {
         doAnswer(inv -> {
             ProductDTO src = inv.getArgument(0);
@@ -73,9 +104,8 @@ class ProductServiceImplTest {
     @DisplayName("insert: persiste quando nome é único e retorna ProductDTO")
     void insert_ok() {
         var in = dto("Notebook Ultra");
-        when(productRepository.existsByName("Notebook Ultra")).thenReturn(false);
         stubMapperCopy();
-        when(productRepository.save(any(Product.class))).thenAnswer(inv -> {
+        when(productRepository.saveAndFlush(any(Product.class))).thenAnswer(inv -> {
             Product p = inv.getArgument(0);
             p.setId(10L);
             return p;
@@ -85,37 +115,40 @@ class ProductServiceImplTest {
 
         assertThat(out.getId()).isEqualTo(10L);
         assertThat(out.getName()).isEqualTo("Notebook Ultra");
-        verify(productRepository).existsByName("Notebook Ultra");
         verify(productMapper).updateEntityFromDto(eq(in), any(Product.class));
-        verify(productRepository).save(any(Product.class));
+        verify(productRepository).saveAndFlush(any(Product.class));
+        verify(eventPublisher).publishEvent(ProductChangedEvent.saved(10L, "Notebook Ultra", Set.of()));
     }
 
     @Test
-    @DisplayName("insert: lança ProductAlreadyExistsException quando nome já existe")
+    @DisplayName("insert: violação de uk_tb_product_name vira ProductAlreadyExistsException sem publicar evento")
     void insert_duplicateName() {
         var in = dto("Duplicado");
-        when(productRepository.existsByName("Duplicado")).thenReturn(true);
+        stubMapperCopy();
+        when(productRepository.saveAndFlush(any(Product.class)))
+                .thenThrow(constraintViolation("PUBLIC.UK_TB_PRODUCT_NAME_INDEX_8"));
 
-        assertThrows(ProductAlreadyExistsException.class, () -> productService.insert(in));
-        verify(productRepository, never()).save(any());
+        var ex = assertThrows(ProductAlreadyExistsException.class, () -> productService.insert(in));
+        assertThat(ex.getMessage()).isEqualTo("Já existe um produto com nome Duplicado");
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    @DisplayName("insert: ao violar integridade, traduz para ProductAlreadyExistsException")
-    void insert_translatesDataIntegrity() {
+    @DisplayName("insert: violação de outra constraint é propagada sem virar conflito de nome")
+    void insert_otherConstraint_propagates() {
         var in = dto("Qualquer");
-        when(productRepository.existsByName("Qualquer")).thenReturn(false);
         stubMapperCopy();
-        when(productRepository.save(any(Product.class)))
-                .thenThrow(new DataIntegrityViolationException("unique"));
+        var violation = constraintViolation("FK_TB_PRODUCT_CATEGORY_CATEGORY");
+        when(productRepository.saveAndFlush(any(Product.class))).thenThrow(violation);
 
-        assertThrows(ProductAlreadyExistsException.class, () -> productService.insert(in));
+        var ex = assertThrows(DataIntegrityViolationException.class, () -> productService.insert(in));
+        assertThat(ex).isSameAs(violation);
     }
 
     @Test
     @DisplayName("findById: retorna DTO quando existe")
     void findById_ok() {
-        when(productRepository.findById(5L)).thenReturn(Optional.of(entity(5L, "PC")));
+        when(productRepository.findWithCategoriesById(5L)).thenReturn(Optional.of(entity(5L, "PC")));
         ProductDTO out = productService.findById(5L);
         assertThat(out.getId()).isEqualTo(5L);
         assertThat(out.getName()).isEqualTo("PC");
@@ -124,16 +157,16 @@ class ProductServiceImplTest {
     @Test
     @DisplayName("findById: lança ResourceNotFoundException quando não existe")
     void findById_notFound() {
-        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+        when(productRepository.findWithCategoriesById(99L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> productService.findById(99L));
     }
 
     @Test
-    @DisplayName("findAll: mapeia Page<Product> -> Page<ProductMinDTO>")
+    @DisplayName("findAll: devolve a página projetada diretamente em ProductMinDTO")
     void findAll_ok() {
-        var p1 = entity(1L, "PC Gamer");
+        var p1 = new ProductMinDTO(1L, "PC Gamer", new BigDecimal("123.45"), "https://img");
         var page = new PageImpl<>(List.of(p1), PageRequest.of(0, 1), 1);
-        when(productRepository.searchByName(eq("pc"), any(Pageable.class))).thenReturn(page);
+        when(productRepository.searchMinByName(eq("pc"), any(Pageable.class))).thenReturn(page);
 
         Page<ProductMinDTO> out = productService.findAll("pc", PageRequest.of(0, 1));
 
@@ -146,8 +179,8 @@ class ProductServiceImplTest {
     @Test
     @DisplayName("findAll: retorna página vazia quando não há resultados")
     void findAll_empty() {
-        var empty = new PageImpl<Product>(emptyList(), PageRequest.of(0, 10), 0);
-        when(productRepository.searchByName(eq(""), any(Pageable.class))).thenReturn(empty);
+        var empty = new PageImpl<ProductMinDTO>(emptyList(), PageRequest.of(0, 10), 0);
+        when(productRepository.searchMinByName(eq(""), any(Pageable.class))).thenReturn(empty);
 
         Page<ProductMinDTO> out = productService.findAll("", PageRequest.of(0, 10));
 
@@ -156,36 +189,132 @@ class ProductServiceImplTest {
     }
 
     @Test
-    @DisplayName("delete: invoca deleteById quando existe (não lança)")
+    @DisplayName("findAll: com índice pronto, resolve ids no índice e busca no banco apenas a página pedida")
+    void findAll_fromIndex_loadsOnlyRequestedPage() {
+        var pageable = PageRequest.of(1, 2);
+        when(productNameIndex.canServe("pc", pageable.getSort())).thenReturn(true);
+        when(productNameIndex.search("pc", pageable)).thenReturn(new PageImpl<>(List.of(3L, 4L), pageable, 5));
+        when(productRepository.findMinByIdIn(List.of(3L, 4L)))
+                .thenReturn(List.of(min(4L, "PC D"), min(3L, "PC C")));
+
+        Page<ProductMinDTO> out = productService.findAll("pc", pageable);
+
+        assertThat(out.getTotalElements()).isEqualTo(5);
+        assertThat(out.getContent()).extracting(ProductMinDTO::getId).containsExactly(3L, 4L);
+        verify(productRepository, never()).searchMinByName(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("findAll (categorias): com índices prontos intersecta bitmaps de categoria e nome e calcula facetas em memória")
+    void findAllByCategories_fromIndexes() {
+        var pageable = PageRequest.of(0, 2);
+        when(categoryBitmapIndex.isReady()).thenReturn(true);
+        when(productNameIndex.isReady()).thenReturn(true);
+        when(productNameIndex.supports(pageable.getSort())).thenReturn(true);
+        when(categoryBitmapIndex.anyOf(Set.of(1L, 2L))).thenReturn(RoaringBitmap.bitmapOf(1, 2, 3, 7));
+        when(productNameIndex.match("pc")).thenReturn(RoaringBitmap.bitmapOf(2, 3, 7, 9));
+        when(productNameIndex.page(RoaringBitmap.bitmapOf(2, 3, 7), pageable)).thenReturn(new PageImpl<>(List.of(2L, 3L), pageable, 3));
+        when(categoryBitmapIndex.facets(RoaringBitmap.bitmapOf(2, 3, 7)))
+                .thenReturn(List.of(new CategoryFacetDTO(1L, 2L), new CategoryFacetDTO(2L, 1L)));
+        when(productRepository.findMinByIdIn(List.of(2L, 3L))).thenReturn(List.of(min(3L, "PC C"), min(2L, "PC B")));
+
+        FacetedPage<ProductMinDTO> out = productService.findAll("pc", Set.of(1L, 2L), pageable);
+
+        assertThat(out.totalElements()).isEqualTo(3);
+        assertThat(out.content()).extracting(ProductMinDTO::getId).containsExactly(2L, 3L);
+        assertThat(out.facets()).extracting(CategoryFacetDTO::getCategoryId).containsExactly(1L, 2L);
+        verify(productRepository, never()).searchMinByNameAndCategories(anyString(), any(), any(Pageable.class));
+        verify(productRepository, never()).countByCategory(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("findAll (categorias): sem índice cai para a consulta SQL com subquery e GROUP BY")
+    void findAllByCategories_sqlFallback() {
+        var pageable = PageRequest.of(0, 10);
+        var page = new PageImpl<>(List.of(min(1L, "PC A")), pageable, 1);
+        when(productRepository.searchMinByNameAndCategories("pc", Set.of(1L), pageable)).thenReturn(page);
+        when(productRepository.countByCategory("pc", Set.of(1L))).thenReturn(List.of(new CategoryFacetDTO(1L, 1L)));
+
+        FacetedPage<ProductMinDTO> out = productService.findAll("pc", Set.of(1L), pageable);
+
+        assertThat(out.content()).extracting(ProductMinDTO::getName).containsExactly("PC A");
+        assertThat(out.facets()).singleElement().extracting(CategoryFacetDTO::getCount).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("findAll (cursor): primeira página busca size+1 e devolve nextCursor do último item")
+    void findAllCursor_firstPage_returnsNextCursor() {
+        when(productRepository.searchByNameFirst(eq("pc"), eq(Limit.of(3))))
+                .thenReturn(List.of(min(1L, "PC A"), min(2L, "PC B"), min(3L, "PC C")));
+
+        CursorPage<ProductMinDTO> out = productService.findAll("pc", "", 2);
+
+        assertThat(out.content()).extracting(ProductMinDTO::getId).containsExactly(1L, 2L);
+        assertThat(out.size()).isEqualTo(2);
+        assertThat(Cursor.decode(out.nextCursor())).isEqualTo(new Cursor("PC B", 2L));
+        verify(productRepository, never()).searchMinByName(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("findAll (cursor): continua após o cursor e encerra sem nextCursor na última página")
+    void findAllCursor_afterCursor_lastPage() {
+        String after = new Cursor("PC B", 2L).encode();
+        when(productRepository.searchByNameAfter(eq("pc"), eq("PC B"), eq(2L), eq(Limit.of(3))))
+                .thenReturn(List.of(min(3L, "PC C")));
+
+        CursorPage<ProductMinDTO> out = productService.findAll("pc", after, 2);
+
+        assertThat(out.content()).extracting(ProductMinDTO::getId).containsExactly(3L);
+        assertThat(out.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("findAll (cursor): cursor malformado lança IllegalArgumentException")
+    void findAllCursor_invalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> productService.findAll("pc", "%%%", 2));
+    }
+
+    @Test
+    @DisplayName("delete: remove e publica o evento quando o produto existe")
     void delete_ok() {
+        Product product = new Product();
+        product.setId(7L);
+        when(productRepository.findById(7L)).thenReturn(Optional.of(product));
+
         productService.delete(7L);
-        verify(productRepository).deleteById(7L);
+
+        verify(productRepository).delete(product);
+        verify(productRepository).flush();
+        verify(eventPublisher).publishEvent(ProductChangedEvent.deleted(7L));
     }
 
     @Test
-    @DisplayName("delete: traduz EmptyResultDataAccessException -> ResourceNotFoundException")
+    @DisplayName("delete: id inexistente lança ResourceNotFoundException sem remover nem publicar evento")
     void delete_notFound() {
-        doThrow(new EmptyResultDataAccessException(1)).when(productRepository).deleteById(123L);
+        when(productRepository.findById(123L)).thenReturn(Optional.empty());
+
         assertThrows(ResourceNotFoundException.class, () -> productService.delete(123L));
+        verify(productRepository, never()).delete(any(Product.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    @DisplayName("delete: propaga DataIntegrityViolationException com mensagem customizada")
+    @DisplayName("delete: propaga DataIntegrityViolationException com mensagem customizada e não publica evento")
     void delete_integrityViolation() {
-        doThrow(new DataIntegrityViolationException("fk"))
-                .when(productRepository).deleteById(50L);
+        when(productRepository.findById(50L)).thenReturn(Optional.of(new Product()));
+        doThrow(new DataIntegrityViolationException("fk")).when(productRepository).flush();
 
         assertThrows(DataIntegrityViolationException.class, () -> productService.delete(50L));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     @DisplayName("update: atualiza quando id existe e nome novo não conflita")
     void update_ok() {
         var existing = entity(10L, "Old");
-        when(productRepository.findById(10L)).thenReturn(Optional.of(existing));
-        when(productRepository.existsByName("New")).thenReturn(false);
+        when(productRepository.findWithCategoriesById(10L)).thenReturn(Optional.of(existing));
         stubMapperCopy();
-        when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(productRepository.saveAndFlush(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
 
         var in = new ProductDTO(
                 10L,
@@ -200,43 +329,100 @@ class ProductServiceImplTest {
 
         assertThat(out.getId()).isEqualTo(10L);
         assertThat(out.getName()).isEqualTo("New");
-        verify(productRepository).findById(10L);
-        verify(productRepository).existsByName("New");
+        verify(productRepository).findWithCategoriesById(10L);
         verify(productMapper).updateEntityFromDto(eq(in), eq(existing));
-        verify(productRepository).save(eq(existing));
+        verify(productRepository).saveAndFlush(eq(existing));
     }
 
     @Test
     @DisplayName("update: lança ResourceNotFoundException quando id não existe")
     void update_notFound() {
-        when(productRepository.findById(404L)).thenReturn(Optional.empty());
+        when(productRepository.findWithCategoriesById(404L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> productService.update(404L, dto("X")));
-        verify(productRepository, never()).save(any());
+        verify(productRepository, never()).saveAndFlush(any());
     }
 
     @Test
-    @DisplayName("update: lança ProductAlreadyExistsException quando novo nome já existe")
+    @DisplayName("update: lança ProductAlreadyExistsException quando o flush viola o nome único")
     void update_duplicateName() {
         var existing = entity(1L, "Old");
-        when(productRepository.findById(1L)).thenReturn(Optional.of(existing));
-        when(productRepository.existsByName("OldTaken")).thenReturn(true);
+        when(productRepository.findWithCategoriesById(1L)).thenReturn(Optional.of(existing));
+        stubMapperCopy();
+        when(productRepository.saveAndFlush(any(Product.class)))
+                .thenThrow(constraintViolation("tb_product.uk_tb_product_name"));
 
         var in = dto("OldTaken");
         assertThrows(ProductAlreadyExistsException.class, () -> productService.update(1L, in));
-        verify(productRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    @DisplayName("update: violação de integridade é traduzida para ProductAlreadyExistsException")
+    @DisplayName("update: violação sem nome de constraint não é confundida com nome duplicado")
     void update_integrityViolation() {
         var existing = entity(1L, "Old");
-        when(productRepository.findById(1L)).thenReturn(Optional.of(existing));
-        when(productRepository.existsByName("New")).thenReturn(false);
+        when(productRepository.findWithCategoriesById(1L)).thenReturn(Optional.of(existing));
         stubMapperCopy();
-        when(productRepository.save(any(Product.class)))
+        when(productRepository.saveAndFlush(any(Product.class)))
                 .thenThrow(new DataIntegrityViolationException("unique"));
 
         var in = dto("New");
-        assertThrows(ProductAlreadyExistsException.class, () -> productService.update(1L, in));
+        assertThrows(DataIntegrityViolationException.class, () -> productService.update(1L, in));
+    }
+
+    @Test
+    @DisplayName("findAllById: usa o cache, busca só os ausentes, ignora ids desconhecidos e mantém a ordem pedida")
+    void findAllById_cacheThenDatabase_inRequestOrder() {
+        var cache = new ConcurrentMapCache(PRODUCTS_CACHE);
+        var cached = new ProductDTO(entity(2L, "Cached"));
+        cache.put(2L, cached);
+        when(cacheManager.getCache(PRODUCTS_CACHE)).thenReturn(cache);
+        when(productRepository.findAllWithCategoriesByIdIn(List.of(3L, 1L, 99L)))
+                .thenReturn(List.of(entity(1L, "A"), entity(3L, "C")));
+
+        List<ProductDTO> out = productService.findAllById(List.of(3L, 2L, 1L, 3L, 99L));
+
+        assertThat(out).extracting(ProductDTO::getId).containsExactly(3L, 2L, 1L);
+        assertThat(out.get(1)).isSameAs(cached);
+        assertThat(cache.get(1L, ProductDTO.class)).isSameAs(out.get(2));
+        assertThat(cache.get(99L)).isNull();
+    }
+
+    @Test
+    @DisplayName("findAllById: divide os ausentes em IN de até 250 ids e rejeita mais de 500 ids")
+    void findAllById_chunksAndLimits() {
+        when(cacheManager.getCache(PRODUCTS_CACHE)).thenReturn(new ConcurrentMapCache(PRODUCTS_CACHE));
+        when(productRepository.findAllWithCategoriesByIdIn(anyList())).thenReturn(emptyList());
+
+        productService.findAllById(LongStream.rangeClosed(1, 300).boxed().toList());
+
+        ArgumentCaptor<List<Long>> chunks = ArgumentCaptor.captor();
+        verify(productRepository, times(2)).findAllWithCategoriesByIdIn(chunks.capture());
+        assertThat(chunks.getAllValues()).extracting(List::size).containsExactly(250, 50);
+
+        List<Long> tooMany = LongStream.rangeClosed(1, 501).boxed().toList();
+        assertThrows(IllegalArgumentException.class, () -> productService.findAllById(tooMany));
+    }
+
+    @Test
+    @DisplayName("suggest: com índice pronto responde do trie e limita o tamanho ao máximo suportado")
+    void suggest_fromIndex() {
+        var suggestions = List.of(new ProductSuggestionDTO(4L, "Mouse Gamer"));
+        when(productSuggestIndex.isReady()).thenReturn(true);
+        when(productSuggestIndex.suggest("mou", ProductSuggestIndex.MAX_SUGGESTIONS)).thenReturn(suggestions);
+
+        assertThat(productService.suggest("mou", 500)).isEqualTo(suggestions);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("suggest: sem índice consulta o banco por prefixo; prefixo vazio não consulta nada")
+    void suggest_sqlFallback() {
+        var suggestions = List.of(new ProductSuggestionDTO(3L, "Notebook"));
+        when(productSuggestIndex.isReady()).thenReturn(false);
+        when(productRepository.suggestByNamePrefix("note", Limit.of(5))).thenReturn(suggestions);
+
+        assertThat(productService.suggest(" note ", 5)).isEqualTo(suggestions);
+        assertThat(productService.suggest("  ", 5)).isEmpty();
+        verify(productRepository).suggestByNamePrefix("note", Limit.of(5));
     }
 }
@@ -0,0 +1,80 @@
+package com.resftul.dscommerce.service;
+
+import com.resftul.dscommerce.entity.SalesRollup;
+import com.resftul.dscommerce.entity.SalesRollupPK;
+import com.resftul.dscommerce.repository.SalesRollupRepository;
+import com.resftul.dscommerce.service.impl.SalesServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+
+import static com.resftul.dscommerce.entity.SalesDimension.CATEGORY;
+import static com.resftul.dscommerce.entity.SalesDimension.PRODUCT;
+import static com.resftul.dscommerce.entity.SalesGranularity.DAY;
+import static com.resftul.dscommerce.entity.SalesGranularity.HOUR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SalesServiceImplTest {
+
+    @Mock
+    private SalesRollupRepository salesRollupRepository;
+
+    @InjectMocks
+    private SalesServiceImpl salesService;
+
+    @Test
+    @DisplayName("series: alinha o início ao balde e converte centavos em valor exato")
+    void series_alignsStartAndMapsCents() {
+        Instant jan1 = Instant.parse("2025-01-01T00:00:00Z");
+        Instant jan8 = Instant.parse("2025-01-08T00:00:00Z");
+        when(salesRollupRepository.findSeries(PRODUCT, 1L, DAY, jan1, jan8)).thenReturn(List.of(
+                new SalesRollup(new SalesRollupPK(PRODUCT, 1L, DAY, jan1), 3L, 1_799_970L, 2L)));
+
+        var buckets = salesService.series(PRODUCT, 1L, DAY, Instant.parse("2025-01-01T13:30:00Z"), jan8);
+
+        assertThat(buckets).hasSize(1);
+        assertThat(buckets.getFirst().getRevenue()).isEqualByComparingTo("17999.70");
+        assertThat(buckets.getFirst().getBucketStart()).isEqualTo(jan1);
+    }
+
+    @Test
+    @DisplayName("series: intervalo vazio, invertido ou acima do limite de baldes é rejeitado sem consultar")
+    void series_invalidRange() {
+        Instant jan1 = Instant.parse("2025-01-01T00:00:00Z");
+
+        assertThrows(IllegalArgumentException.class, () -> salesService.series(PRODUCT, 1L, DAY, jan1, jan1));
+        assertThrows(IllegalArgumentException.class,
+                () -> salesService.series(PRODUCT, 1L, DAY, jan1, Instant.parse("2024-12-01T00:00:00Z")));
+        assertThrows(IllegalArgumentException.class,
+                () -> salesService.series(PRODUCT, 1L, HOUR, jan1, Instant.parse("2025-03-01T00:00:00Z")));
+        verifyNoInteractions(salesRollupRepository);
+    }
+
+    @Test
+    @DisplayName("top: consulta o balde que contém o instante pedido")
+    void top_readsBucketContainingInstant() {
+        Instant hour = Instant.parse("2025-01-02T10:00:00Z");
+        when(salesRollupRepository.findTop(CATEGORY, HOUR, hour, Limit.of(5))).thenReturn(List.of());
+
+        assertThat(salesService.top(CATEGORY, HOUR, Instant.parse("2025-01-02T10:59:00Z"), 5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("top: limite fora de 1..100 é rejeitado")
+    void top_invalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> salesService.top(PRODUCT, DAY, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> salesService.top(PRODUCT, DAY, null, SalesService.MAX_TOP + 1));
+        verifyNoInteractions(salesRollupRepository);
+    }
+}
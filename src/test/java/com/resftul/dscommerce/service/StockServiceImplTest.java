@@ -0,0 +1,154 @@
+package com.resftul.dscommerce.service;
+
+import com.resftul.dscommerce.dto.product.ProductStockDTO;
+import com.resftul.dscommerce.event.StockChangedEvent;
+import com.resftul.dscommerce.event.StockReservedEvent;
+import com.resftul.dscommerce.event.StockRestockedEvent;
+import com.resftul.dscommerce.exception.InsufficientStockException;
+import com.resftul.dscommerce.exception.ResourceNotFoundException;
+import com.resftul.dscommerce.inventory.StockGate;
+import com.resftul.dscommerce.repository.ProductRepository;
+import com.resftul.dscommerce.service.impl.StockServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockServiceImplTest {
+
+    @Mock private ProductRepository productRepository;
+    @Mock private StockGate stockGate;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks private StockServiceImpl stockService;
+
+    private static Map<Long, Integer> quantities(long... idAndQuantity) {
+        Map<Long, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i < idAndQuantity.length; i += 2) map.put(idAndQuantity[i], (int) idAndQuantity[i + 1]);
+        return map;
+    }
+
+    @Test
+    @DisplayName("reserve: decrementa os produtos em ordem crescente de id, qualquer que seja a ordem dos itens")
+    void reserve_decrementsInAscendingIdOrder() {
+        when(productRepository.decrementStock(anyLong(), anyInt())).thenReturn(1);
+
+        stockService.reserve(quantities(9, 1, 3, 2, 5, 4));
+
+        InOrder inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).decrementStock(3L, 2);
+        inOrder.verify(productRepository).decrementStock(5L, 4);
+        inOrder.verify(productRepository).decrementStock(9L, 1);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("reserve: decremento condicional sem linhas afetadas -> estoque insuficiente")
+    void reserve_conditionalUpdateMisses_throws() {
+        when(productRepository.decrementStock(1L, 1)).thenReturn(1);
+        when(productRepository.decrementStock(2L, 5)).thenReturn(0);
+
+        var ex = assertThrows(InsufficientStockException.class, () -> stockService.reserve(quantities(2, 5, 1, 1)));
+
+        assertThat(ex.getProductId()).isEqualTo(2L);
+        assertThat(ex.getMessage()).isEqualTo("Estoque insuficiente para o produto 2");
+    }
+
+    @Test
+    @DisplayName("reserve: produto quente esgotado na memória é recusado sem tocar no banco e devolve o já reservado")
+    void reserve_hotProductSoldOut_skipsDatabase() {
+        when(stockGate.isGated(anyLong())).thenReturn(true);
+        when(stockGate.tryAcquire(1L, 1)).thenReturn(true);
+        when(stockGate.tryAcquire(2L, 3)).thenReturn(false);
+
+        assertThrows(InsufficientStockException.class, () -> stockService.reserve(quantities(2, 3, 1, 1)));
+
+        verify(stockGate).release(1L, 1);
+        verifyNoInteractions(productRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("reserve: o que saiu da memória é anunciado para ser devolvido em caso de rollback")
+    void reserve_hotProduct_publishesGatedQuantities() {
+        when(stockGate.isGated(1L)).thenReturn(true);
+        when(stockGate.isGated(2L)).thenReturn(false);
+        when(stockGate.tryAcquire(1L, 2)).thenReturn(true);
+        when(productRepository.decrementStock(anyLong(), anyInt())).thenReturn(1);
+
+        stockService.reserve(quantities(1, 2, 2, 1));
+
+        verify(eventPublisher).publishEvent(new StockReservedEvent(Map.of(1L, 2)));
+        verify(productRepository).decrementStock(1L, 2);
+        verify(productRepository).decrementStock(2L, 1);
+    }
+
+    @Test
+    @DisplayName("reserve: quantidade zero ou negativa é recusada antes de tocar na memória ou no banco")
+    void reserve_nonPositiveQuantity_rejected() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> stockService.reserve(quantities(1, 2, 2, -3)));
+
+        assertThat(ex.getMessage()).isEqualTo("Quantidade inválida para o produto 2");
+        verifyNoInteractions(stockGate, productRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("restock: devolve o estoque dos pedidos e avisa a memória só dos produtos quentes")
+    void restock_gatedProducts_publishesEvent() {
+        when(stockGate.hasGatedProducts()).thenReturn(true);
+        when(productRepository.findProductIdsByOrderIds(List.of(5L, 6L))).thenReturn(List.of(1L, 2L));
+        when(stockGate.isGated(1L)).thenReturn(true);
+
+        stockService.restock(List.of(5L, 6L));
+
+        verify(productRepository).restockOrders(List.of(5L, 6L));
+        verify(eventPublisher).publishEvent(new StockRestockedEvent(List.of(1L)));
+    }
+
+    @Test
+    @DisplayName("restock: sem produtos quentes configurados não consulta os itens")
+    void restock_noGatedProducts_skipsLookup() {
+        stockService.restock(List.of(5L));
+
+        verify(productRepository).restockOrders(List.of(5L));
+        verify(productRepository, never()).findProductIdsByOrderIds(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("updateStock: grava o estoque e publica StockChangedEvent")
+    void updateStock_ok() {
+        when(productRepository.updateStock(7L, 40)).thenReturn(1);
+
+        ProductStockDTO out = stockService.updateStock(7L, new ProductStockDTO(null, 40));
+
+        assertThat(out.getProductId()).isEqualTo(7L);
+        assertThat(out.getStock()).isEqualTo(40);
+        verify(eventPublisher).publishEvent(new StockChangedEvent(7L, 40));
+    }
+
+    @Test
+    @DisplayName("updateStock: produto inexistente -> ResourceNotFoundException")
+    void updateStock_notFound() {
+        when(productRepository.updateStock(8L, 1)).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> stockService.updateStock(8L, new ProductStockDTO(null, 1)));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}